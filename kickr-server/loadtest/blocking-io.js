@@ -0,0 +1,54 @@
+// Load test comparing platform threads and virtual threads on the endpoints
+// that block on I/O: match detail (Postgres + upstream football API) and the
+// image proxy (remote download).
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e MATCH_IDS=<uuid>,<uuid> \
+//          -e IMAGE_URL=https://media.api-sports.io/football/teams/33.png \
+//          --summary-export=results-platform.json blocking-io.js
+//
+// See README.md for the full procedure.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MATCH_IDS = (__ENV.MATCH_IDS || '').split(',').filter((id) => id.length > 0);
+const IMAGE_URL = __ENV.IMAGE_URL || 'https://media.api-sports.io/football/teams/33.png';
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-arrival-rate',
+            startRate: 50,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: 200, duration: '1m' },
+                { target: 500, duration: '2m' },
+                { target: 500, duration: '2m' },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_failed': ['rate<0.01'],
+    },
+};
+
+export function setup() {
+    if (MATCH_IDS.length === 0) {
+        throw new Error('MATCH_IDS must list at least one match id');
+    }
+}
+
+export default function () {
+    if (Math.random() < 0.8) {
+        const id = MATCH_IDS[Math.floor(Math.random() * MATCH_IDS.length)];
+        const res = http.get(`${BASE_URL}/api/matchs/${id}`, { tags: { endpoint: 'match' } });
+        check(res, { 'match 200': (r) => r.status === 200 });
+    } else {
+        const res = http.get(`${BASE_URL}/api/proxy/image?url=${encodeURIComponent(IMAGE_URL)}`,
+            { tags: { endpoint: 'image-proxy' } });
+        check(res, { 'image 200': (r) => r.status === 200 });
+    }
+}
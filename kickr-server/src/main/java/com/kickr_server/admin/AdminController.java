@@ -66,8 +66,7 @@ public class AdminController {
     @PutMapping("/users/{id}/promote")
     public ApiResponseDto<UserDto> promoteToAdmin(@PathVariable UUID id) {
         log.info("Promoting user {} to ADMIN", id);
-        User user = userService.getUserById(id);
-        user.setRole(Role.ADMIN);
+        User user = userService.changeRole(id, Role.ADMIN);
         return ApiResponseDto.success("User promoted to ADMIN", UserDto.fromEntity(user));
     }
 
@@ -81,8 +80,7 @@ public class AdminController {
     @PutMapping("/users/{id}/demote")
     public ApiResponseDto<UserDto> demoteToUser(@PathVariable UUID id) {
         log.info("Demoting user {} to USER", id);
-        User user = userService.getUserById(id);
-        user.setRole(Role.USER);
+        User user = userService.changeRole(id, Role.USER);
         return ApiResponseDto.success("User demoted to USER", UserDto.fromEntity(user));
     }
 
@@ -1,79 +1,54 @@
 package com.kickr_server.admin.dashboard;
 
-import com.kickr_server.admin.report.ReportRepository;
-import com.kickr_server.admin.report.ReportStatus;
 import com.kickr_server.dto.admin.DashboardStatsDto;
-import com.kickr_server.user.UserRepository;
-import com.kickr_server.usermatch.UserMatchRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
-import lombok.extern.slf4j.Slf4j;
+import java.util.Map;
+import java.util.NavigableMap;
 
+/**
+ * Statistiques du tableau de bord d'administration, lues dans les séries
+ * journalières précalculées de {@link DailyStatsService} : l'ouverture du
+ * tableau de bord ne parcourt plus les tables sources.
+ */
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class AdminDashboardService {
 
-        private final UserRepository userRepository;
-        private final UserMatchRepository userMatchRepository;
-        private final ReportRepository reportRepository;
+        private static final int SERIES_DAYS = 30;
 
-        public DashboardStatsDto getDashboardStats() {
-                try {
-                        long totalUsers = userRepository.count();
-                        long totalReviews = userMatchRepository.count();
-
-                        long totalReports = 0;
-                        long pendingReports = 0;
-                        try {
-                                totalReports = reportRepository.count();
-                                pendingReports = reportRepository.findByStatusOrderByCreatedAtDesc(ReportStatus.PENDING)
-                                                .size();
-                        } catch (Exception e) {
-                                log.warn("Reporting system might not be fully initialized: {}", e.getMessage());
-                        }
-
-                        LocalDateTime now = LocalDateTime.now();
-                        LocalDateTime sevenDaysAgo = now.minusDays(7);
-                        LocalDateTime fourteenDaysAgo = now.minusDays(14);
-                        LocalDateTime thirtyDaysAgo = now.minusDays(30);
-
-                        long newUsersThisWeek = userRepository.countByCreatedAtBetween(sevenDaysAgo, now);
-                        long newUsersLastWeek = userRepository.countByCreatedAtBetween(fourteenDaysAgo, sevenDaysAgo);
-                        String userTrend = calculateWeeklyTrend(newUsersThisWeek, newUsersLastWeek);
+        private final DailyStatsService dailyStatsService;
 
-                        long newReviewsThisWeek = userMatchRepository.countByWatchedAtBetween(sevenDaysAgo, now);
-                        long newReviewsLastWeek = userMatchRepository.countByWatchedAtBetween(fourteenDaysAgo,
-                                        sevenDaysAgo);
-                        String reviewTrend = calculateWeeklyTrend(newReviewsThisWeek, newReviewsLastWeek);
+        public DashboardStatsDto getDashboardStats() {
+                LocalDate today = LocalDate.now();
+                LocalDate from = today.minusDays(SERIES_DAYS);
 
-                        List<DashboardStatsDto.DailyStatDto> userGrowth = mapDailyStats(
-                                        userRepository.countUsersByDay(thirtyDaysAgo));
-                        List<DashboardStatsDto.DailyStatDto> reviewVolume = mapDailyStats(
-                                        userMatchRepository.countReviewsByDay(thirtyDaysAgo));
+                Map<DailyStatMetric, Long> totals = dailyStatsService.getTotals();
+                NavigableMap<LocalDate, Long> users = dailyStatsService.getSeries(DailyStatMetric.USERS, from);
+                NavigableMap<LocalDate, Long> reviews = dailyStatsService.getSeries(DailyStatMetric.REVIEWS, from);
 
-                        return DashboardStatsDto.builder()
-                                        .totalUsers(totalUsers)
-                                        .totalReviews(totalReviews)
-                                        .totalReports(totalReports)
-                                        .pendingReports(pendingReports)
-                                        .userGrowthTrend(userTrend)
-                                        .reviewVolumeTrend(reviewTrend)
-                                        .userGrowth(userGrowth)
-                                        .reviewVolume(reviewVolume)
-                                        .build();
-                } catch (Exception e) {
-                        log.error("Fatal error during dashboard stats generation: ", e);
-                        throw e;
-                }
+                return DashboardStatsDto.builder()
+                                .totalUsers(totals.get(DailyStatMetric.USERS))
+                                .totalReviews(totals.get(DailyStatMetric.REVIEWS))
+                                .totalReports(totals.get(DailyStatMetric.REPORTS))
+                                .pendingReports(totals.get(DailyStatMetric.PENDING_REPORTS))
+                                .userGrowthTrend(calculateWeeklyTrend(users, today))
+                                .reviewVolumeTrend(calculateWeeklyTrend(reviews, today))
+                                .userGrowth(toDailyStats(users))
+                                .reviewVolume(toDailyStats(reviews))
+                                .build();
         }
 
-        private String calculateWeeklyTrend(long current, long previous) {
+        /**
+         * Compare les 7 derniers jours (aujourd'hui inclus) aux 7 jours précédents.
+         */
+        private String calculateWeeklyTrend(NavigableMap<LocalDate, Long> series, LocalDate today) {
+                LocalDate weekStart = today.minusDays(6);
+                long current = sum(series.subMap(weekStart, true, today, true));
+                long previous = sum(series.subMap(weekStart.minusDays(7), true, weekStart, false));
                 if (previous == 0) {
                         return current > 0 ? "+100%" : "0%";
                 }
@@ -81,32 +56,13 @@ public class AdminDashboardService {
                 return String.format("%s%.1f%%", diff >= 0 ? "+" : "", diff);
         }
 
-        private List<DashboardStatsDto.DailyStatDto> mapDailyStats(List<Object[]> results) {
-                return results.stream()
-                                .map(obj -> new DashboardStatsDto.DailyStatDto(
-                                                convertToLocalDate(obj[0]),
-                                                ((Number) obj[1]).longValue()))
-                                .collect(Collectors.toList());
+        private static long sum(Map<LocalDate, Long> days) {
+                return days.values().stream().mapToLong(Long::longValue).sum();
         }
 
-        private LocalDate convertToLocalDate(Object obj) {
-                if (obj == null)
-                        return null;
-                if (obj instanceof LocalDate)
-                        return (LocalDate) obj;
-                if (obj instanceof java.sql.Date)
-                        return ((java.sql.Date) obj).toLocalDate();
-                if (obj instanceof java.sql.Timestamp)
-                        return ((java.sql.Timestamp) obj).toLocalDateTime().toLocalDate();
-                if (obj instanceof java.util.Date) {
-                        return ((java.util.Date) obj).toInstant().atZone(java.time.ZoneId.systemDefault())
-                                        .toLocalDate();
-                }
-                try {
-                        return LocalDate.parse(obj.toString());
-                } catch (Exception e) {
-                        log.warn("Failed to parse date object: {}", obj);
-                        return null;
-                }
+        private static List<DashboardStatsDto.DailyStatDto> toDailyStats(NavigableMap<LocalDate, Long> series) {
+                return series.entrySet().stream()
+                                .map(e -> new DashboardStatsDto.DailyStatDto(e.getKey(), e.getValue()))
+                                .toList();
         }
 }
@@ -0,0 +1,56 @@
+package com.kickr_server.admin.dashboard;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Valeur d'une série du tableau de bord pour un jour.
+ * <p>
+ * Les valeurs ne sont jamais modifiées via JPA : elles sont incrémentées par lots
+ * par {@link DailyStatsService} et reconstruites chaque nuit à partir des tables
+ * sources.
+ */
+@Entity
+@Table(name = "daily_stats")
+@IdClass(DailyStat.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyStat {
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", length = 32)
+    private DailyStatMetric metric;
+
+    @Column(name = "stat_value", nullable = false)
+    private long statValue;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private LocalDate statDate;
+        private DailyStatMetric metric;
+    }
+}
@@ -0,0 +1,16 @@
+package com.kickr_server.admin.dashboard;
+
+/**
+ * Séries journalières du tableau de bord. Chaque valeur compte les éléments
+ * existants rattachés à ce jour : leur somme sur tous les jours donne le total.
+ */
+public enum DailyStatMetric {
+    /** Utilisateurs, par date d'inscription. */
+    USERS,
+    /** Reviews, par date de visionnage. */
+    REVIEWS,
+    /** Signalements, par date de création. */
+    REPORTS,
+    /** Signalements en attente de traitement, par date de création. */
+    PENDING_REPORTS
+}
@@ -0,0 +1,29 @@
+package com.kickr_server.admin.dashboard;
+
+import com.kickr_server.outbox.OutboxEventHandler;
+import com.kickr_server.outbox.OutboxEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Répercute inscriptions, reviews et signalements sur les séries du tableau de
+ * bord, dans la transaction du relais.
+ */
+@Component
+@RequiredArgsConstructor
+public class DailyStatsOutboxHandler implements OutboxEventHandler {
+
+    private final DailyStatsService dailyStatsService;
+
+    @Override
+    public Set<OutboxEventType> handledTypes() {
+        return DailyStatsService.HANDLED_TYPES;
+    }
+
+    @Override
+    public void handle(OutboxEventType type, Object payload) {
+        dailyStatsService.apply(type, payload);
+    }
+}
@@ -0,0 +1,241 @@
+package com.kickr_server.admin.dashboard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kickr_server.admin.report.ReportStatus;
+import com.kickr_server.event.ReportEvent;
+import com.kickr_server.event.ReviewEvent;
+import com.kickr_server.event.UserEvent;
+import com.kickr_server.outbox.OutboxEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Maintient les séries journalières du tableau de bord d'administration
+ * ({@code daily_stats}).
+ * <p>
+ * Les événements d'outbox (inscriptions, reviews, signalements) sont répercutés
+ * dans la transaction du relais qui les marque comme traités : un delta est
+ * appliqué si et seulement si son événement passe en {@code DONE}, quelle que
+ * soit l'instance qui le traite. Une reconstruction nocturne recalcule toute la
+ * table à partir des tables sources (suppressions en cascade, écritures hors
+ * services...).
+ */
+@Service
+@Slf4j
+public class DailyStatsService {
+
+    /**
+     * Types d'événements d'outbox qui font varier les séries.
+     */
+    static final Set<OutboxEventType> HANDLED_TYPES = Set.of(
+            OutboxEventType.USER_REGISTERED, OutboxEventType.USER_DELETED,
+            OutboxEventType.REVIEW_CREATED, OutboxEventType.REVIEW_DELETED,
+            OutboxEventType.REPORT_CREATED, OutboxEventType.REPORT_STATUS_CHANGED,
+            OutboxEventType.REPORT_DELETED);
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO daily_stats (stat_date, metric, stat_value, updated_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (stat_date, metric)
+            DO UPDATE SET stat_value = daily_stats.stat_value + EXCLUDED.stat_value, updated_at = EXCLUDED.updated_at""";
+
+    private static final String PENDING_EVENTS_SQL = """
+            SELECT event_type, payload FROM outbox_events
+            WHERE status = 'PENDING' AND event_type IN (%s)""";
+
+    private static final List<String> REBUILD_SQL = List.of("""
+            INSERT INTO daily_stats (stat_date, metric, stat_value, updated_at)
+            SELECT CAST(created_at AS DATE), 'USERS', COUNT(*), ? FROM users
+            GROUP BY CAST(created_at AS DATE)""", """
+            INSERT INTO daily_stats (stat_date, metric, stat_value, updated_at)
+            SELECT CAST(watched_at AS DATE), 'REVIEWS', COUNT(*), ? FROM user_matches
+            WHERE watched_at IS NOT NULL
+            GROUP BY CAST(watched_at AS DATE)""", """
+            INSERT INTO daily_stats (stat_date, metric, stat_value, updated_at)
+            SELECT CAST(created_at AS DATE), 'REPORTS', COUNT(*), ? FROM reports
+            WHERE created_at IS NOT NULL
+            GROUP BY CAST(created_at AS DATE)""", """
+            INSERT INTO daily_stats (stat_date, metric, stat_value, updated_at)
+            SELECT CAST(created_at AS DATE), 'PENDING_REPORTS', COUNT(*), ? FROM reports
+            WHERE created_at IS NOT NULL AND status = 'PENDING'
+            GROUP BY CAST(created_at AS DATE)""");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate rebuildTransaction;
+
+    public DailyStatsService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Répercute un événement d'outbox sur les séries, dans la transaction du
+     * relais.
+     *
+     * @param type    type de l'événement, parmi {@link #HANDLED_TYPES}
+     * @param payload contenu de l'événement
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(OutboxEventType type, Object payload) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Delta delta : deltas(type, payload)) {
+            add(delta, now);
+        }
+    }
+
+    /**
+     * @return total de chaque série (somme de tous les jours)
+     */
+    public Map<DailyStatMetric, Long> getTotals() {
+        Map<DailyStatMetric, Long> totals = new EnumMap<>(DailyStatMetric.class);
+        for (DailyStatMetric metric : DailyStatMetric.values()) {
+            totals.put(metric, 0L);
+        }
+        jdbcTemplate.query("SELECT metric, SUM(stat_value) FROM daily_stats GROUP BY metric",
+                rs -> {
+                    totals.merge(DailyStatMetric.valueOf(rs.getString(1)), rs.getLong(2), Long::sum);
+                });
+        return totals;
+    }
+
+    /**
+     * Valeurs journalières d'une série depuis une date (incluse).
+     *
+     * @param metric série
+     * @param from   premier jour
+     * @return valeurs par jour, triées ; les jours sans valeur sont absents
+     */
+    public NavigableMap<LocalDate, Long> getSeries(DailyStatMetric metric, LocalDate from) {
+        NavigableMap<LocalDate, Long> series = new TreeMap<>();
+        jdbcTemplate.query("SELECT stat_date, stat_value FROM daily_stats WHERE metric = ? AND stat_date >= ?",
+                rs -> {
+                    series.put(rs.getDate(1).toLocalDate(), rs.getLong(2));
+                }, metric.name(), Date.valueOf(from));
+        series.values().removeIf(value -> value <= 0);
+        return series;
+    }
+
+    /**
+     * Reconstruit toute la table à partir des tables sources, en une
+     * transaction : les lectures concurrentes voient l'ancienne ou la nouvelle
+     * version, jamais une table vide.
+     * <p>
+     * Les tables sources comptent déjà les modifications dont l'événement est
+     * encore en attente dans l'outbox ; leur delta, qui sera appliqué au
+     * traitement de l'événement, est donc retranché de la reconstruction. Pour
+     * que sources et outbox soient lues dans le même état, la reconstruction
+     * tourne en REPEATABLE READ et verrouille {@code daily_stats}
+     * en écriture avant la première lecture : les transactions du relais qui ont
+     * déjà écrit un delta sont validées avant la prise de l'instantané, les
+     * autres attendent la fin de la reconstruction.
+     */
+    @Scheduled(cron = "${kickr.dashboard.reconcile-cron:0 50 3 * * *}")
+    public void reconcile() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts = rebuildTransaction.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE daily_stats IN EXCLUSIVE MODE");
+            List<Delta> pending = pendingDeltas();
+            jdbcTemplate.update("DELETE FROM daily_stats");
+            int inserted = 0;
+            for (String sql : REBUILD_SQL) {
+                inserted += jdbcTemplate.update(sql, now);
+            }
+            for (Delta delta : pending) {
+                add(new Delta(delta.day(), delta.metric(), -delta.value()), now);
+            }
+            return new int[] { inserted, pending.size() };
+        });
+        log.info("Dashboard daily stats rebuilt: {} rows, {} pending deltas deducted", counts[0], counts[1]);
+    }
+
+    /**
+     * Deltas des événements de l'outbox encore en attente.
+     */
+    private List<Delta> pendingDeltas() {
+        String types = String.join(", ", HANDLED_TYPES.stream().map(type -> "'" + type.name() + "'").toList());
+        List<Delta> deltas = new ArrayList<>();
+        jdbcTemplate.query(PENDING_EVENTS_SQL.formatted(types), rs -> {
+            OutboxEventType type = OutboxEventType.valueOf(rs.getString(1));
+            try {
+                deltas.addAll(deltas(type, objectMapper.readValue(rs.getString(2), type.getPayloadType())));
+            } catch (JsonProcessingException e) {
+                log.warn("Ignoring unreadable pending {} event during dashboard rebuild", type);
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * Variations des séries produites par un événement.
+     * <p>
+     * Les événements de review antérieurs à l'ajout de leur date ne produisent
+     * rien : la reconstruction nocturne les rattrape.
+     */
+    static List<Delta> deltas(OutboxEventType type, Object payload) {
+        return switch (type) {
+            case USER_REGISTERED -> List.of(new Delta(((UserEvent) payload).registeredOn(), DailyStatMetric.USERS, 1));
+            case USER_DELETED -> List.of(new Delta(((UserEvent) payload).registeredOn(), DailyStatMetric.USERS, -1));
+            case REVIEW_CREATED, REVIEW_DELETED -> {
+                LocalDate watchedOn = ((ReviewEvent) payload).watchedOn();
+                yield watchedOn == null ? List.of()
+                        : List.of(new Delta(watchedOn, DailyStatMetric.REVIEWS,
+                                type == OutboxEventType.REVIEW_CREATED ? 1 : -1));
+            }
+            case REPORT_CREATED, REPORT_STATUS_CHANGED, REPORT_DELETED -> {
+                ReportEvent event = (ReportEvent) payload;
+                long reports = switch (type) {
+                    case REPORT_CREATED -> 1;
+                    case REPORT_DELETED -> -1;
+                    default -> 0;
+                };
+                yield List.of(new Delta(event.createdOn(), DailyStatMetric.REPORTS, reports),
+                        new Delta(event.createdOn(), DailyStatMetric.PENDING_REPORTS,
+                                pending(event.status()) - pending(event.previousStatus())));
+            }
+            default -> List.of();
+        };
+    }
+
+    private void add(Delta delta, Timestamp now) {
+        if (delta.value() == 0) {
+            return;
+        }
+        Date day = Date.valueOf(delta.day());
+        String metric = delta.metric().name();
+        jdbcTemplate.update(UPSERT_SQL, day, metric, delta.value(), now);
+    }
+
+    private static long pending(ReportStatus status) {
+        return status == ReportStatus.PENDING ? 1 : 0;
+    }
+
+    /**
+     * Variation d'une série pour un jour.
+     */
+    record Delta(LocalDate day, DailyStatMetric metric, long value) {
+    }
+}
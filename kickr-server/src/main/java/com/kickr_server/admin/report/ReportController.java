@@ -1,7 +1,11 @@
 package com.kickr_server.admin.report;
 
+import com.kickr_server.dto.admin.BulkModerationDto;
+import com.kickr_server.dto.admin.BulkReportResultDto;
+import com.kickr_server.dto.admin.BulkReportStatusDto;
 import com.kickr_server.dto.admin.CreateReportDto;
 import com.kickr_server.dto.admin.ReportDto;
+import com.kickr_server.dto.generic.CursorPageDto;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -24,7 +28,7 @@ public class ReportController {
     public ResponseEntity<ReportDto> createReport(
             @AuthenticationPrincipal UserDetails userDetails,
             @Valid @RequestBody CreateReportDto dto) {
-        return ResponseEntity.ok(reportService.createReport(userDetails.getUsername(), dto));
+        return ResponseEntity.ok(reportService.createReport(userDetails, dto));
     }
 
     @GetMapping
@@ -37,6 +41,35 @@ public class ReportController {
         return ResponseEntity.ok(reportService.getAllReports());
     }
 
+    /**
+     * File de modération paginée par curseur, avec le résumé des éléments
+     * signalés.
+     */
+    @GetMapping("/queue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public CursorPageDto<ReportDto> getQueue(
+            @RequestParam(defaultValue = "PENDING") ReportStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return reportService.getQueue(status, cursor, size);
+    }
+
+    @PutMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkReportResultDto> bulkUpdateStatus(@Valid @RequestBody BulkReportStatusDto dto) {
+        return ResponseEntity.ok(reportService.bulkUpdateStatus(dto.getReportIds(), dto.getStatus()));
+    }
+
+    /**
+     * Modère les éléments visés par un lot de signalements et résout ces
+     * signalements.
+     */
+    @PostMapping("/moderate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkReportResultDto> bulkModerate(@Valid @RequestBody BulkModerationDto dto) {
+        return ResponseEntity.ok(reportService.bulkModerate(dto.getReportIds()));
+    }
+
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ReportDto> updateStatus(
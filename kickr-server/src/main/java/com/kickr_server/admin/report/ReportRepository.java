@@ -1,14 +1,57 @@
 package com.kickr_server.admin.report;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report, UUID> {
+    @EntityGraph(attributePaths = "reporter")
     List<Report> findAllByOrderByCreatedAtDesc();
 
+    @EntityGraph(attributePaths = "reporter")
     List<Report> findByStatusOrderByCreatedAtDesc(ReportStatus status);
+
+    /**
+     * Première page de la file de modération d'un statut, du plus récent au plus
+     * ancien (index {@code (status, created_at, id)}).
+     */
+    @EntityGraph(attributePaths = "reporter")
+    @Query("SELECT r FROM Report r WHERE r.status = :status ORDER BY r.createdAt DESC, r.id DESC")
+    List<Report> findQueueFirstPage(@Param("status") ReportStatus status, Pageable pageable);
+
+    /**
+     * Page suivante de la file de modération, après le curseur
+     * {@code (createdAt, id)}.
+     */
+    @EntityGraph(attributePaths = "reporter")
+    @Query("SELECT r FROM Report r WHERE r.status = :status "
+            + "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Report> findQueuePageAfter(@Param("status") ReportStatus status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    /**
+     * Verrouille les signalements d'un lot dont le statut va changer, pour que
+     * deux actions groupées concurrentes ne publient pas deux fois le même
+     * changement.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Report r WHERE r.id IN :ids AND r.status <> :status")
+    List<Report> lockForStatusChange(@Param("ids") Collection<UUID> ids, @Param("status") ReportStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Report r SET r.status = :status WHERE r.id IN :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids, @Param("status") ReportStatus status);
 }
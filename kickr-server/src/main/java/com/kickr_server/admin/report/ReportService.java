@@ -1,14 +1,34 @@
 package com.kickr_server.admin.report;
 
+import com.kickr_server.auth.jwt.AuthenticatedUser;
+import com.kickr_server.dto.admin.BulkReportResultDto;
 import com.kickr_server.dto.admin.CreateReportDto;
 import com.kickr_server.dto.admin.ReportDto;
+import com.kickr_server.dto.admin.ReportTargetDto;
+import com.kickr_server.dto.generic.CursorPageDto;
+import com.kickr_server.event.ReportEvent;
+import com.kickr_server.outbox.OutboxEventType;
+import com.kickr_server.outbox.OutboxService;
 import com.kickr_server.user.User;
 import com.kickr_server.user.UserRepository;
+import com.kickr_server.usermatch.ReviewCommentRepository;
+import com.kickr_server.usermatch.UserMatchRepository;
+import com.kickr_server.usermatch.UserMatchService;
+import com.kickr_server.utils.CursorUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -16,13 +36,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ReportService {
 
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int EXCERPT_LENGTH = 140;
+
     private final ReportRepository reportRepository;
     private final UserRepository userRepository;
+    private final UserMatchRepository userMatchRepository;
+    private final ReviewCommentRepository reviewCommentRepository;
+    private final OutboxService outboxService;
 
     @Transactional
-    public ReportDto createReport(String email, CreateReportDto dto) {
-        User reporter = userRepository.findByName(email)
-                .or(() -> userRepository.findByEmail(email))
+    public ReportDto createReport(UserDetails principal, CreateReportDto dto) {
+        User reporter = resolveReporter(principal)
                 .orElseThrow(() -> new RuntimeException("Reporter not found"));
 
         Report report = Report.builder()
@@ -34,7 +59,10 @@ public class ReportService {
                 .status(ReportStatus.PENDING)
                 .build();
 
-        return ReportDto.fromEntity(reportRepository.save(report));
+        Report saved = reportRepository.save(report);
+        outboxService.append(OutboxEventType.REPORT_CREATED, saved.getId(),
+                new ReportEvent(saved.getId(), createdOn(saved), null, saved.getStatus()));
+        return ReportDto.fromEntity(saved);
     }
 
     public List<ReportDto> getAllReports() {
@@ -49,20 +77,163 @@ public class ReportService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Page de la file de modération d'un statut, du signalement le plus récent
+     * au plus ancien. Les auteurs des signalements sont chargés par jointure, et
+     * les éléments signalés en une requête par type pour toute la page.
+     *
+     * @param status statut des signalements
+     * @param cursor curseur de la page précédente, ou null pour la première
+     * @param size   taille de page (bornée à {@value #MAX_PAGE_SIZE})
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReportDto> getQueue(ReportStatus status, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        CursorUtils.Cursor position = CursorUtils.decode(cursor);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Report> rows = position == null
+                ? reportRepository.findQueueFirstPage(status, limit)
+                : reportRepository.findQueuePageAfter(status, position.createdAt(), position.id(), limit);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Report> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Report last = page.get(page.size() - 1);
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+
+        List<ReportDto> items = page.stream().map(ReportDto::fromEntity).toList();
+        fillTargets(items);
+        return new CursorPageDto<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Change le statut d'un lot de signalements en une instruction. Les
+     * signalements ayant déjà ce statut sont ignorés.
+     *
+     * @return nombre de signalements modifiés
+     */
+    @Transactional
+    public BulkReportResultDto bulkUpdateStatus(Collection<UUID> reportIds, ReportStatus status) {
+        return new BulkReportResultDto(applyStatus(reportIds, status), 0, 0);
+    }
+
+    /**
+     * Modère les reviews et commentaires visés par un lot de signalements (une
+     * instruction par type), puis passe ces signalements à
+     * {@link ReportStatus#RESOLVED}.
+     */
+    @Transactional
+    public BulkReportResultDto bulkModerate(Collection<UUID> reportIds) {
+        Set<UUID> reviewIds = new LinkedHashSet<>();
+        Set<UUID> commentIds = new LinkedHashSet<>();
+        for (Report report : reportRepository.findAllById(Set.copyOf(reportIds))) {
+            (report.getTargetType() == ReportType.MATCH_REVIEW ? reviewIds : commentIds).add(report.getTargetId());
+        }
+
+        int reviews = reviewIds.isEmpty() ? 0
+                : userMatchRepository.moderateAll(reviewIds, UserMatchService.MODERATED_COMMENT);
+        int comments = commentIds.isEmpty() ? 0
+                : reviewCommentRepository.moderateAll(commentIds, UserMatchService.MODERATED_COMMENT);
+        return new BulkReportResultDto(applyStatus(reportIds, ReportStatus.RESOLVED), reviews, comments);
+    }
+
     @Transactional
     public ReportDto updateStatus(UUID reportId, ReportStatus status) {
         Report report = reportRepository.findById(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
 
+        ReportStatus previousStatus = report.getStatus();
         report.setStatus(status);
-        return ReportDto.fromEntity(reportRepository.save(report));
+        Report saved = reportRepository.save(report);
+        if (previousStatus != status) {
+            outboxService.append(OutboxEventType.REPORT_STATUS_CHANGED, reportId,
+                    new ReportEvent(reportId, createdOn(saved), previousStatus, status));
+        }
+        return ReportDto.fromEntity(saved);
     }
 
     @Transactional
     public void deleteReport(UUID reportId) {
-        if (!reportRepository.existsById(reportId)) {
-            throw new RuntimeException("Report not found");
+        Report report = reportRepository.findById(reportId)
+                .orElseThrow(() -> new RuntimeException("Report not found"));
+        reportRepository.delete(report);
+        outboxService.append(OutboxEventType.REPORT_DELETED, reportId,
+                new ReportEvent(reportId, createdOn(report), report.getStatus(), null));
+    }
+
+    /**
+     * Verrouille les signalements dont le statut change, les met à jour en une
+     * instruction et publie un événement par signalement modifié.
+     */
+    private int applyStatus(Collection<UUID> reportIds, ReportStatus status) {
+        List<Report> changed = reportRepository.lockForStatusChange(Set.copyOf(reportIds), status);
+        if (changed.isEmpty()) {
+            return 0;
+        }
+        List<ReportEvent> events = changed.stream()
+                .map(report -> new ReportEvent(report.getId(), createdOn(report), report.getStatus(), status))
+                .toList();
+        reportRepository.updateStatus(events.stream().map(ReportEvent::reportId).toList(), status);
+        for (ReportEvent event : events) {
+            outboxService.append(OutboxEventType.REPORT_STATUS_CHANGED, event.reportId(), event);
+        }
+        return events.size();
+    }
+
+    /**
+     * Renseigne le résumé des éléments signalés d'une page : une requête pour les
+     * reviews, une pour les commentaires.
+     */
+    private void fillTargets(List<ReportDto> reports) {
+        Set<UUID> reviewIds = new LinkedHashSet<>();
+        Set<UUID> commentIds = new LinkedHashSet<>();
+        for (ReportDto report : reports) {
+            (report.getTargetType() == ReportType.MATCH_REVIEW ? reviewIds : commentIds).add(report.getTargetId());
         }
-        reportRepository.deleteById(reportId);
+
+        Map<UUID, ReportTargetDto> targets = new HashMap<>();
+        if (!reviewIds.isEmpty()) {
+            collectTargets(userMatchRepository.findReportTargets(reviewIds), targets);
+        }
+        if (!commentIds.isEmpty()) {
+            collectTargets(reviewCommentRepository.findReportTargets(commentIds), targets);
+        }
+        reports.forEach(report -> report.setTarget(targets.get(report.getTargetId())));
+    }
+
+    private static void collectTargets(List<Object[]> rows, Map<UUID, ReportTargetDto> targets) {
+        for (Object[] row : rows) {
+            targets.put((UUID) row[0], new ReportTargetDto((UUID) row[1], (String) row[2],
+                    excerpt((String) row[3]), (Boolean) row[4]));
+        }
+    }
+
+    private static String excerpt(String text) {
+        if (text == null || text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        return text.substring(0, EXCERPT_LENGTH) + "...";
+    }
+
+    /**
+     * Auteur d'un signalement : par identifiant quand le principal vient du JWT,
+     * sinon par email.
+     */
+    private Optional<User> resolveReporter(UserDetails principal) {
+        if (principal instanceof AuthenticatedUser authenticated) {
+            return userRepository.findById(authenticated.getId());
+        }
+        return userRepository.findByEmail(principal.getUsername());
+    }
+
+    /**
+     * Date de rattachement du signalement dans les statistiques du tableau de
+     * bord ({@code createdAt} n'est renseigné qu'au flush de l'insertion).
+     */
+    private static LocalDate createdOn(Report report) {
+        return report.getCreatedAt() != null ? report.getCreatedAt().toLocalDate() : LocalDate.now();
     }
 }
@@ -10,7 +10,7 @@ import com.kickr_server.dto.Auth.ForgotPasswordRequest;
 import com.kickr_server.dto.Auth.ResetPasswordRequest;
 import com.kickr_server.dto.generic.ApiResponseDto;
 import com.kickr_server.user.User;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import com.kickr_server.ratelimit.RateLimited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -34,7 +34,7 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Authentication successful"),
             @ApiResponse(responseCode = "401", description = "Invalid email or password")
     })
-    @RateLimiter(name = "authRateLimiter")
+    @RateLimited("auth")
     @PostMapping("/login")
     public ApiResponseDto<UserDto> login(@Valid @RequestBody AuthRequest request, HttpServletResponse response) {
         AuthResponse authResponse = authService.authenticate(request);
@@ -53,7 +53,7 @@ public class AuthController {
             @ApiResponse(responseCode = "201", description = "User created"),
             @ApiResponse(responseCode = "400", description = "Invalid data")
     })
-    @RateLimiter(name = "authRateLimiter")
+    @RateLimited("auth")
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
     public ApiResponseDto<UserDto> register(@Valid @RequestBody RegisterRequest request) {
@@ -70,7 +70,7 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "New access token generated"),
             @ApiResponse(responseCode = "401", description = "Invalid or expired refresh token")
     })
-    @RateLimiter(name = "authRateLimiter")
+    @RateLimited("auth")
     @PostMapping("/refresh")
     public ApiResponseDto<Void> refresh(
             @CookieValue(name = CookieUtils.REFRESH_TOKEN_COOKIE_NAME, required = false) String refreshToken,
@@ -94,7 +94,7 @@ public class AuthController {
             @ApiResponse(responseCode = "204", description = "Refresh token revoked"),
             @ApiResponse(responseCode = "404", description = "Refresh token not found")
     })
-    @RateLimiter(name = "authRateLimiter")
+    @RateLimited("auth")
     @PostMapping("/logout")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public ApiResponseDto<Void> logout(
@@ -113,7 +113,7 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "If email exists, reset link has been sent")
     })
-    @RateLimiter(name = "authRateLimiter")
+    @RateLimited("auth")
     @PostMapping("/forgot-password")
     public ApiResponseDto<Void> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
         authService.initiatePasswordReset(request.email());
@@ -126,7 +126,7 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Password reset successful"),
             @ApiResponse(responseCode = "400", description = "Invalid or expired token")
     })
-    @RateLimiter(name = "authRateLimiter")
+    @RateLimited("auth")
     @PostMapping("/reset-password")
     public ApiResponseDto<Void> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
         try {
@@ -1,8 +1,6 @@
 package com.kickr_server.auth;
 
 import com.kickr_server.auth.jwt.JwtService;
-import com.kickr_server.auth.refreshToken.RefreshToken;
-import com.kickr_server.auth.refreshToken.RefreshTokenRepository;
 import com.kickr_server.auth.refreshToken.RefreshTokenService;
 import com.kickr_server.dto.Auth.AuthRequest;
 import com.kickr_server.dto.Auth.AuthResponse;
@@ -18,7 +16,6 @@ import com.kickr_server.notification.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,9 +30,8 @@ public class AuthService {
     private final UserRepository userRepository;
     private final UserService userService;
     private final JwtService jwtService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final RefreshTokenService refreshTokenService;
-    private final RefreshTokenRepository refreshTokenRepository;
     private final EmailService emailService;
 
     @Value("${app.frontend.url:http://localhost:5173}")
@@ -43,6 +39,10 @@ public class AuthService {
 
     /**
      * Authentifie un utilisateur avec son email et son mot de passe.
+     * <p>
+     * Si le hachage stocké a été calculé avec un autre facteur de coût que celui
+     * configuré, il est recalculé à partir du mot de passe qui vient d'être
+     * vérifié.
      *
      * @param request les identifiants de l'utilisateur
      * @return un objet AuthResponse contenant le token JWT, le refresh token et le
@@ -58,12 +58,16 @@ public class AuthService {
             throw new InvalidCredentialsException("Invalid username or password");
         }
 
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.password(), user.getPassword())) {
             throw new InvalidCredentialsException("Invalid username or password");
         }
-        String accessToken = jwtService.generateToken(user.getEmail());
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
-        return new AuthResponse(accessToken, refreshToken.getToken(), userService.getUserDtoWithStats(user.getId()));
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            userService.rehashPassword(user.getId(), user.getPassword(),
+                    passwordHashingService.hash(request.password()));
+        }
+        String accessToken = jwtService.generateToken(user);
+        String refreshToken = refreshTokenService.createRefreshToken(user);
+        return new AuthResponse(accessToken, refreshToken, userService.getUserDtoWithStats(user.getId()));
     }
 
     /**
@@ -73,7 +77,7 @@ public class AuthService {
      * @return le DTO de l'utilisateur créé
      */
     public UserDto register(User user) {
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.hash(user.getPassword()));
         User savedUser = userService.save(user);
         return userService.getUserDtoWithStats(savedUser.getId());
     }
@@ -81,44 +85,23 @@ public class AuthService {
     /**
      * Génère un nouveau jeton d'accès (access token) à partir d’un refresh token.
      * <p>
-     * Cette méthode :
-     * <ul>
-     * <li>Vérifie que le refresh token existe en base</li>
-     * <li>Contrôle sa date d’expiration</li>
-     * <li>Génère un nouveau access token si le refresh token est valide</li>
-     * <li>Supprime le refresh token de la base</li>
-     * <li></li>
-     * </ul>
-     * Si le refresh token est invalide ou expiré, une exception est levée.
-     * </p>
+     * Le refresh token présenté est consommé et remplacé par un nouveau en une
+     * seule instruction conditionnelle : un jeton expiré, révoqué ou déjà utilisé
+     * (y compris par une requête concurrente) est refusé.
      *
      * @param refreshTokenStr le refresh token envoyé par le client
      * @return un objet {@link RefreshTokenResponse} contenant le nouvel access
      *         token et le refresh token
      */
+    @Transactional
     public RefreshTokenResponse refreshAccessToken(String refreshTokenStr) {
-        RefreshToken oldRefreshToken = refreshTokenService.findByToken(refreshTokenStr)
-                .map(refreshTokenService::verifyExpiration)
-                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
-
-        User user = oldRefreshToken.getUser();
-        String newAccessToken = jwtService.generateToken(user.getEmail());
-        RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user);
-
-        refreshTokenRepository.delete(oldRefreshToken);
-
-        return new RefreshTokenResponse(newAccessToken, newRefreshToken.getToken());
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshTokenStr);
+        User user = userService.getUserById(rotation.userId());
+        return new RefreshTokenResponse(jwtService.generateToken(user), rotation.token());
     }
 
     public void logout(String refreshTokenStr) {
-        boolean deleted = refreshTokenService.findByToken(refreshTokenStr)
-                .map(token -> {
-                    refreshTokenRepository.delete(token);
-                    return true;
-                })
-                .orElse(false);
-
-        if (!deleted) {
+        if (!refreshTokenService.revoke(refreshTokenStr)) {
             throw new LogOutException("Logout failed, please try again later");
         }
     }
@@ -146,32 +129,25 @@ public class AuthService {
 
         String resetLink = frontendUrl + "/reset-password?token=" + token;
 
-        try {
-            emailService.sendPasswordResetEmail(user.getEmail(), resetLink);
-        } catch (Exception e) {
-            log.error("Failed to send password reset email to {}: {}", email, e.getMessage());
-        }
+        emailService.queuePasswordResetEmail(user.getEmail(), resetLink);
     }
 
     /**
      * Réinitialise le mot de passe de l'utilisateur avec un nouveau mot de passe.
+     * <p>
+     * Les access tokens et refresh tokens déjà émis sont révoqués : une session
+     * ouverte avec l'ancien mot de passe ne survit pas à la réinitialisation.
+     * <p>
+     * Le token est vérifié avant le hachage, qui peut attendre une place sur
+     * l'exécuteur dédié : il est calculé hors transaction, sans garder de
+     * connexion, puis écrit dans une courte transaction qui revérifie le token.
      *
      * @param token       le token de réinitialisation
      * @param newPassword le nouveau mot de passe
      */
-    @Transactional
     public void resetPassword(String token, String newPassword) {
-        User user = userService.findAll().stream()
-                .filter(u -> token.equals(u.getResetToken()))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Invalid or expired reset token"));
-
-        if (user.getResetTokenExpiry().isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("Reset token has expired");
-        }
-        user.setPassword(passwordEncoder.encode(newPassword));
-        user.setResetToken(null);
-        user.setResetTokenExpiry(null);
-        userService.update(user);
+        userService.getUserByResetToken(token);
+        String newHash = passwordHashingService.hash(newPassword);
+        userService.resetPassword(token, newHash);
     }
 }
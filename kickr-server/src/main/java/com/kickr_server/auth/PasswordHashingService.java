@@ -0,0 +1,109 @@
+package com.kickr_server.auth;
+
+import com.kickr_server.exception.auth.PasswordHashingUnavailableException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hachage et vérification des mots de passe sur l'exécuteur borné
+ * {@code passwordHashingExecutor}.
+ * <p>
+ * Le thread de requête attend le résultat sans consommer de CPU ; le nombre de
+ * calculs BCrypt simultanés est borné par la taille du pool. Quand la file est
+ * pleine, la tâche est refusée dès la soumission ; quand l'attente dépasse
+ * {@code kickr.auth.password-hashing.timeout-ms}, l'appelant abandonne. Dans les
+ * deux cas il reçoit une erreur 503. Une tâche qui sort de la file après
+ * l'échéance de son appelant se termine sans calculer : personne n'attend plus
+ * son résultat. Temps d'attente et de calcul sont publiés
+ * par l'exécuteur ({@code kickr.executor.task.wait} et
+ * {@code kickr.executor.task.duration}, {@code name=passwordHashingExecutor}).
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final int strength;
+    private final long timeoutMs;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${kickr.auth.bcrypt-strength:10}") int strength,
+            @Value("${kickr.auth.password-hashing.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.strength = strength;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Hache un mot de passe en clair.
+     */
+    public String hash(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Vérifie un mot de passe en clair contre son hachage.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Indique si un hachage a été calculé avec un autre facteur de coût que celui
+     * configuré, à la hausse comme à la baisse.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T run(Callable<T> task) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new TimeoutException("Caller gave up while the task was queued");
+                }
+                return task.call();
+            });
+        } catch (TaskRejectedException e) {
+            throw new PasswordHashingUnavailableException("Too many sign-in attempts in progress, please retry", e);
+        }
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingUnavailableException("Too many sign-in attempts in progress, please retry", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException timeout) {
+                throw new PasswordHashingUnavailableException("Too many sign-in attempts in progress, please retry",
+                        timeout);
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
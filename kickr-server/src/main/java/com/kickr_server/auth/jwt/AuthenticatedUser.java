@@ -0,0 +1,53 @@
+package com.kickr_server.auth.jwt;
+
+import com.kickr_server.user.Role;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Utilisateur authentifié reconstruit à partir des claims de l'access token,
+ * sans lecture en base.
+ * <p>
+ * Implémente {@link UserDetails} pour rester compatible avec les contrôleurs
+ * qui injectent le principal : {@link #getUsername()} renvoie l'email.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AuthenticatedUser implements UserDetails {
+
+    private final UUID id;
+    private final String email;
+    private final Role role;
+    private final int tokenVersion;
+
+    /**
+     * Expiration de l'access token dont le principal est issu.
+     */
+    private final Instant expiresAt;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    /**
+     * Le mot de passe n'est jamais porté par le jeton.
+     */
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -1,6 +1,6 @@
 package com.kickr_server.auth.jwt;
 
-import com.kickr_server.auth.CustomUserDetailsService;
+import com.kickr_server.exception.auth.JwtTokenException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +9,6 @@ import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -23,9 +22,12 @@ import java.io.IOException;
  * </p>
  * <ul>
  * <li>Extrait le token JWT de l'en-tête "Authorization".</li>
- * <li>Valide le token via {@link JwtService}.</li>
+ * <li>Valide le token via {@link JwtService}, à travers le cache
+ * {@link VerifiedTokenCache}.</li>
+ * <li>Vérifie qu'il n'a pas été révoqué via {@link TokenVersionService}.</li>
  * <li>Si valide, authentifie l'utilisateur dans le
- * {@link SecurityContextHolder}.</li>
+ * {@link SecurityContextHolder} à partir des seuls claims du token, sans
+ * lecture de l'utilisateur en base.</li>
  * <li>Si invalide, renvoie une réponse HTTP 401 (Unauthorized).</li>
  * </ul>
  *
@@ -38,8 +40,8 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
-    private final CustomUserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenVersionService tokenVersionService;
 
     /**
      * Intercepte chaque requête HTTP pour vérifier le JWT.
@@ -73,18 +75,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (token != null) {
 
             try {
-                jwtService.validateToken(token);
-                String email = jwtService.extractUsername(token);
-
-                // Charger les détails de l'utilisateur avec ses rôles
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                AuthenticatedUser user = verifiedTokenCache.verify(token);
+                if (!tokenVersionService.isCurrent(user.getId(), user.getTokenVersion())) {
+                    throw new JwtTokenException("Session revoked, please log in again");
+                }
 
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        user, null, user.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(auth);
 
             } catch (Exception e) {
-                // Si le token est invalide ou l'utilisateur introuvable, on ne définit pas
+                // Si le token est invalide ou révoqué, on ne définit pas
                 // l'authentification
                 // mais on laisse la requête continuer pour que SecurityFilterChain
                 // décide si l'accès est autorisé ou non (cas des routes publiques).
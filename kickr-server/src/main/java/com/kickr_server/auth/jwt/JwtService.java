@@ -1,7 +1,12 @@
 package com.kickr_server.auth.jwt;
 
 import com.kickr_server.exception.auth.JwtTokenException;
+import com.kickr_server.user.Role;
+import com.kickr_server.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,6 +15,7 @@ import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Service pour la génération, validation et extraction des informations JWT.
@@ -17,11 +23,21 @@ import java.util.Date;
  * La clé secrète est récupérée depuis une variable d'environnement nommée
  * JWT_SECRET.
  * Algorithme utilisé : HS512.
+ * <p>
+ * Les access tokens portent l'identifiant, le rôle et la version de jetons de
+ * l'utilisateur : le filtre d'authentification n'a pas besoin de relire
+ * l'utilisateur en base. Le parseur, immuable et thread-safe, est construit une
+ * seule fois.
  */
 @Service
 public class JwtService {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String TOKEN_VERSION_CLAIM = "ver";
+
     private final Key secretKey;
+    private final JwtParser parser;
     private final long expirationTime;
 
     public JwtService(@Value("${jwt.secret}") String secret,
@@ -38,37 +54,36 @@ public class JwtService {
         }
 
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
         this.expirationTime = expiration * 1000; // convert to milliseconds
     }
 
     /**
-     * Génère un token JWT pour un utilisateur identifié par son email.
+     * Génère l'access token d'un utilisateur, avec les claims nécessaires à son
+     * authentification (identifiant, rôle, version de jetons).
      *
-     * @param email l'email de l'utilisateur
+     * @param user l'utilisateur authentifié
      * @return le token JWT signé
      */
-    public String generateToken(String email) {
-        return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(secretKey, SignatureAlgorithm.HS512)
+    public String generateToken(User user) {
+        return builder(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId().toString())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
                 .compact();
     }
 
     /**
-     * Valide un token JWT.
+     * Vérifie la signature et l'expiration d'un token et renvoie ses claims.
      *
-     * @param token le token à valider
-     * @return true si le token est valide, false sinon
+     * @param token le token JWT
+     * @return les claims du token
+     * @throws JwtTokenException si le token est expiré ou invalide
      */
-    public void validateToken(String token) {
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
-        } catch (io.jsonwebtoken.ExpiredJwtException e) {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException e) {
             throw new JwtTokenException("Session expired, please log in again");
         } catch (Exception e) {
             throw new JwtTokenException("Invalid token, please log in again");
@@ -76,17 +91,35 @@ public class JwtService {
     }
 
     /**
-     * Extrait l'email (username) depuis le token JWT.
+     * Vérifie un access token et reconstruit l'utilisateur authentifié à partir de
+     * ses claims.
      *
      * @param token le token JWT
-     * @return l'email contenu dans le claim "subject"
+     * @return l'utilisateur authentifié
+     * @throws JwtTokenException si le token est invalide ou ne porte pas les
+     *                           claims attendus
      */
-    public String extractUsername(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+    public AuthenticatedUser parseAccessToken(String token) {
+        Claims claims = parseClaims(token);
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Integer version = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        if (userId == null || role == null || version == null) {
+            throw new JwtTokenException("Invalid token, please log in again");
+        }
+        try {
+            return new AuthenticatedUser(UUID.fromString(userId), claims.getSubject(), Role.valueOf(role), version,
+                    claims.getExpiration().toInstant());
+        } catch (IllegalArgumentException e) {
+            throw new JwtTokenException("Invalid token, please log in again");
+        }
+    }
+
+    private JwtBuilder builder(String subject) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
+                .signWith(secretKey, SignatureAlgorithm.HS512);
     }
 }
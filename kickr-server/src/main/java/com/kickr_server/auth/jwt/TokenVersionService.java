@@ -0,0 +1,90 @@
+package com.kickr_server.auth.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kickr_server.user.User;
+import com.kickr_server.utils.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Vérifie que la version portée par un access token est toujours la version
+ * courante de l'utilisateur.
+ * <p>
+ * Les versions sont gardées en mémoire et relues en base au plus une fois par
+ * utilisateur et par intervalle {@code kickr.auth.token-version-ttl-seconds} :
+ * la révocation est immédiate sur l'instance qui l'effectue, et se propage aux
+ * autres instances au plus tard à l'expiration de l'entrée. Le cache est borné
+ * à {@code kickr.auth.token-version-cache.max-size} utilisateurs.
+ */
+@Service
+public class TokenVersionService {
+
+    /**
+     * Version attribuée aux utilisateurs supprimés : aucun jeton ne la porte.
+     */
+    private static final int DELETED = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<UUID, Integer> versions;
+
+    public TokenVersionService(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${kickr.auth.token-version-ttl-seconds:60}") long ttlSeconds,
+            @Value("${kickr.auth.token-version-cache.max-size:50000}") long maxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "jwt.token-versions");
+    }
+
+    /**
+     * @param userId  l'UUID de l'utilisateur
+     * @param version version portée par le jeton
+     * @return true si le jeton n'a pas été révoqué
+     */
+    public boolean isCurrent(UUID userId, int version) {
+        Integer current = versions.getIfPresent(userId);
+        if (current == null) {
+            // Lecture hors de get(key, loader), qui garderait le verrou de l'entrée
+            // pendant la requête.
+            current = load(userId);
+            versions.put(userId, current);
+        }
+        return current == version;
+    }
+
+    /**
+     * Révoque tous les access tokens de l'utilisateur. La nouvelle version est
+     * écrite avec l'entité par l'appelant ; le cache est invalidé après commit.
+     *
+     * @param user l'utilisateur, modifié en place
+     */
+    public void revokeAll(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        UUID userId = user.getId();
+        TransactionUtils.afterCommit(() -> versions.invalidate(userId));
+    }
+
+    /**
+     * Oublie la version en cache d'un utilisateur (suppression de compte).
+     */
+    public void evict(UUID userId) {
+        versions.invalidate(userId);
+    }
+
+    private int load(UUID userId) {
+        List<Integer> rows = jdbcTemplate.queryForList(
+                "SELECT token_version FROM users WHERE id = ?", Integer.class, userId);
+        return rows.isEmpty() ? DELETED : rows.get(0);
+    }
+}
@@ -0,0 +1,89 @@
+package com.kickr_server.auth.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Cache des access tokens déjà vérifiés.
+ * <p>
+ * Un client renvoie le même jeton à chaque requête pendant toute sa durée de
+ * vie : la vérification HS512 et le décodage des claims ne sont faits qu'à la
+ * première présentation. Les entrées sont indexées par l'empreinte SHA-256 du
+ * jeton (le jeton lui-même n'est pas conservé) et expirent exactement à
+ * l'expiration du jeton. Le cache est borné en taille ; seuls les jetons
+ * valides y entrent.
+ * <p>
+ * La révocation reste vérifiée à chaque requête par
+ * {@link TokenVersionService}. Taux de succès exposé sous
+ * {@code cache.gets{cache=jwt.verified-tokens}}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public VerifiedTokenCache(JwtService jwtService, MeterRegistry meterRegistry,
+            @Value("${kickr.auth.verified-token-cache.max-size:50000}") long maxSize) {
+        this.jwtService = jwtService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    /**
+     * Vérifie un access token, ou renvoie le principal déjà vérifié pour ce jeton.
+     *
+     * @param token le token JWT
+     * @return l'utilisateur authentifié
+     * @throws com.kickr_server.exception.auth.JwtTokenException si le token est
+     *                                                           invalide
+     */
+    public AuthenticatedUser verify(String token) {
+        return cache.get(digest(token), key -> jwtService.parseAccessToken(token));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, AuthenticatedUser> {
+
+        @Override
+        public long expireAfterCreate(String key, AuthenticatedUser user, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), user.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, AuthenticatedUser user, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, AuthenticatedUser user, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -15,7 +15,8 @@ import java.util.UUID;
  * ait à ressaisir ses identifiants.
  * </p>
  * Chaque refresh token est associé à un utilisateur et possède
- * une date d’expiration.
+ * une date d’expiration. Seule l'empreinte SHA-256 du jeton est stockée : la
+ * valeur brute n'est connue que du client.
  */
 @Entity
 @Table(name = "refresh_tokens")
@@ -30,10 +31,10 @@ public class RefreshToken {
     private UUID id;
 
     /**
-     * Valeur du refresh token, générée aléatoirement (UUID).
+     * Empreinte SHA-256 (hexadécimal) du refresh token.
      */
-    @Column(nullable = false, unique = true)
-    private String token;
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
     /**
      * Date et heure d’expiration du refresh token.
@@ -1,24 +1,51 @@
 package com.kickr_server.auth.refreshToken;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Repository Spring Data JPA pour gérer les Refresh Tokens.
  * <p>
- * Fournit les opérations CRUD de base ainsi que
- * la recherche d’un refresh token par sa valeur.
+ * Les jetons sont recherchés par leur empreinte, servie par l'index unique sur
+ * {@code token_hash}.
  */
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
 
     /**
-     * Recherche un refresh token par sa valeur brute (chaîne).
+     * Recherche l'utilisateur d'un refresh token encore valide.
      *
-     * @param token la valeur du refresh token
-     * @return un {@link Optional} contenant le refresh token s’il existe,
-     *         ou vide sinon
+     * @param tokenHash empreinte du refresh token
+     * @param now       date de référence pour l'expiration
+     * @return l'UUID de l'utilisateur, ou vide si le jeton est inconnu ou expiré
      */
-    Optional<RefreshToken> findByToken(String token);
+    @Query("SELECT r.user.id FROM RefreshToken r WHERE r.tokenHash = :tokenHash AND r.expiryDate > :now")
+    Optional<UUID> findActiveUserId(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
+
+    /**
+     * Remplace un refresh token valide par un nouveau, en une seule instruction.
+     * Deux rotations concurrentes du même jeton ne peuvent pas réussir toutes les
+     * deux.
+     *
+     * @return 1 si la rotation a eu lieu, 0 si le jeton est inconnu, expiré ou
+     *         déjà utilisé
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.tokenHash = :newHash, r.expiryDate = :newExpiry "
+            + "WHERE r.tokenHash = :oldHash AND r.expiryDate > :now")
+    int rotate(@Param("oldHash") String oldHash, @Param("newHash") String newHash,
+            @Param("newExpiry") LocalDateTime newExpiry, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
 }
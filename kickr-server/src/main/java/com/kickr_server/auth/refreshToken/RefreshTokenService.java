@@ -1,12 +1,23 @@
 package com.kickr_server.auth.refreshToken;
 
-import com.kickr_server.user.User;
 import com.kickr_server.exception.auth.RefreshTokenExpiredException;
-import lombok.RequiredArgsConstructor;
+import com.kickr_server.user.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.UUID;
 
 /**
@@ -14,62 +25,144 @@ import java.util.UUID;
  * <p>
  * Fournit les opérations principales liées au cycle de vie des refresh tokens :
  * <ul>
- *     <li>Création d’un nouveau refresh token lié à un utilisateur</li>
- *     <li>Vérification de la validité et de la date d’expiration</li>
- *     <li>Recherche d’un refresh token par sa valeur</li>
+ *     <li>Émission d'un jeton aléatoire de 256 bits, dont seule l'empreinte
+ *     SHA-256 est stockée</li>
+ *     <li>Rotation atomique : l'ancien jeton est remplacé par le nouveau en une
+ *     seule instruction conditionnelle, qui tranche entre rotations
+ *     concurrentes</li>
+ *     <li>Révocation à la déconnexion, révocation de tous les jetons d'un
+ *     utilisateur et purge planifiée des jetons expirés</li>
  * </ul>
- * <p>
- * Les refresh tokens sont utilisés pour prolonger la session d’un utilisateur
- * sans qu’il ait besoin de se reconnecter avec ses identifiants.
  */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class RefreshTokenService {
 
+    private static final String PURGE_SQL = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (SELECT id FROM refresh_tokens WHERE expiry_date < ? LIMIT ?)""";
+
     private final RefreshTokenRepository refreshTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Duration lifetime;
+
+    @Value("${kickr.auth.refresh-tokens.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, JdbcTemplate jdbcTemplate,
+            @Value("${jwt.refresh-expiration:604800}") long lifetimeSeconds) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.lifetime = Duration.ofSeconds(lifetimeSeconds);
+    }
 
     /**
      * Crée et enregistre un nouveau refresh token pour un utilisateur donné.
-     * <p>
-     * Le token est généré sous forme d’UUID aléatoire et possède une durée de vie
-     * par défaut de 7 jours.
      *
      * @param user l’utilisateur auquel le refresh token est associé
-     * @return le refresh token nouvellement créé et persisté
+     * @return la valeur brute du jeton, à transmettre au client
      */
-    public RefreshToken createRefreshToken(User user) {
+    @Transactional
+    public String createRefreshToken(User user) {
+        String token = generateToken();
         var refreshToken = new RefreshToken();
-        refreshToken.setToken(UUID.randomUUID().toString());
+        refreshToken.setTokenHash(hash(token));
         refreshToken.setUser(user);
-        refreshToken.setExpiryDate(LocalDateTime.now().plusDays(7));
-        return refreshTokenRepository.save(refreshToken);
+        refreshToken.setExpiryDate(LocalDateTime.now().plus(lifetime));
+        refreshTokenRepository.save(refreshToken);
+        return token;
     }
 
     /**
-     * Vérifie si le refresh token est encore valide.
-     * <p>
-     * Si le token est expiré, il est supprimé de la base et une exception est levée.
+     * Consomme un refresh token et le remplace par un nouveau.
      *
-     * @param token le refresh token à vérifier
-     * @return le refresh token s’il est encore valide
-     * @throws RuntimeException si le token est expiré
+     * @param token la valeur brute présentée par le client
+     * @return l'utilisateur du jeton et le nouveau jeton
+     * @throws RefreshTokenExpiredException si le jeton est inconnu, expiré ou déjà
+     *                                      utilisé
      */
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.getExpiryDate().isBefore(LocalDateTime.now())) {
-            refreshTokenRepository.delete(token);
+    @Transactional
+    public Rotation rotate(String token) {
+        LocalDateTime now = LocalDateTime.now();
+        String oldHash = hash(token);
+
+        UUID userId = refreshTokenRepository.findActiveUserId(oldHash, now)
+                .orElseThrow(() -> new RefreshTokenExpiredException("Please log in again"));
+
+        String newToken = generateToken();
+        String newHash = hash(newToken);
+        LocalDateTime newExpiry = now.plus(lifetime);
+        if (refreshTokenRepository.rotate(oldHash, newHash, newExpiry, now) == 0) {
             throw new RefreshTokenExpiredException("Please log in again");
         }
-        return token;
+        return new Rotation(userId, newToken);
+    }
+
+    /**
+     * Révoque un refresh token (déconnexion).
+     *
+     * @param token la valeur brute présentée par le client
+     * @return true si le jeton existait
+     */
+    @Transactional
+    public boolean revoke(String token) {
+        return refreshTokenRepository.deleteByTokenHash(hash(token)) > 0;
+    }
+
+    /**
+     * Révoque tous les refresh tokens d'un utilisateur (réinitialisation du mot
+     * de passe) : ses sessions ouvertes ne peuvent plus être prolongées.
+     *
+     * @param userId l'UUID de l'utilisateur
+     * @return nombre de jetons révoqués
+     */
+    @Transactional
+    public int revokeAll(UUID userId) {
+        return refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Supprime les jetons expirés par lots, pour ne pas garder de longs verrous
+     * sur la table.
+     */
+    @Scheduled(cron = "${kickr.auth.refresh-tokens.purge-cron:0 10 3 * * *}")
+    public void purgeExpired() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL, now, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        log.info("Purged {} expired refresh tokens", total);
+    }
+
+    private String generateToken() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Empreinte SHA-256 d'un jeton. Un jeton de 256 bits aléatoires n'a pas besoin
+     * d'un hachage lent comme un mot de passe.
+     */
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
-     * Recherche un refresh token dans la base de données en utilisant sa valeur brute.
+     * Résultat d'une rotation.
      *
-     * @param token la valeur du refresh token
-     * @return un {@link Optional} contenant le refresh token s’il existe,
-     *         ou vide si aucun token ne correspond
+     * @param userId utilisateur du jeton consommé
+     * @param token  valeur brute du nouveau jeton
      */
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+    public record Rotation(UUID userId, String token) {
     }
 }
@@ -0,0 +1,196 @@
+package com.kickr_server.cluster;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Élection d'un leader et suivi des instances vivantes, sur PostgreSQL.
+ * <p>
+ * Le leader est l'instance qui détient le verrou consultatif
+ * {@code pg_try_advisory_lock(leaderLockKey)}. Ce verrou est attaché à la
+ * session : il est pris sur une connexion dédiée, ouverte hors du pool Hikari
+ * (la rendre au pool laisserait le verrou à son prochain emprunteur). Si
+ * l'instance s'arrête ou perd sa connexion, PostgreSQL libère le verrou et une
+ * autre instance le prend au battement de coeur suivant. Une instance qui
+ * constate que sa connexion n'est plus valide se retire aussitôt ; deux leaders
+ * ne peuvent donc coexister que le temps d'un intervalle de battement.
+ * <p>
+ * Chaque instance enregistre aussi un battement de coeur dans
+ * {@code cluster_nodes}, ce qui donne le nombre d'instances vivantes.
+ */
+@Component
+@Slf4j
+public class ClusterCoordinator {
+
+    private static final String HEARTBEAT_SQL = """
+            INSERT INTO cluster_nodes (node_id, started_at, heartbeat_at)
+            VALUES (?, now(), now())
+            ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = now()""";
+
+    private static final String LIVE_NODES_SQL = """
+            SELECT COUNT(*) FROM cluster_nodes
+            WHERE heartbeat_at > now() - make_interval(secs => ?)""";
+
+    private static final String PURGE_NODES_SQL = """
+            DELETE FROM cluster_nodes
+            WHERE heartbeat_at < now() - make_interval(secs => ?)""";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ClusterProperties properties;
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Sérialise les battements de coeur et l'arrêt, qui manipulent tous deux la
+     * connexion du verrou.
+     */
+    private final ReentrantLock stateLock = new ReentrantLock();
+
+    private Connection lockConnection;
+    private boolean stopped;
+    private volatile boolean leader;
+    private volatile int liveNodes = 1;
+
+    public ClusterCoordinator(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties, ClusterProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = properties;
+        Gauge.builder("kickr.cluster.leader", this, c -> c.isLeader() ? 1 : 0)
+                .description("1 if this instance runs the cluster-wide scheduled jobs")
+                .register(meterRegistry);
+        Gauge.builder("kickr.cluster.nodes", this, ClusterCoordinator::liveNodes)
+                .description("Instances with a recent heartbeat")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code true} si cette instance doit exécuter les jobs planifiés
+     *         communs au cluster
+     */
+    public boolean isLeader() {
+        return leader;
+    }
+
+    /**
+     * @return nombre d'instances vivantes, au moins 1
+     */
+    public int liveNodes() {
+        return liveNodes;
+    }
+
+    @RunOnEveryNode
+    @Scheduled(fixedDelayString = "${kickr.cluster.heartbeat-interval:5s}")
+    public void heartbeat() {
+        stateLock.lock();
+        try {
+            if (stopped) {
+                return;
+            }
+            recordHeartbeat();
+            if (leader) {
+                checkLeadership();
+            } else {
+                tryAcquireLeadership();
+            }
+            if (leader) {
+                jdbcTemplate.update(PURGE_NODES_SQL, properties.getNodeTimeout().toSeconds());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Cluster heartbeat failed for node {}: {}", nodeId, e.getMessage());
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stateLock.lock();
+        try {
+            stopped = true;
+            if (leader) {
+                log.info("Node {} releasing scheduler leadership", nodeId);
+            }
+            closeLockConnection();
+            jdbcTemplate.update("DELETE FROM cluster_nodes WHERE node_id = ?", nodeId);
+        } catch (DataAccessException e) {
+            log.debug("Could not unregister node {}: {}", nodeId, e.getMessage());
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private void recordHeartbeat() {
+        jdbcTemplate.update(HEARTBEAT_SQL, nodeId);
+        Integer count = jdbcTemplate.queryForObject(LIVE_NODES_SQL, Integer.class,
+                properties.getNodeTimeout().toSeconds());
+        liveNodes = Math.max(1, count == null ? 1 : count);
+    }
+
+    private void checkLeadership() {
+        try {
+            if (lockConnection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return;
+            }
+        } catch (SQLException e) {
+            // Traité comme une connexion perdue.
+        }
+        log.warn("Node {} lost the connection holding the leader lock, stepping down", nodeId);
+        closeLockConnection();
+    }
+
+    private void tryAcquireLeadership() {
+        try {
+            if (lockConnection == null) {
+                lockConnection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                        dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+            }
+            try (PreparedStatement statement = lockConnection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, properties.getLeaderLockKey());
+                try (ResultSet rs = statement.executeQuery()) {
+                    leader = rs.next() && rs.getBoolean(1);
+                }
+            }
+            if (leader) {
+                log.info("Node {} is now the scheduler leader ({} live nodes)", nodeId, liveNodes);
+            }
+        } catch (SQLException e) {
+            log.warn("Node {} could not try the leader lock: {}", nodeId, e.getMessage());
+            closeLockConnection();
+        }
+    }
+
+    /**
+     * Ferme la session du verrou, ce qui le libère côté PostgreSQL.
+     */
+    private void closeLockConnection() {
+        leader = false;
+        if (lockConnection != null) {
+            try {
+                lockConnection.close();
+            } catch (SQLException e) {
+                log.debug("Error closing leader lock connection: {}", e.getMessage());
+            }
+            lockConnection = null;
+        }
+    }
+}
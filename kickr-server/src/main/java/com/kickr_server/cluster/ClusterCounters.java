@@ -0,0 +1,78 @@
+package com.kickr_server.cluster;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compteurs partagés entre instances, par fenêtre fixe.
+ * <p>
+ * Les fenêtres sont alignées sur l'epoch (une fenêtre d'un jour commence à
+ * minuit UTC). Chaque incrément est un {@code INSERT ... ON CONFLICT DO UPDATE
+ * ... RETURNING} sur {@code cluster_counters} : atomique, sans verrou applicatif
+ * ni lecture préalable. Les fenêtres expirées sont purgées par le leader.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterCounters {
+
+    private static final String INCREMENT_SQL = """
+            INSERT INTO cluster_counters (counter_key, window_start, counter_value, expires_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (counter_key, window_start)
+            DO UPDATE SET counter_value = cluster_counters.counter_value + EXCLUDED.counter_value
+            RETURNING counter_value""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Incrémente un compteur dans sa fenêtre courante.
+     *
+     * @param key    nom du compteur
+     * @param window durée de la fenêtre
+     * @param delta  valeur à ajouter
+     * @return valeur du compteur dans la fenêtre après incrément, et fin de la
+     *         fenêtre
+     * @throws org.springframework.dao.DataAccessException si la base est
+     *                                                      indisponible
+     */
+    public WindowCount increment(String key, Duration window, long delta) {
+        long windowMillis = window.toMillis();
+        long startMillis = System.currentTimeMillis() / windowMillis * windowMillis;
+        Instant start = Instant.ofEpochMilli(startMillis);
+        Instant end = start.plus(window);
+
+        Long value = jdbcTemplate.queryForObject(INCREMENT_SQL, Long.class, key, toTimestamp(start), delta,
+                toTimestamp(end));
+        return new WindowCount(value == null ? delta : value, end);
+    }
+
+    @Scheduled(cron = "${kickr.cluster.counters-purge-cron:0 */10 * * * *}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM cluster_counters WHERE expires_at < ?",
+                toTimestamp(Instant.now()));
+        log.debug("Purged {} expired cluster counters", purged);
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.valueOf(LocalDateTime.ofInstant(instant, ZoneOffset.UTC));
+    }
+
+    /**
+     * Valeur d'un compteur dans sa fenêtre courante.
+     *
+     * @param value     valeur après incrément
+     * @param windowEnd fin de la fenêtre (remise à zéro du compteur)
+     */
+    public record WindowCount(long value, Instant windowEnd) {
+    }
+}
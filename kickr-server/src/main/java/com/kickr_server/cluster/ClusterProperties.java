@@ -0,0 +1,39 @@
+package com.kickr_server.cluster;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration de la coordination entre instances ({@code kickr.cluster}).
+ */
+@Data
+@ConfigurationProperties(prefix = "kickr.cluster")
+public class ClusterProperties {
+
+    /**
+     * Intervalle entre deux battements de coeur (et vérifications du verrou de
+     * leader).
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(5);
+
+    /**
+     * Au-delà de ce délai sans battement de coeur, une instance est considérée
+     * comme arrêtée.
+     */
+    private Duration nodeTimeout = Duration.ofSeconds(20);
+
+    /**
+     * Clé du verrou consultatif PostgreSQL détenu par le leader.
+     */
+    private long leaderLockKey = 7_146_832_001L;
+
+    /**
+     * Nombre maximal d'appels par jour (UTC) vers chaque hôte externe, partagé
+     * entre les instances. 0 : appels comptés mais non limités.
+     */
+    private Map<String, Long> upstreamDailyQuotas = new HashMap<>();
+}
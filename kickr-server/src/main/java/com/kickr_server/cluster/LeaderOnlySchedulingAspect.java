@@ -0,0 +1,40 @@
+package com.kickr_server.cluster;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * N'exécute les méthodes {@code @Scheduled} que sur le leader du cluster, sauf
+ * celles annotées {@link RunOnEveryNode}.
+ * <p>
+ * Les jobs eux-mêmes n'ont pas à connaître la coordination : sur une instance
+ * suiveuse, le déclenchement est simplement ignoré (et compté dans
+ * {@code kickr.cluster.jobs.skipped}).
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderOnlySchedulingAspect {
+
+    private final ClusterCoordinator clusterCoordinator;
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Scheduled)"
+            + " && !@annotation(com.kickr_server.cluster.RunOnEveryNode)")
+    public Object runOnLeader(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (clusterCoordinator.isLeader()) {
+            return joinPoint.proceed();
+        }
+        String job = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+                + joinPoint.getSignature().getName();
+        log.debug("Skipping {} on follower node {}", job, clusterCoordinator.getNodeId());
+        meterRegistry.counter("kickr.cluster.jobs.skipped", "job", job).increment();
+        return null;
+    }
+}
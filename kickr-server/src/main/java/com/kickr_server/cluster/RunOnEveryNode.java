@@ -0,0 +1,21 @@
+package com.kickr_server.cluster;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marque une méthode {@code @Scheduled} qui doit s'exécuter sur chaque instance
+ * et non seulement sur le leader : vidage d'un état en mémoire propre à
+ * l'instance, ou consommation d'une file déjà protégée par
+ * {@code SKIP LOCKED}.
+ *
+ * @see LeaderOnlySchedulingAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RunOnEveryNode {
+}
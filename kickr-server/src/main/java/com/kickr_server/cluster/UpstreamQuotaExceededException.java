@@ -0,0 +1,11 @@
+package com.kickr_server.cluster;
+
+/**
+ * Levée quand un appel vers une API externe dépasserait son quota journalier.
+ */
+public class UpstreamQuotaExceededException extends RuntimeException {
+
+    public UpstreamQuotaExceededException(String host, long dailyQuota) {
+        super("Daily quota of " + dailyQuota + " calls to " + host + " exhausted");
+    }
+}
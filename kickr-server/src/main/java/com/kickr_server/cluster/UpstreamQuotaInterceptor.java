@@ -0,0 +1,59 @@
+package com.kickr_server.cluster;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Décompte les appels sortants vers les API externes à quota journalier
+ * ({@code kickr.cluster.upstream-daily-quotas}), sur un compteur partagé par
+ * toutes les instances.
+ * <p>
+ * Un appel qui dépasserait le quota du jour est refusé avant d'être émis. Si le
+ * compteur est indisponible, l'appel passe : l'API externe reste seule juge de
+ * son quota.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UpstreamQuotaInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Duration QUOTA_WINDOW = Duration.ofDays(1);
+
+    private final ClusterCounters clusterCounters;
+    private final ClusterProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = request.getURI().getHost();
+        Long quota = host == null ? null : properties.getUpstreamDailyQuotas().get(host);
+        if (quota == null) {
+            return execution.execute(request, body);
+        }
+
+        try {
+            long used = clusterCounters.increment("upstream:" + host, QUOTA_WINDOW, 1).value();
+            if (quota > 0 && used > quota) {
+                meterRegistry.counter("kickr.upstream.requests", "host", host, "outcome", "quota_exceeded")
+                        .increment();
+                throw new UpstreamQuotaExceededException(host, quota);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Upstream quota counter unavailable for {}, letting the call through: {}", host,
+                    e.getMessage());
+        }
+        meterRegistry.counter("kickr.upstream.requests", "host", host, "outcome", "sent").increment();
+        return execution.execute(request, body);
+    }
+}
@@ -1,7 +1,7 @@
 package com.kickr_server.competitions;
 
 import com.kickr_server.dto.competition.CompetitionDto;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import com.kickr_server.ratelimit.RateLimited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +15,7 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/competitions")
 @RequiredArgsConstructor
 @Tag(name = "Competitions", description = "Endpoints pour gérer les compétitions")
-@RateLimiter(name = "userRateLimiter")
+@RateLimited("user")
 public class CompetitionController {
 
     private final CompetitionService competitionService;
@@ -1,5 +1,6 @@
 package com.kickr_server.config;
 
+import com.kickr_server.cluster.UpstreamQuotaInterceptor;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -11,8 +12,13 @@ import org.springframework.web.client.RestTemplate;
 public class AppConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(UpstreamQuotaInterceptor upstreamQuotaInterceptor,
+            UpstreamMetricsInterceptor upstreamMetricsInterceptor) {
+        RestTemplate restTemplate = new RestTemplate();
+        // Le quota est vérifié avant la mesure : un appel refusé n'est jamais émis.
+        restTemplate.getInterceptors().add(upstreamQuotaInterceptor);
+        restTemplate.getInterceptors().add(upstreamMetricsInterceptor);
+        return restTemplate;
     }
 
     @Value("${jwt.secret:default_jwt_secret_must_be_changed_in_production_1234567890}")
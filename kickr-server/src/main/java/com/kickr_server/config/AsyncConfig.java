@@ -0,0 +1,147 @@
+package com.kickr_server.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration des exécuteurs asynchrones dédiés.
+ * <p>
+ * Chaque charge de travail dispose de son propre pool borné, pour qu'un import
+ * de plusieurs minutes ne retarde pas la livraison des notifications.
+ * <p>
+ * Spring Boot publie l'état de chaque pool ({@code executor.active},
+ * {@code executor.queued}, {@code executor.completed}...) avec le nom du bean
+ * dans l'étiquette {@code name}. S'y ajoutent, sous la même étiquette, les
+ * tâches refusées ({@code kickr.executor.rejected}) et les histogrammes
+ * d'attente et d'exécution (voir {@link TimedTaskDecorator}).
+ * <p>
+ * Avec {@code spring.threads.virtual.enabled=true} sur un runtime Java 21, les
+ * pools exécutent leurs tâches sur des threads virtuels : leurs bornes (taille,
+ * file, politique de rejet) restent inchangées.
+ */
+@Configuration
+public class AsyncConfig {
+
+    private final boolean virtualThreads;
+
+    public AsyncConfig(Environment environment) {
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    /**
+     * Exécuteur par défaut des méthodes {@code @Async} sans qualificatif.
+     * <p>
+     * Déclaré explicitement car la présence d'un autre exécuteur désactive celui
+     * configuré automatiquement par Spring Boot. En mode threads virtuels, un
+     * thread virtuel est créé par tâche, comme le ferait Spring Boot.
+     */
+    @Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+    @Primary
+    public AsyncTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder threadPoolBuilder,
+            SimpleAsyncTaskExecutorBuilder simpleAsyncBuilder) {
+        return virtualThreads ? simpleAsyncBuilder.build() : threadPoolBuilder.build();
+    }
+
+    /**
+     * Exécuteur du relais de l'outbox (notifications, compteurs...).
+     * <p>
+     * Quand la file est pleine, la tâche s'exécute dans le thread appelant, ce qui
+     * ralentit le relais au lieu de perdre des événements.
+     */
+    @Bean(name = "outboxExecutor")
+    public ThreadPoolTaskExecutor outboxExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${kickr.executors.outbox.core-pool-size:2}") int corePoolSize,
+            @Value("${kickr.executors.outbox.max-pool-size:4}") int maxPoolSize,
+            @Value("${kickr.executors.outbox.queue-capacity:500}") int queueCapacity) {
+        return boundedExecutor("outboxExecutor", "outbox-", corePoolSize, maxPoolSize, queueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy(), meterRegistry);
+    }
+
+    /**
+     * Exécuteur des synchronisations avec l'API football (classements).
+     * <p>
+     * Quand la file est pleine, la demande la plus ancienne est abandonnée : une
+     * synchronisation plus récente la rend inutile.
+     */
+    @Bean(name = "syncExecutor")
+    public ThreadPoolTaskExecutor syncExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${kickr.executors.sync.core-pool-size:1}") int corePoolSize,
+            @Value("${kickr.executors.sync.max-pool-size:1}") int maxPoolSize,
+            @Value("${kickr.executors.sync.queue-capacity:5}") int queueCapacity) {
+        return boundedExecutor("syncExecutor", "sync-", corePoolSize, maxPoolSize, queueCapacity,
+                new ThreadPoolExecutor.DiscardOldestPolicy(), meterRegistry);
+    }
+
+    /**
+     * Exécuteur des traitements de maintenance longs (import de l'historique des
+     * matchs).
+     * <p>
+     * Quand la file est pleine, la tâche est refusée et l'appelant reçoit une
+     * erreur 503 plutôt que d'empiler des imports.
+     */
+    @Bean(name = "maintenanceExecutor")
+    public ThreadPoolTaskExecutor maintenanceExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${kickr.executors.maintenance.core-pool-size:1}") int corePoolSize,
+            @Value("${kickr.executors.maintenance.max-pool-size:1}") int maxPoolSize,
+            @Value("${kickr.executors.maintenance.queue-capacity:2}") int queueCapacity) {
+        return boundedExecutor("maintenanceExecutor", "maintenance-", corePoolSize, maxPoolSize, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy(), meterRegistry);
+    }
+
+    /**
+     * Exécuteur du hachage et de la vérification des mots de passe (BCrypt).
+     * <p>
+     * Travail purement CPU : un thread par cœur par défaut
+     * ({@code pool-size: 0}), et une file courte. Quand elle est pleine, la
+     * tâche est refusée immédiatement : une rafale de connexions ne peut pas
+     * occuper tous les threads de requête.
+     */
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${kickr.executors.password-hashing.pool-size:0}") int poolSize,
+            @Value("${kickr.executors.password-hashing.queue-capacity:64}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return boundedExecutor("passwordHashingExecutor", "password-hashing-", threads, threads, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy(), meterRegistry);
+    }
+
+    private ThreadPoolTaskExecutor boundedExecutor(String name, String threadNamePrefix, int corePoolSize, int maxPoolSize,
+            int queueCapacity, RejectedExecutionHandler rejectionPolicy, MeterRegistry meterRegistry) {
+        Counter rejected = Counter.builder("kickr.executor.rejected")
+                .description("Tasks rejected because the executor queue was full")
+                .tag("name", name)
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setVirtualThreads(virtualThreads);
+        executor.setTaskDecorator(new TimedTaskDecorator(name, meterRegistry));
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            rejectionPolicy.rejectedExecution(task, pool);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -2,14 +2,21 @@ package com.kickr_server.config;
 
 import com.kickr_server.auth.jwt.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,6 +30,7 @@ import org.springframework.http.HttpStatus;
  *
  * - Définit les règles de sécurité HTTP (routes publiques / privées).
  * - Configure la gestion des sessions en mode stateless (JWT).
+ * - Protège l'endpoint de scrape Prometheus par un identifiant dédié.
  * - Fournit un encodeur de mots de passe sécurisé (BCrypt).
  * - Expose l'AuthenticationManager pour l'authentification des utilisateurs.
  */
@@ -35,6 +43,51 @@ public class SecurityConfig {
         @Value("${server.cors.allowed-origins:http://localhost:5173}")
         private String allowedOrigins;
 
+        /**
+         * Chaîne dédiée à {@code /actuator/prometheus}, évaluée avant la chaîne
+         * principale.
+         * <p>
+         * Le collecteur s'authentifie en HTTP Basic avec un identifiant propre
+         * ({@code kickr.metrics.scrape.*}) plutôt qu'avec un JWT d'administrateur :
+         * pas de compte utilisateur à maintenir pour la supervision, et un secret
+         * qui ne donne accès à rien d'autre. Sans mot de passe configuré, l'endpoint
+         * est fermé.
+         *
+         * @param http     la configuration de sécurité HTTP
+         * @param username identifiant du collecteur
+         * @param password mot de passe du collecteur, vide pour fermer l'endpoint
+         * @param encoder  encodeur des mots de passe
+         * @return la chaîne de filtres du scrape
+         * @throws Exception si une erreur survient lors de la configuration
+         */
+        @Bean
+        @Order(1)
+        public SecurityFilterChain metricsScrapeFilterChain(HttpSecurity http,
+                        @Value("${kickr.metrics.scrape.username:prometheus}") String username,
+                        @Value("${kickr.metrics.scrape.password:}") String password,
+                        PasswordEncoder encoder) throws Exception {
+                http
+                                .securityMatcher(EndpointRequest.to("prometheus"))
+                                .csrf(AbstractHttpConfigurer::disable)
+                                .sessionManagement(session -> session
+                                                .sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+                if (password.isBlank()) {
+                        http.authorizeHttpRequests(auth -> auth.anyRequest().denyAll());
+                } else {
+                        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(
+                                        new InMemoryUserDetailsManager(User.withUsername(username)
+                                                        .password(encoder.encode(password))
+                                                        .roles("METRICS")
+                                                        .build()));
+                        provider.setPasswordEncoder(encoder);
+                        http
+                                        .authenticationManager(new ProviderManager(provider))
+                                        .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"))
+                                        .httpBasic(Customizer.withDefaults());
+                }
+                return http.build();
+        }
+
         /**
          * Définit la chaîne de filtres de sécurité de Spring Security.
          *
@@ -53,6 +106,7 @@ public class SecurityConfig {
          * @throws Exception si une erreur survient lors de la configuration
          */
         @Bean
+        @Order(2)
         public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
                 http
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -152,11 +206,15 @@ public class SecurityConfig {
          * sera automatiquement haché avec un salt aléatoire.
          * </p>
          *
+         * Le facteur de coût est configurable ({@code kickr.auth.bcrypt-strength}) :
+         * les hachages existants sont recalculés à la connexion suivante (voir
+         * {@link com.kickr_server.auth.PasswordHashingService}).
+         *
          * @return un PasswordEncoder utilisant BCrypt
          */
         @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+        public PasswordEncoder passwordEncoder(@Value("${kickr.auth.bcrypt-strength:10}") int strength) {
+                return new BCryptPasswordEncoder(strength);
         }
 
         /**
@@ -0,0 +1,46 @@
+package com.kickr_server.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure, pour chaque tâche d'un exécuteur, le temps passé dans la file
+ * ({@code kickr.executor.task.wait}) et le temps d'exécution
+ * ({@code kickr.executor.task.duration}), sous forme d'histogrammes étiquetés
+ * par nom d'exécuteur.
+ */
+public class TimedTaskDecorator implements TaskDecorator {
+
+    private final Timer waitTimer;
+    private final Timer durationTimer;
+
+    public TimedTaskDecorator(String executorName, MeterRegistry meterRegistry) {
+        this.waitTimer = Timer.builder("kickr.executor.task.wait")
+                .description("Time spent by tasks waiting in the executor queue")
+                .tag("name", executorName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.durationTimer = Timer.builder("kickr.executor.task.duration")
+                .description("Task execution time")
+                .tag("name", executorName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        long submittedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                runnable.run();
+            } finally {
+                durationTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+}
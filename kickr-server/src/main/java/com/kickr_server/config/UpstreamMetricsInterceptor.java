@@ -0,0 +1,119 @@
+package com.kickr_server.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mesure les appels HTTP sortants du {@code RestTemplate} partagé.
+ * <p>
+ * {@code kickr.upstream.duration{host,endpoint,status,outcome}} : latence de
+ * chaque appel, sous forme d'histogramme. Le taux d'erreur se déduit du tag
+ * {@code outcome} ({@code success}, {@code client_error}, {@code server_error},
+ * {@code io_error}). L'endpoint est le premier segment du chemin
+ * ({@code fixtures}, {@code standings}...), pour garder une cardinalité bornée.
+ * <p>
+ * {@code kickr.upstream.quota.remaining{host,window}} et
+ * {@code kickr.upstream.quota.limit{host,window}} : quota restant et quota total
+ * annoncés par l'API dans ses en-têtes de réponse, par jour et par minute.
+ */
+@Component
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    /**
+     * En-têtes de quota de l'API Football (api-sports.io) : {@code [fenêtre,
+     * quota total, quota restant]}.
+     */
+    private static final String[][] QUOTA_HEADERS = {
+            { "day", "x-ratelimit-requests-limit", "x-ratelimit-requests-remaining" },
+            { "minute", "X-RateLimit-Limit", "X-RateLimit-Remaining" }
+    };
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> quotaGauges = new ConcurrentHashMap<>();
+
+    public UpstreamMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        URI uri = request.getURI();
+        String host = uri.getHost() != null ? uri.getHost() : "unknown";
+        String status = "none";
+        String outcome = "io_error";
+        long startedAt = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            HttpStatusCode code = response.getStatusCode();
+            status = String.valueOf(code.value());
+            outcome = code.is2xxSuccessful() ? "success"
+                    : code.is4xxClientError() ? "client_error"
+                            : code.is5xxServerError() ? "server_error" : "other";
+            recordQuota(host, response.getHeaders());
+            return response;
+        } finally {
+            Timer.builder("kickr.upstream.duration")
+                    .description("Latency of outgoing HTTP calls to external APIs")
+                    .tag("host", host)
+                    .tag("endpoint", endpoint(uri))
+                    .tag("status", status)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void recordQuota(String host, HttpHeaders headers) {
+        for (String[] window : QUOTA_HEADERS) {
+            setGauge("kickr.upstream.quota.limit", host, window[0], headers.getFirst(window[1]));
+            setGauge("kickr.upstream.quota.remaining", host, window[0], headers.getFirst(window[2]));
+        }
+    }
+
+    private void setGauge(String name, String host, String window, String headerValue) {
+        if (headerValue == null) {
+            return;
+        }
+        long value;
+        try {
+            value = Long.parseLong(headerValue.trim());
+        } catch (NumberFormatException e) {
+            return;
+        }
+        quotaGauges.computeIfAbsent(name + '|' + host + '|' + window, key -> {
+            AtomicLong gauge = new AtomicLong();
+            Gauge.builder(name, gauge, AtomicLong::get)
+                    .description("Request quota reported by the external API")
+                    .tag("host", host)
+                    .tag("window", window)
+                    .register(meterRegistry);
+            return gauge;
+        }).set(value);
+    }
+
+    private static String endpoint(URI uri) {
+        String path = uri.getPath();
+        if (path == null || path.length() <= 1) {
+            return "/";
+        }
+        int end = path.indexOf('/', 1);
+        return end < 0 ? path.substring(1) : path.substring(1, end);
+    }
+}
@@ -0,0 +1,24 @@
+package com.kickr_server.dto.UserMatch;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Page de reviews dont on veut connaître l'état "liké" pour l'utilisateur
+ * connecté.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikedReviewsRequestDto {
+
+    @NotNull(message = "Review IDs are required")
+    @Size(max = 100, message = "At most 100 review IDs per request")
+    private List<UUID> reviewIds;
+}
@@ -1,5 +1,6 @@
 package com.kickr_server.dto.UserMatch;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.kickr_server.dto.match.MatchDto;
 import com.kickr_server.dto.User.UserDto;
 import com.kickr_server.usermatch.UserMatch;
@@ -8,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -24,6 +26,26 @@ public class UserMatchFullDto {
     private int likesCount;
     private LocalDateTime watchedAt;
 
+    /**
+     * Indique si l'utilisateur connecté a liké la review. Renseigné uniquement sur
+     * demande ({@code includeLikedByMe=true}), en une requête par page.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean likedByMe;
+
+    /**
+     * Nombre de commentaires de la review, calculé par page de reviews.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long commentsCount;
+
+    /**
+     * Derniers commentaires, du plus récent au plus ancien. Renseigné uniquement
+     * sur demande ({@code includeCommentPreview=true}).
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ReviewCommentDto> latestComments;
+
     public static UserMatchFullDto fromEntity(UserMatch entity) {
         MatchDto matchDto = MatchDto.fromEntity(entity.getMatch());
 
@@ -35,6 +57,9 @@ public class UserMatchFullDto {
                 entity.getComment(),
                 entity.isLiked(),
                 entity.getLikesCount(),
-                entity.getWatchedAt());
+                entity.getWatchedAt(),
+                null,
+                null,
+                null);
     }
 }
@@ -0,0 +1,23 @@
+package com.kickr_server.dto.admin;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lot de signalements dont les éléments visés doivent être modérés.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkModerationDto {
+
+    @NotEmpty(message = "Report IDs are required")
+    @Size(max = 200, message = "At most 200 reports per request")
+    private List<UUID> reportIds;
+}
@@ -0,0 +1,11 @@
+package com.kickr_server.dto.admin;
+
+/**
+ * Résultat d'une action groupée sur des signalements.
+ *
+ * @param reportsUpdated    signalements dont le statut a changé
+ * @param reviewsModerated  reviews modérées
+ * @param commentsModerated commentaires modérés
+ */
+public record BulkReportResultDto(int reportsUpdated, int reviewsModerated, int commentsModerated) {
+}
@@ -0,0 +1,28 @@
+package com.kickr_server.dto.admin;
+
+import com.kickr_server.admin.report.ReportStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Changement de statut d'un lot de signalements.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReportStatusDto {
+
+    @NotEmpty(message = "Report IDs are required")
+    @Size(max = 200, message = "At most 200 reports per request")
+    private List<UUID> reportIds;
+
+    @NotNull(message = "Status is required")
+    private ReportStatus status;
+}
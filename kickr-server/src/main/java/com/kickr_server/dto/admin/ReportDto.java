@@ -23,6 +23,12 @@ public class ReportDto {
     private ReportStatus status;
     private LocalDateTime createdAt;
 
+    /**
+     * Résumé de l'élément signalé, renseigné par la file de modération (null si
+     * l'élément n'existe plus).
+     */
+    private ReportTargetDto target;
+
     public static ReportDto fromEntity(Report report) {
         return ReportDto.builder()
                 .id(report.getId())
@@ -0,0 +1,15 @@
+package com.kickr_server.dto.admin;
+
+import java.util.UUID;
+
+/**
+ * Résumé de l'élément signalé (review ou commentaire), pour la file de
+ * modération.
+ *
+ * @param authorId   auteur de l'élément
+ * @param authorName nom de l'auteur
+ * @param excerpt    début du texte signalé
+ * @param moderated  indique si l'élément a déjà été modéré
+ */
+public record ReportTargetDto(UUID authorId, String authorName, String excerpt, boolean moderated) {
+}
@@ -0,0 +1,16 @@
+package com.kickr_server.dto.follow;
+
+import com.kickr_server.dto.User.UserDto;
+
+/**
+ * Suggestion d'utilisateur à suivre.
+ *
+ * @param user          utilisateur suggéré, avec ses statistiques
+ * @param mutualFollows nombre d'utilisateurs suivis qui le suivent aussi
+ * @param sharedMatches nombre de matchs évalués en commun
+ */
+public record FollowSuggestionDto(
+        UserDto user,
+        int mutualFollows,
+        int sharedMatches) {
+}
@@ -0,0 +1,18 @@
+package com.kickr_server.dto.generic;
+
+import java.util.List;
+
+/**
+ * Page de résultats paginée par curseur.
+ *
+ * @param <T>        type des éléments
+ * @param items      éléments de la page
+ * @param nextCursor curseur à transmettre pour obtenir la page suivante (null
+ *                   s'il n'y en a plus)
+ * @param hasMore    indique s'il reste des éléments après cette page
+ */
+public record CursorPageDto<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore) {
+}
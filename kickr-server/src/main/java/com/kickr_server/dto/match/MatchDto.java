@@ -1,5 +1,6 @@
 package com.kickr_server.dto.match;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.kickr_server.match.Match;
 import lombok.AllArgsConstructor;
@@ -7,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -91,6 +93,14 @@ public class MatchDto {
     @JsonProperty("round")
     private String round;
 
+    /**
+     * Matchs recommandés ("les fans qui ont noté ce match ont aussi noté").
+     * Renseigné uniquement sur la page d'un match.
+     */
+    @JsonProperty("similar_matches")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<SimilarMatchDto> similarMatches;
+
     /**
      * Convertit une entité Match en DTO.
      */
@@ -121,7 +131,8 @@ public class MatchDto {
                 match.getMatchDetail() != null ? match.getMatchDetail().getLineups() : null,
                 match.getMatchDetail() != null ? match.getMatchDetail().getStats() : null,
                 match.getMatchDetail() != null ? match.getMatchDetail().getEvents() : null,
-                match.getRound());
+                match.getRound(),
+                null);
     }
 
     public static MatchDto fromEntityWithStats(Match match, Double avgRating, Long reviewsCount) {
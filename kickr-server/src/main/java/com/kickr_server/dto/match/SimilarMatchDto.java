@@ -0,0 +1,22 @@
+package com.kickr_server.dto.match;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Match recommandé sur la page d'un autre match.
+ */
+public record SimilarMatchDto(
+        @JsonProperty("match_uuid") UUID matchUuid,
+        @JsonProperty("id") Integer externalFixtureId,
+        @JsonProperty("home_team") String homeTeamName,
+        @JsonProperty("home_logo") String homeTeamLogo,
+        @JsonProperty("away_team") String awayTeamName,
+        @JsonProperty("away_logo") String awayTeamLogo,
+        @JsonProperty("match_date") LocalDateTime matchDate,
+        @JsonProperty("home_score") Integer homeScore,
+        @JsonProperty("away_score") Integer awayScore,
+        @JsonProperty("similarity") double similarity) {
+}
@@ -4,6 +4,8 @@ import com.kickr_server.notification.Notification;
 import com.kickr_server.notification.NotificationType;
 import lombok.Builder;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 @Builder
@@ -16,7 +18,10 @@ public record NotificationDto(
         String message,
         String targetId,
         boolean isRead,
-        LocalDateTime createdAt) {
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        int actorCount,
+        List<UUID> recentActorIds) {
     public static NotificationDto fromEntity(Notification entity) {
         return NotificationDto.builder()
                 .id(entity.getId())
@@ -28,6 +33,11 @@ public record NotificationDto(
                 .targetId(entity.getTargetId())
                 .isRead(entity.isRead())
                 .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt() == null ? entity.getCreatedAt() : entity.getUpdatedAt())
+                .actorCount(entity.getActorCount())
+                .recentActorIds(entity.getRecentActorIds() == null || entity.getRecentActorIds().isBlank()
+                        ? List.of(entity.getActor().getId())
+                        : Arrays.stream(entity.getRecentActorIds().split(",")).map(UUID::fromString).toList())
                 .build();
     }
 }
@@ -0,0 +1,14 @@
+package com.kickr_server.event;
+
+import java.util.UUID;
+
+/**
+ * Contenu des événements de follow et d'unfollow.
+ *
+ * @param followerId utilisateur qui suit
+ * @param followedId utilisateur suivi
+ * @param message    texte de la notification envoyée à l'utilisateur suivi
+ *                   (follow uniquement)
+ */
+public record FollowEvent(UUID followerId, UUID followedId, String message) {
+}
@@ -0,0 +1,18 @@
+package com.kickr_server.event;
+
+import com.kickr_server.admin.report.ReportStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Contenu des événements de cycle de vie d'un signalement.
+ *
+ * @param reportId       identifiant du signalement
+ * @param createdOn      date de création du signalement
+ * @param previousStatus statut avant l'opération ({@code null} à la création)
+ * @param status         statut après l'opération ({@code null} à la
+ *                       suppression)
+ */
+public record ReportEvent(UUID reportId, LocalDate createdOn, ReportStatus previousStatus, ReportStatus status) {
+}
@@ -0,0 +1,17 @@
+package com.kickr_server.event;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Contenu des événements de création et de suppression d'une review.
+ *
+ * @param reviewId  identifiant de la review
+ * @param authorId  auteur de la review
+ * @param message   texte de la notification envoyée aux abonnés de l'auteur
+ *                  (création uniquement)
+ * @param watchedOn date de visionnage de la review ({@code null} dans les
+ *                  événements écrits avant l'ajout de ce champ)
+ */
+public record ReviewEvent(UUID reviewId, UUID authorId, String message, LocalDate watchedOn) {
+}
@@ -0,0 +1,16 @@
+package com.kickr_server.event;
+
+import java.util.UUID;
+
+/**
+ * Tranche de la diffusion de la notification NEW_REVIEW aux followers de
+ * l'auteur d'une review.
+ *
+ * @param reviewId        identifiant de la review
+ * @param authorId        auteur de la review
+ * @param message         texte de la notification
+ * @param afterFollowerId dernier follower de la tranche précédente
+ *                        ({@code null} pour la première tranche)
+ */
+public record ReviewFanoutEvent(UUID reviewId, UUID authorId, String message, UUID afterFollowerId) {
+}
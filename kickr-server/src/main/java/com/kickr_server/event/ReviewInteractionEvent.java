@@ -0,0 +1,14 @@
+package com.kickr_server.event;
+
+import java.util.UUID;
+
+/**
+ * Contenu des événements de like et de commentaire sur une review.
+ *
+ * @param reviewId       identifiant de la review
+ * @param reviewAuthorId auteur de la review, destinataire de la notification
+ * @param actorId        utilisateur qui a liké ou commenté
+ * @param message        texte de la notification
+ */
+public record ReviewInteractionEvent(UUID reviewId, UUID reviewAuthorId, UUID actorId, String message) {
+}
@@ -0,0 +1,13 @@
+package com.kickr_server.event;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Contenu des événements d'inscription et de suppression d'un utilisateur.
+ *
+ * @param userId       identifiant de l'utilisateur
+ * @param registeredOn date d'inscription
+ */
+public record UserEvent(UUID userId, LocalDate registeredOn) {
+}
@@ -4,18 +4,23 @@ import com.kickr_server.dto.generic.ApiResponseDto;
 import com.kickr_server.exception.auth.InvalidCredentialsException;
 import com.kickr_server.exception.auth.JwtTokenException;
 import com.kickr_server.exception.auth.LogOutException;
+import com.kickr_server.exception.auth.PasswordHashingUnavailableException;
 import com.kickr_server.exception.auth.RefreshTokenExpiredException;
 import com.kickr_server.exception.follow.FollowerNotFoundException;
 import com.kickr_server.exception.follow.FollowedNotFoundException;
+import com.kickr_server.exception.generic.InvalidCursorException;
+import com.kickr_server.exception.generic.RateLimitExceededException;
+import com.kickr_server.exception.generic.ServiceOverloadedException;
 import com.kickr_server.exception.match.MatchNotFoundException;
 import com.kickr_server.exception.user.UserAlreadyExistException;
 import com.kickr_server.exception.user.UserNotFoundException;
 import com.kickr_server.exception.userMatch.IllegalCommentLengthException;
 import com.kickr_server.exception.userMatch.IllegalMatchNoteException;
 import com.kickr_server.exception.userMatch.UserMatchNotFoundException;
-import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -148,13 +153,40 @@ public class GlobalExceptionHandler {
         return buildError(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponseDto<Void>> handleInvalidCursor(InvalidCursorException ex) {
+        return buildError(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
     // ---------------------- ERROR 429 RATE LIMIT----------------------
 
-    @ExceptionHandler(RequestNotPermitted.class)
-    public ResponseEntity<String> handleRateLimit(RequestNotPermitted ex) {
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiResponseDto<Void>> handleRateLimit(RateLimitExceededException ex) {
         return ResponseEntity
                 .status(HttpStatus.TOO_MANY_REQUESTS)
-                .body("Too many requests, please try again later");
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponseDto.error(ex.getMessage(), null));
+    }
+
+    // ---------------------- ERROR 503 EXECUTOR SATURATED ----------------------
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ApiResponseDto<Void>> handlePasswordHashingUnavailable(
+            PasswordHashingUnavailableException ex) {
+        return buildError(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponseDto<Void>> handleServiceOverloaded(ServiceOverloadedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponseDto.error(ex.getMessage(), null));
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ApiResponseDto<Void>> handleTaskRejected(TaskRejectedException ex) {
+        return buildError(HttpStatus.SERVICE_UNAVAILABLE, "A similar job is already running, please try again later");
     }
 
     // ---------------------- VALIDATION EXCEPTIONS ----------------------
@@ -0,0 +1,7 @@
+package com.kickr_server.exception.generic;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
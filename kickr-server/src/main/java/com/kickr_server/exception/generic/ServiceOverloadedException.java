@@ -0,0 +1,14 @@
+package com.kickr_server.exception.generic;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(long retryAfterSeconds) {
+        super("Service temporarily overloaded, please try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
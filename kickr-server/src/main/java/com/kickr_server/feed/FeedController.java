@@ -1,12 +1,17 @@
 package com.kickr_server.feed;
 
 import com.kickr_server.dto.UserMatch.UserMatchFullDto;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import com.kickr_server.usermatch.ReviewCommentService;
+import com.kickr_server.usermatch.ReviewLikeService;
+import com.kickr_server.ratelimit.ConcurrencyLimited;
+import com.kickr_server.ratelimit.RateLimited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -18,22 +23,28 @@ import java.util.UUID;
 public class FeedController {
 
         private final FeedService feedService;
+        private final ReviewLikeService reviewLikeService;
+        private final ReviewCommentService reviewCommentService;
 
         @Operation(summary = "Récupère le feed paginé d'un utilisateur (matches des suivis)")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Liste paginée des matches"),
                         @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
         })
-        @RateLimiter(name = "feedRateLimiter")
+        @RateLimited("feed")
+        @ConcurrencyLimited("feed")
         @GetMapping("/preview/{userId}")
         public List<UserMatchFullDto> getPreviewFeed(
                         @Parameter(description = "UUID de l'utilisateur dont on veut le feed", required = true) @PathVariable UUID userId,
                         @Parameter(description = "Numéro de page", example = "0") @RequestParam(defaultValue = "0") int page,
-                        @Parameter(description = "Nombre d'éléments par page", example = "10") @RequestParam(defaultValue = "10") int size) {
+                        @Parameter(description = "Nombre d'éléments par page", example = "10") @RequestParam(defaultValue = "10") int size,
+                        @Parameter(description = "Renseigne likedByMe pour l'utilisateur connecté") @RequestParam(defaultValue = "false") boolean includeLikedByMe,
+                        @Parameter(description = "Ajoute les deux derniers commentaires de chaque review") @RequestParam(defaultValue = "false") boolean includeCommentPreview,
+                        @AuthenticationPrincipal UserDetails userDetails) {
                 List<UserMatchFullDto> feed = feedService.getFeedFull(userId);
                 int start = Math.min(page * size, feed.size());
                 int end = Math.min(start + size, feed.size());
-                return feed.subList(start, end);
+                return enrich(feed.subList(start, end), includeLikedByMe, includeCommentPreview, userDetails);
         }
 
         @Operation(summary = "Récupère le dernier match noté par chaque utilisateur suivi")
@@ -41,21 +52,40 @@ public class FeedController {
                         @ApiResponse(responseCode = "200", description = "Liste des derniers matches"),
                         @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
         })
-        @RateLimiter(name = "feedRateLimiter")
+        @RateLimited("feed")
         @GetMapping("/latest/{userId}")
         public List<UserMatchFullDto> getLatestFeed(
-                        @Parameter(description = "UUID de l'utilisateur dont on veut le feed", required = true) @PathVariable UUID userId) {
-                return feedService.getLatestFeedFull(userId);
+                        @Parameter(description = "UUID de l'utilisateur dont on veut le feed", required = true) @PathVariable UUID userId,
+                        @Parameter(description = "Renseigne likedByMe pour l'utilisateur connecté") @RequestParam(defaultValue = "false") boolean includeLikedByMe,
+                        @Parameter(description = "Ajoute les deux derniers commentaires de chaque review") @RequestParam(defaultValue = "false") boolean includeCommentPreview,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+                return enrich(feedService.getLatestFeedFull(userId), includeLikedByMe, includeCommentPreview, userDetails);
         }
 
         @Operation(summary = "Récupère le feed global (derniers matches notés par tout le monde)")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Liste des derniers matches globaux")
         })
-        @RateLimiter(name = "feedRateLimiter")
+        @RateLimited("feed")
         @GetMapping("/global")
         public List<UserMatchFullDto> getGlobalFeed(
-                        @Parameter(description = "Nombre d'éléments", example = "20") @RequestParam(defaultValue = "20") int limit) {
-                return feedService.getGlobalFeedFull(limit);
+                        @Parameter(description = "Nombre d'éléments", example = "20") @RequestParam(defaultValue = "20") int limit,
+                        @Parameter(description = "Renseigne likedByMe pour l'utilisateur connecté") @RequestParam(defaultValue = "false") boolean includeLikedByMe,
+                        @Parameter(description = "Ajoute les deux derniers commentaires de chaque review") @RequestParam(defaultValue = "false") boolean includeCommentPreview,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+                return enrich(feedService.getGlobalFeedFull(limit), includeLikedByMe, includeCommentPreview, userDetails);
+        }
+
+        /**
+         * Complète une page de reviews : compteurs de commentaires, et sur demande
+         * aperçu des commentaires et état du like de l'utilisateur connecté.
+         */
+        private List<UserMatchFullDto> enrich(List<UserMatchFullDto> reviews, boolean includeLikedByMe,
+                        boolean includeCommentPreview, UserDetails userDetails) {
+                reviewCommentService.fillCommentSummaries(reviews, includeCommentPreview);
+                if (includeLikedByMe && userDetails != null) {
+                        reviewLikeService.fillLikedByMe(reviews, userDetails.getUsername());
+                }
+                return reviews;
         }
 }
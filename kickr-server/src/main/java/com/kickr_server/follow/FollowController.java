@@ -3,7 +3,9 @@ package com.kickr_server.follow;
 import com.kickr_server.dto.User.UserDto;
 import com.kickr_server.dto.follow.FollowRequestDto;
 import com.kickr_server.dto.follow.FollowResponseDto;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import com.kickr_server.dto.follow.FollowSuggestionDto;
+import com.kickr_server.user.UserService;
+import com.kickr_server.ratelimit.RateLimited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,8 +15,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -23,13 +28,15 @@ import java.util.UUID;
 public class FollowController {
 
         private final FollowService followService;
+        private final FollowSuggestionService followSuggestionService;
+        private final UserService userService;
 
         @Operation(summary = "Faire suivre un utilisateur")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Utilisateur suivi avec succès"),
                         @ApiResponse(responseCode = "404", description = "Utilisateur introuvable")
         })
-        @RateLimiter(name = "followRateLimiter")
+        @RateLimited("follow")
         @PostMapping("/follow")
         public FollowResponseDto follow(@Valid @RequestBody FollowRequestDto request) {
                 followService.follow(request.followerId(), request.followedId());
@@ -41,7 +48,7 @@ public class FollowController {
                         @ApiResponse(responseCode = "200", description = "Utilisateur non suivi avec succès"),
                         @ApiResponse(responseCode = "404", description = "Utilisateur introuvable")
         })
-        @RateLimiter(name = "followRateLimiter")
+        @RateLimited("follow")
         @PostMapping("/unfollow")
         public FollowResponseDto unfollow(@Valid @RequestBody FollowRequestDto request) {
                 followService.unfollow(request.followerId(), request.followedId());
@@ -53,7 +60,7 @@ public class FollowController {
                         @ApiResponse(responseCode = "200", description = "Liste des utilisateurs suivis"),
                         @ApiResponse(responseCode = "404", description = "Utilisateur introuvable")
         })
-        @RateLimiter(name = "followRateLimiter")
+        @RateLimited("follow")
         @GetMapping("/following/{userId}")
         public Page<UserDto> getFollowing(
                         @Parameter(description = "UUID de l'utilisateur dont on veut la liste des suivis", required = true) @PathVariable UUID userId,
@@ -66,7 +73,7 @@ public class FollowController {
                         @ApiResponse(responseCode = "200", description = "Liste des followers"),
                         @ApiResponse(responseCode = "404", description = "Utilisateur introuvable")
         })
-        @RateLimiter(name = "followRateLimiter")
+        @RateLimited("follow")
         @GetMapping("/followers/{userId}")
         public Page<UserDto> getFollowers(
                         @Parameter(description = "UUID de l'utilisateur dont on veut la liste des followers", required = true) @PathVariable UUID userId,
@@ -78,11 +85,23 @@ public class FollowController {
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Statut de suivi retourné")
         })
-        @RateLimiter(name = "followRateLimiter")
+        @RateLimited("follow")
         @GetMapping("/is-following/{followerId}/{followedId}")
         public boolean isFollowing(
                         @Parameter(description = "UUID de l'utilisateur qui suit", required = true) @PathVariable UUID followerId,
                         @Parameter(description = "UUID de l'utilisateur suivi", required = true) @PathVariable UUID followedId) {
                 return followService.isFollowing(followerId, followedId);
         }
+
+        @Operation(summary = "Suggestions d'utilisateurs à suivre pour l'utilisateur connecté")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Suggestions précalculées, classées par pertinence"),
+                        @ApiResponse(responseCode = "401", description = "Utilisateur non authentifié")
+        })
+        @RateLimited("follow")
+        @GetMapping("/suggestions")
+        public List<FollowSuggestionDto> getSuggestions(@AuthenticationPrincipal UserDetails userDetails) {
+                return followSuggestionService.getSuggestions(
+                                userService.getUserByEmail(userDetails.getUsername()).getId());
+        }
 }
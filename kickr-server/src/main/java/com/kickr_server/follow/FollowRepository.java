@@ -3,7 +3,11 @@ package com.kickr_server.follow;
 import com.kickr_server.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,15 +19,19 @@ public interface FollowRepository extends JpaRepository<Follow, UUID> {
 
     List<Follow> findByFollower(User follower); // liste de gens que je suis
 
+    @EntityGraph(attributePaths = { "followed" })
     Page<Follow> findByFollower(User follower, Pageable pageable);
 
     List<Follow> findByFollowed(User followed); // liste de mes followers
 
+    @EntityGraph(attributePaths = { "follower" })
     Page<Follow> findByFollowed(User followed, Pageable pageable);
 
     long countByFollowerId(UUID followerId);
 
     long countByFollowedId(UUID followedId);
 
-    void deleteByFollowerAndFollowed(User follower, User followed);
+    @Modifying
+    @Query("DELETE FROM Follow f WHERE f.follower = :follower AND f.followed = :followed")
+    int deleteByFollowerAndFollowed(@Param("follower") User follower, @Param("followed") User followed);
 }
@@ -6,11 +6,11 @@ import com.kickr_server.exception.follow.FollowerNotFoundException;
 import com.kickr_server.exception.user.UserNotFoundException;
 import com.kickr_server.user.User;
 import com.kickr_server.user.UserRepository;
-import com.kickr_server.notification.NotificationType;
-import com.kickr_server.event.NotificationEvent;
+import com.kickr_server.event.FollowEvent;
+import com.kickr_server.outbox.OutboxEventType;
+import com.kickr_server.outbox.OutboxService;
 import com.kickr_server.user.UserService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -38,7 +38,8 @@ public class FollowService {
         private final FollowRepository followRepository;
         private final UserRepository userRepository;
         private final UserService userService;
-        private final ApplicationEventPublisher eventPublisher;
+        private final FollowSuggestionService followSuggestionService;
+        private final OutboxService outboxService;
 
         /**
          * Permet à un utilisateur de suivre un autre utilisateur.
@@ -63,14 +64,11 @@ public class FollowService {
                                 .follower(follower)
                                 .followed(followed)
                                 .build());
-
-                eventPublisher.publishEvent(new NotificationEvent(
-                                this,
-                                followed,
-                                follower,
-                                NotificationType.FOLLOW,
-                                follower.getName() + " started following you",
-                                follower.getId().toString()));
+                followSuggestionService.discard(followerId, followedId);
+                outboxService.append(OutboxEventType.FOLLOW_CREATED, followerId, new FollowEvent(
+                                followerId,
+                                followedId,
+                                follower.getName() + " started following you"));
         }
 
         /**
@@ -86,7 +84,10 @@ public class FollowService {
                                 .orElseThrow(() -> new FollowerNotFoundException("User not found"));
                 User followed = userRepository.findById(followedId)
                                 .orElseThrow(() -> new FollowedNotFoundException("User not found"));
-                followRepository.deleteByFollowerAndFollowed(follower, followed);
+                if (followRepository.deleteByFollowerAndFollowed(follower, followed) > 0) {
+                        outboxService.append(OutboxEventType.FOLLOW_DELETED, followerId,
+                                        new FollowEvent(followerId, followedId, null));
+                }
         }
 
         /**
@@ -106,16 +107,14 @@ public class FollowService {
         }
 
         public List<UserDto> getFollowingDtos(UUID userId) {
-                return getFollowing(userId).stream()
-                                .map(user -> userService.getUserDtoWithStats(user.getId()))
-                                .toList();
+                return userService.toDtosWithStats(getFollowing(userId));
         }
 
         public Page<UserDto> getFollowingDtos(UUID userId, Pageable pageable) {
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new UserNotFoundException("User not found"));
-                return followRepository.findByFollower(user, pageable)
-                                .map(follow -> userService.getUserDtoWithStats(follow.getFollowed().getId()));
+                return userService.toDtosWithStats(followRepository.findByFollower(user, pageable)
+                                .map(Follow::getFollowed));
         }
 
         /**
@@ -135,16 +134,14 @@ public class FollowService {
         }
 
         public List<UserDto> getFollowersDtos(UUID userId) {
-                return getFollowers(userId).stream()
-                                .map(user -> userService.getUserDtoWithStats(user.getId()))
-                                .toList();
+                return userService.toDtosWithStats(getFollowers(userId));
         }
 
         public Page<UserDto> getFollowersDtos(UUID userId, Pageable pageable) {
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new UserNotFoundException("User not found"));
-                return followRepository.findByFollowed(user, pageable)
-                                .map(follow -> userService.getUserDtoWithStats(follow.getFollower().getId()));
+                return userService.toDtosWithStats(followRepository.findByFollowed(user, pageable)
+                                .map(Follow::getFollower));
         }
 
         /**
@@ -0,0 +1,67 @@
+package com.kickr_server.follow;
+
+import com.kickr_server.user.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Suggestion d'utilisateur à suivre, précalculée par
+ * {@link FollowSuggestionService}.
+ * <p>
+ * Seuls les K meilleurs candidats de chaque utilisateur sont conservés, classés
+ * par {@code rank} croissant.
+ */
+@Entity
+@Table(name = "follow_suggestions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FollowSuggestion {
+
+    @Id
+    private UUID id;
+
+    /**
+     * Utilisateur à qui la suggestion est destinée.
+     */
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    /**
+     * Utilisateur suggéré.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "suggested_user_id", nullable = false)
+    private User suggestedUser;
+
+    /**
+     * Position dans le classement (0 = meilleure suggestion).
+     */
+    @Column(name = "suggestion_rank", nullable = false)
+    private int rank;
+
+    @Column(nullable = false)
+    private double score;
+
+    /**
+     * Nombre d'utilisateurs suivis qui suivent aussi le candidat.
+     */
+    @Column(name = "mutual_follows", nullable = false)
+    private int mutualFollows;
+
+    /**
+     * Nombre de matchs évalués par les deux utilisateurs.
+     */
+    @Column(name = "shared_matches", nullable = false)
+    private int sharedMatches;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
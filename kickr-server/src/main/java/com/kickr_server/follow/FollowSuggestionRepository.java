@@ -0,0 +1,23 @@
+package com.kickr_server.follow;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface FollowSuggestionRepository extends JpaRepository<FollowSuggestion, UUID> {
+
+    @EntityGraph(attributePaths = { "suggestedUser" })
+    List<FollowSuggestion> findByUserIdOrderByRankAsc(UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM FollowSuggestion s WHERE s.userId = :userId AND s.suggestedUser.id = :suggestedUserId")
+    int deleteByUserIdAndSuggestedUserId(@Param("userId") UUID userId,
+            @Param("suggestedUserId") UUID suggestedUserId);
+}
@@ -0,0 +1,298 @@
+package com.kickr_server.follow;
+
+import com.kickr_server.dto.User.UserDto;
+import com.kickr_server.dto.follow.FollowSuggestionDto;
+import com.kickr_server.user.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Calcule et sert les suggestions "qui suivre".
+ * <p>
+ * Un job planifié charge le graphe de suivi et les matchs évalués sous forme de
+ * tableaux d'entiers triés, puis, pour chaque utilisateur :
+ * <ul>
+ * <li>génère les candidats parmi les amis d'amis et les utilisateurs ayant
+ * évalué les mêmes matchs ;</li>
+ * <li>mesure les abonnements communs et les matchs partagés par intersection de
+ * tableaux triés ;</li>
+ * <li>conserve les K meilleurs candidats dans {@code follow_suggestions}.</li>
+ * </ul>
+ * La lecture des suggestions se limite ensuite à une requête indexée sur
+ * l'utilisateur.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FollowSuggestionService {
+
+    private static final double MUTUAL_FOLLOW_WEIGHT = 2.0;
+    private static final double SHARED_MATCH_WEIGHT = 1.0;
+    private static final int WRITE_CHUNK_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO follow_suggestions (id, user_id, suggested_user_id, suggestion_rank, score,
+                                            mutual_follows, shared_matches, computed_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private final FollowSuggestionRepository followSuggestionRepository;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${kickr.suggestions.top-k:20}")
+    private int topK;
+
+    /**
+     * Au-delà de ce nombre d'évaluations, un match est jugé trop populaire pour
+     * générer des candidats (il reste compté dans les matchs partagés).
+     */
+    @Value("${kickr.suggestions.max-raters-per-match:200}")
+    private int maxRatersPerMatch;
+
+    /**
+     * Récupère les suggestions précalculées d'un utilisateur.
+     *
+     * @param userId l'UUID de l'utilisateur
+     * @return suggestions classées, de la plus pertinente à la moins pertinente
+     */
+    @Transactional(readOnly = true)
+    public List<FollowSuggestionDto> getSuggestions(UUID userId) {
+        List<FollowSuggestion> suggestions = followSuggestionRepository.findByUserIdOrderByRankAsc(userId);
+        List<UserDto> users = userService.toDtosWithStats(suggestions.stream()
+                .map(FollowSuggestion::getSuggestedUser)
+                .toList());
+        return IntStream.range(0, suggestions.size())
+                .mapToObj(i -> new FollowSuggestionDto(users.get(i),
+                        suggestions.get(i).getMutualFollows(),
+                        suggestions.get(i).getSharedMatches()))
+                .toList();
+    }
+
+    /**
+     * Recalcule les suggestions de tous les utilisateurs.
+     */
+    @Scheduled(cron = "${kickr.suggestions.cron:0 0 5 * * *}")
+    public void recomputeAll() {
+        long start = System.currentTimeMillis();
+
+        List<UUID> userIds = jdbcTemplate.query("SELECT id FROM users",
+                (rs, rowNum) -> rs.getObject(1, UUID.class));
+        int n = userIds.size();
+        Map<UUID, Integer> userIndex = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            userIndex.put(userIds.get(i), i);
+        }
+
+        IntBuffer followers = new IntBuffer();
+        IntBuffer followeds = new IntBuffer();
+        jdbcTemplate.query("SELECT follower_id, followed_id FROM follows", rs -> {
+            Integer follower = userIndex.get(rs.getObject(1, UUID.class));
+            Integer followed = userIndex.get(rs.getObject(2, UUID.class));
+            if (follower != null && followed != null) {
+                followers.add(follower);
+                followeds.add(followed);
+            }
+        });
+
+        Map<UUID, Integer> matchIndex = new HashMap<>();
+        IntBuffer raters = new IntBuffer();
+        IntBuffer ratedMatches = new IntBuffer();
+        jdbcTemplate.query("SELECT DISTINCT user_id, match_id FROM user_matches", rs -> {
+            Integer user = userIndex.get(rs.getObject(1, UUID.class));
+            if (user != null) {
+                raters.add(user);
+                ratedMatches.add(matchIndex.computeIfAbsent(rs.getObject(2, UUID.class), k -> matchIndex.size()));
+            }
+        });
+
+        int[][] following = adjacency(n, followers, followeds);
+        int[][] followedBy = adjacency(n, followeds, followers);
+        int[][] matchesByUser = adjacency(n, raters, ratedMatches);
+        int[][] usersByMatch = adjacency(matchIndex.size(), ratedMatches, raters);
+
+        int[] seen = new int[n];
+        Arrays.fill(seen, -1);
+        LocalDateTime computedAt = LocalDateTime.now();
+        List<Integer> chunkUsers = new ArrayList<>(WRITE_CHUNK_SIZE);
+        List<Object[]> chunkRows = new ArrayList<>();
+        int written = 0;
+
+        for (int u = 0; u < n; u++) {
+            List<Candidate> top = rank(u, following, followedBy, matchesByUser, usersByMatch, seen);
+            for (int r = 0; r < top.size(); r++) {
+                Candidate c = top.get(r);
+                chunkRows.add(new Object[] { UUID.randomUUID(), userIds.get(u), userIds.get(c.user()), r,
+                        c.score(), c.mutualFollows(), c.sharedMatches(), Timestamp.valueOf(computedAt) });
+            }
+            chunkUsers.add(u);
+            if (chunkUsers.size() == WRITE_CHUNK_SIZE || u == n - 1) {
+                written += chunkRows.size();
+                writeChunk(chunkUsers.stream().map(userIds::get).toList(), chunkRows);
+                chunkUsers.clear();
+                chunkRows.clear();
+            }
+        }
+
+        log.info("Follow suggestions recomputed: {} users, {} suggestions in {} ms",
+                n, written, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Supprime une suggestion devenue obsolète (l'utilisateur suit désormais le
+     * candidat).
+     */
+    public void discard(UUID userId, UUID suggestedUserId) {
+        followSuggestionRepository.deleteByUserIdAndSuggestedUserId(userId, suggestedUserId);
+    }
+
+    private List<Candidate> rank(int u, int[][] following, int[][] followedBy, int[][] matchesByUser,
+            int[][] usersByMatch, int[] seen) {
+        int[] myFollowing = following[u];
+        int[] myMatches = matchesByUser[u];
+        IntBuffer candidates = new IntBuffer();
+        seen[u] = u;
+
+        for (int f : myFollowing) {
+            for (int c : following[f]) {
+                if (seen[c] != u && Arrays.binarySearch(myFollowing, c) < 0) {
+                    seen[c] = u;
+                    candidates.add(c);
+                }
+            }
+        }
+        for (int m : myMatches) {
+            int[] matchRaters = usersByMatch[m];
+            if (matchRaters.length > maxRatersPerMatch) {
+                continue;
+            }
+            for (int c : matchRaters) {
+                if (seen[c] != u && Arrays.binarySearch(myFollowing, c) < 0) {
+                    seen[c] = u;
+                    candidates.add(c);
+                }
+            }
+        }
+
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+        for (int i = 0; i < candidates.size(); i++) {
+            int c = candidates.get(i);
+            int mutual = intersectionSize(myFollowing, followedBy[c]);
+            int shared = intersectionSize(myMatches, matchesByUser[c]);
+            double score = mutual * MUTUAL_FOLLOW_WEIGHT + shared * SHARED_MATCH_WEIGHT;
+            if (heap.size() < topK) {
+                heap.add(new Candidate(c, score, mutual, shared));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new Candidate(c, score, mutual, shared));
+            }
+        }
+
+        List<Candidate> top = new ArrayList<>(heap);
+        top.sort(Comparator.comparingDouble(Candidate::score).reversed());
+        return top;
+    }
+
+    private void writeChunk(List<UUID> users, List<Object[]> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("DELETE FROM follow_suggestions WHERE user_id = ?",
+                    users.stream().map(id -> new Object[] { id }).toList());
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            }
+        });
+    }
+
+    /**
+     * Taille de l'intersection de deux tableaux triés sans doublons.
+     */
+    static int intersectionSize(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Construit une liste d'adjacence triée et dédoublonnée à partir d'arêtes
+     * {@code from[i] -> to[i]}.
+     */
+    private static int[][] adjacency(int size, IntBuffer from, IntBuffer to) {
+        int[] degree = new int[size];
+        for (int i = 0; i < from.size(); i++) {
+            degree[from.get(i)]++;
+        }
+        int[][] result = new int[size][];
+        for (int v = 0; v < size; v++) {
+            result[v] = new int[degree[v]];
+        }
+        int[] fill = new int[size];
+        for (int i = 0; i < from.size(); i++) {
+            int v = from.get(i);
+            result[v][fill[v]++] = to.get(i);
+        }
+        for (int v = 0; v < size; v++) {
+            int[] row = result[v];
+            Arrays.sort(row);
+            result[v] = Arrays.stream(row).distinct().toArray();
+        }
+        return result;
+    }
+
+    private record Candidate(int user, double score, int mutualFollows, int sharedMatches) {
+    }
+
+    /**
+     * Liste d'entiers primitifs extensible, pour éviter le boxing lors du
+     * chargement du graphe.
+     */
+    private static final class IntBuffer {
+
+        private int[] values = new int[64];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
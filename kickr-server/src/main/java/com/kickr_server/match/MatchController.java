@@ -1,7 +1,8 @@
 package com.kickr_server.match;
 
 import com.kickr_server.dto.match.MatchDto;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import com.kickr_server.ratelimit.ConcurrencyLimited;
+import com.kickr_server.ratelimit.RateLimited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,7 +18,7 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/api/matchs")
 @RequiredArgsConstructor
-@RateLimiter(name = "userMatchRateLimiter")
+@RateLimited("user-match")
 public class MatchController {
 
         private final MatchService matchService;
@@ -101,6 +102,7 @@ public class MatchController {
         }
 
         @Operation(summary = "Search matches with filters (league, status, sort)", tags = { "Public Match Data" })
+        @ConcurrencyLimited("search")
         @GetMapping("/search")
         public Page<MatchDto> searchMatches(
                         @Parameter(description = "Competition ID") @RequestParam(required = false) UUID competitionId,
@@ -11,6 +11,8 @@ import com.kickr_server.utils.DateTimeConverter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -30,6 +32,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -39,6 +42,7 @@ import java.util.stream.Collectors;
  * depuis l'API Football.
  */
 @Service
+@Slf4j
 public class MatchService {
 
         private static final int[] LEAGUE_IDS = {
@@ -58,11 +62,14 @@ public class MatchService {
         private final MatchDetailRepository matchDetailRepository;
         private final ObjectMapper objectMapper;
         private final TransactionTemplate transactionTemplate;
+        private final MatchSimilarityService matchSimilarityService;
+        private final SyncMetrics syncMetrics;
 
         public MatchService(RestTemplate restTemplate, AppConfig appConfig, MatchRepository matchRepository,
                         TeamRepository teamRepository, CompetitionRepository competitionRepository,
                         UserMatchRepository userMatchRepository, MatchDetailRepository matchDetailRepository,
-                        ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+                        ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                        MatchSimilarityService matchSimilarityService, SyncMetrics syncMetrics) {
                 this.restTemplate = restTemplate;
                 this.footballApiKey = appConfig.getFootballApiKey();
                 this.matchRepository = matchRepository;
@@ -71,6 +78,8 @@ public class MatchService {
                 this.userMatchRepository = userMatchRepository;
                 this.matchDetailRepository = matchDetailRepository;
                 this.objectMapper = objectMapper;
+                this.matchSimilarityService = matchSimilarityService;
+                this.syncMetrics = syncMetrics;
                 this.transactionTemplate = new TransactionTemplate(transactionManager);
                 this.transactionTemplate.setPropagationBehavior(
                                 org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW);
@@ -114,11 +123,13 @@ public class MatchService {
          * sans gérer les stages.
          */
         public void fetchAndSaveNextMatches() throws Exception {
-                System.out.println("🚀 Starting fetchAndSaveNextMatches...");
+                log.info("Starting fixtures sync");
                 if (footballApiKey == null || footballApiKey.equals("none")) {
-                        System.err.println("❌ ERROR: football.api.key is NOT set!");
+                        log.error("football.api.key is not set, skipping fixtures sync");
                         return;
                 }
+                Timer.Sample sample = syncMetrics.start();
+                boolean success = false;
                 try {
                         int season = 2025;
                         List<Integer> leagueIds = java.util.Arrays.stream(LEAGUE_IDS).boxed().toList();
@@ -130,8 +141,8 @@ public class MatchService {
                         List<Match> syncedMatches = new ArrayList<>();
                         for (Integer leagueId : leagueIds) {
                                 try {
-                                        System.out.println("🔄 Synchronisation ligue " + leagueId + " (Fenêtre "
-                                                        + fromDate + " -> " + toDate + ")...");
+                                        log.debug("Syncing fixtures of league {} ({} -> {})", leagueId, fromDate,
+                                                        toDate);
                                         java.net.URI uri = UriComponentsBuilder.fromUriString(apiUrl)
                                                         .queryParam("league", leagueId)
                                                         .queryParam("season", season)
@@ -153,19 +164,15 @@ public class MatchService {
                                         if (responseArray == null || !responseArray.isArray())
                                                 continue;
 
-                                        for (JsonNode fixtureNode : responseArray) {
-                                                processFixture(fixtureNode, syncedMatches);
-                                        }
+                                        processFixtures("fixtures", responseArray, syncedMatches);
 
                                 } catch (Exception e) {
-                                        System.out.println("⚠️ Erreur récupération fixtures pour la ligue " + leagueId
-                                                        + " : "
-                                                        + e.getMessage());
+                                        syncMetrics.recordLeagueFailure("fixtures");
+                                        log.warn("Failed to fetch fixtures of league {}: {}", leagueId, e.getMessage());
                                 }
 
                                 try {
-                                        System.out.println(
-                                                        "⏳ Attente de 6.5s pour respecter la limite API (10 req/min)...");
+                                        // Limite de l'API : 10 requêtes par minute.
                                         Thread.sleep(6500);
                                 } catch (InterruptedException ie) {
                                         Thread.currentThread().interrupt();
@@ -179,11 +186,14 @@ public class MatchService {
                                 fetchAndSaveMultipleMatchDetails(toEnrich);
                         }
 
-                        System.out.println("✅ Synchronisation des matchs terminée.");
+                        log.info("Fixtures sync complete: {} fixtures synced", syncedMatches.size());
+                        success = true;
 
                 } catch (Exception e) {
-                        System.err.println("❌ Erreur globale lors de la synchronisation : " + e.getMessage());
+                        log.error("Fixtures sync failed: {}", e.getMessage());
                         throw e;
+                } finally {
+                        syncMetrics.stop(sample, "fixtures", success);
                 }
         }
 
@@ -197,10 +207,20 @@ public class MatchService {
                 int season = 2025;
                 String apiUrl = "https://v3.football.api-sports.io/fixtures";
 
+                Timer.Sample sample = syncMetrics.start();
+                boolean success = false;
+                try {
+                        syncTournaments(tournamentIds, season, apiUrl);
+                        success = true;
+                } finally {
+                        syncMetrics.stop(sample, "tournaments", success);
+                }
+        }
+
+        private void syncTournaments(int[] tournamentIds, int season, String apiUrl) throws InterruptedException {
                 for (int leagueId : tournamentIds) {
                         try {
-                                System.out.println("🌍 [Tournament] Synchronisation complète saison 2025 pour ligue "
-                                                + leagueId + "...");
+                                log.info("Syncing full {} season of tournament {}", season, leagueId);
                                 java.net.URI uri = UriComponentsBuilder.fromUriString(apiUrl)
                                                 .queryParam("league", leagueId)
                                                 .queryParam("season", season)
@@ -221,15 +241,12 @@ public class MatchService {
                                         continue;
 
                                 List<Match> syncedMatches = new ArrayList<>();
-                                for (JsonNode fixtureNode : responseArray) {
-                                        processFixture(fixtureNode, syncedMatches);
-                                }
-                                System.out.println("✅ " + syncedMatches.size() + " matchs synchronisés pour le tournoi "
-                                                + leagueId);
+                                processFixtures("tournaments", responseArray, syncedMatches);
+                                log.info("{} fixtures synced for tournament {}", syncedMatches.size(), leagueId);
 
                         } catch (Exception e) {
-                                System.err.println("❌ Erreur lors de la synchro tournament " + leagueId + " : "
-                                                + e.getMessage());
+                                syncMetrics.recordLeagueFailure("tournaments");
+                                log.error("Failed to sync tournament {}: {}", leagueId, e.getMessage());
                         }
 
                         Thread.sleep(6500);
@@ -245,33 +262,47 @@ public class MatchService {
                                 syncStandings(id, season);
                                 Thread.sleep(6500);
                         } catch (Exception e) {
-                                System.err.println("❌ Erreur synchro standings " + id + " : " + e.getMessage());
+                                log.error("Failed to sync standings of league {}: {}", id, e.getMessage());
                         }
                 }
         }
 
-        @Async
+        @Async("syncExecutor")
         public void syncAllStandingsAsync(Integer season) {
                 try {
-                        System.out.println("🔄 Starting background standings sync for all leagues...");
+                        log.info("Starting background standings sync for all leagues");
                         syncAllMajorStandings(season);
-                        System.out.println("✅ Background standings sync complete.");
+                        log.info("Background standings sync complete");
                 } catch (Exception e) {
-                        System.err.println("❌ Background standings sync failed: " + e.getMessage());
+                        log.error("Background standings sync failed: {}", e.getMessage());
                 }
         }
 
         @Scheduled(cron = "0 0 4 * * *") // Every day at 4 AM
         public void dailyStandingsSync() {
                 try {
-                        System.out.println("🕒 Daily Standings Sync Triggered...");
+                        log.info("Daily standings sync triggered");
                         syncAllMajorStandings(2025);
                 } catch (Exception e) {
-                        System.err.println("❌ Daily standings sync failed: " + e.getMessage());
+                        log.error("Daily standings sync failed: {}", e.getMessage());
                 }
         }
 
         public void syncStandings(Integer leagueId, Integer season) throws Exception {
+                Timer.Sample sample = syncMetrics.start();
+                boolean success = false;
+                try {
+                        fetchAndSaveStandings(leagueId, season);
+                        success = true;
+                } catch (Exception e) {
+                        syncMetrics.recordLeagueFailure("standings");
+                        throw e;
+                } finally {
+                        syncMetrics.stop(sample, "standings", success);
+                }
+        }
+
+        private void fetchAndSaveStandings(Integer leagueId, Integer season) throws Exception {
                 String apiUrl = "https://v3.football.api-sports.io/standings";
                 java.net.URI uri = UriComponentsBuilder.fromUriString(apiUrl)
                                 .queryParam("league", leagueId)
@@ -305,7 +336,8 @@ public class MatchService {
                                         }
                                 }
                         } catch (Exception e) {
-                                System.err.println("⚠️ Error creating teams from standings: " + e.getMessage());
+                                log.warn("Failed to create teams from standings of league {}: {}", leagueId,
+                                                e.getMessage());
                         }
                 }
         }
@@ -327,11 +359,26 @@ public class MatchService {
                                         .competition(competition)
                                         .build();
                         teamRepository.save(team);
-                        System.out.println("🆕 Created team from standings: " + name + " (" + extId + ")");
+                        log.info("Created team from standings: {} ({})", name, extId);
+                }
+        }
+
+        /**
+         * Enregistre les fixtures d'une réponse de l'API et les comptabilise dans
+         * les métriques de la synchronisation {@code job}.
+         *
+         * @return nombre de fixtures traitées
+         */
+        private int processFixtures(String job, JsonNode fixtures, List<Match> syncedMatches) {
+                int processed = 0;
+                for (JsonNode fixtureNode : fixtures) {
+                        syncMetrics.recordFixture(job, processFixture(fixtureNode, syncedMatches));
+                        processed++;
                 }
+                return processed;
         }
 
-        private void processFixture(JsonNode fixtureNode, List<Match> syncedMatches) {
+        private SyncMetrics.FixtureResult processFixture(JsonNode fixtureNode, List<Match> syncedMatches) {
                 try {
                         JsonNode teams = fixtureNode.get("teams");
                         JsonNode fixture = fixtureNode.get("fixture");
@@ -394,6 +441,19 @@ public class MatchService {
                         Match match = matchRepository.findByExternalFixtureId(externalId)
                                         .orElse(new Match());
 
+                        Integer homeScore = goals.path("home").isNull() ? null : goals.path("home").asInt();
+                        Integer awayScore = goals.path("away").isNull() ? null : goals.path("away").asInt();
+                        boolean changed = match.getId() == null
+                                        || !Objects.equals(match.getMatchDate(), matchDate)
+                                        || !Objects.equals(match.getLocation(), location)
+                                        || !Objects.equals(match.getRound(), round)
+                                        || !Objects.equals(match.getHomeScore(), homeScore)
+                                        || !Objects.equals(match.getAwayScore(), awayScore)
+                                        || match.getHomeTeam() == null
+                                        || !Objects.equals(match.getHomeTeam().getId(), homeTeam.getId())
+                                        || match.getAwayTeam() == null
+                                        || !Objects.equals(match.getAwayTeam().getId(), awayTeam.getId());
+
                         match.setExternalFixtureId(externalId);
                         match.setHomeTeam(homeTeam);
                         match.setAwayTeam(awayTeam);
@@ -401,12 +461,14 @@ public class MatchService {
                         match.setCompetition(competition);
                         match.setLocation(location);
                         match.setRound(round);
-                        match.setHomeScore(goals.path("home").isNull() ? null : goals.path("home").asInt());
-                        match.setAwayScore(goals.path("away").isNull() ? null : goals.path("away").asInt());
+                        match.setHomeScore(homeScore);
+                        match.setAwayScore(awayScore);
 
                         syncedMatches.add(matchRepository.save(match));
+                        return changed ? SyncMetrics.FixtureResult.CHANGED : SyncMetrics.FixtureResult.UNCHANGED;
                 } catch (Exception e) {
-                        System.err.println("⚠️ Erreur sur une fixture : " + e.getMessage());
+                        log.warn("Failed to process fixture: {}", e.getMessage());
+                        return SyncMetrics.FixtureResult.FAILED;
                 }
         }
 
@@ -497,11 +559,12 @@ public class MatchService {
 
                                         List<Object[]> stats = userMatchRepository
                                                         .findStatsByMatchIds(List.of(m.getId()));
-                                        if (!stats.isEmpty()) {
-                                                return MatchDto.fromEntityWithStats(m, (Double) stats.get(0)[1],
-                                                                (Long) stats.get(0)[2]);
-                                        }
-                                        return MatchDto.fromEntity(m);
+                                        MatchDto dto = stats.isEmpty()
+                                                        ? MatchDto.fromEntity(m)
+                                                        : MatchDto.fromEntityWithStats(m, (Double) stats.get(0)[1],
+                                                                        (Long) stats.get(0)[2]);
+                                        dto.setSimilarMatches(matchSimilarityService.getSimilarMatches(m.getId()));
+                                        return dto;
                                 });
         }
 
@@ -563,10 +626,14 @@ public class MatchService {
         }
 
         public void fetchAndSaveMatchDetail(Match match) {
+                Timer.Sample sample = syncMetrics.start();
+                boolean success = false;
                 try {
                         Integer fixtureId = match.getExternalFixtureId();
-                        if (fixtureId == null)
+                        if (fixtureId == null) {
+                                success = true;
                                 return;
+                        }
 
                         String baseUrl = "https://v3.football.api-sports.io/fixtures?id=" + fixtureId;
                         HttpHeaders headers = new HttpHeaders();
@@ -577,6 +644,7 @@ public class MatchService {
                                         .getBody();
 
                         if (response == null || !response.has("response") || response.get("response").isEmpty()) {
+                                success = true;
                                 return;
                         }
 
@@ -592,17 +660,22 @@ public class MatchService {
                         detail.setEvents(fixtureData.get("events"));
 
                         matchDetailRepository.save(detail);
+                        success = true;
 
                 } catch (Exception e) {
-                        System.err.println("❌ Erreur lors de la récupération des détails du match "
-                                        + match.getExternalFixtureId() + " : " + e.getMessage());
+                        log.error("Failed to fetch details of match {}: {}", match.getExternalFixtureId(),
+                                        e.getMessage());
+                } finally {
+                        syncMetrics.stop(sample, "match_detail", success);
                 }
         }
 
         @Scheduled(cron = "0 5 0/6 * * *")
         public void scheduledGlobalSync() {
+                Timer.Sample sample = syncMetrics.start();
+                boolean success = false;
                 try {
-                        System.out.println("🕒 Lancement de la synchronisation planifiée (Scores & Classements)...");
+                        log.info("Starting scheduled sync (scores and standings)");
                         // 1. Sync match scores/fixtures (All)
                         fetchAndSaveNextMatches();
 
@@ -614,12 +687,14 @@ public class MatchService {
                                         syncStandings(leagueId, season);
                                         Thread.sleep(2000); // Small pause to respect API rate limits
                                 } catch (Exception e) {
-                                        System.err.println("❌ Standings sync skip for " + leagueId + ": "
-                                                        + e.getMessage());
+                                        log.warn("Skipping standings of league {}: {}", leagueId, e.getMessage());
                                 }
                         }
+                        success = true;
                 } catch (Exception e) {
-                        System.err.println("❌ Erreur lors de la sync planifiée : " + e.getMessage());
+                        log.error("Scheduled sync failed: {}", e.getMessage());
+                } finally {
+                        syncMetrics.stop(sample, "scheduled_global", success);
                 }
         }
 
@@ -641,6 +716,8 @@ public class MatchService {
         }
 
         public void fetchAndSaveMultipleMatchDetails(List<Match> matches) {
+                Timer.Sample sample = syncMetrics.start();
+                boolean success = false;
                 try {
                         String ids = matches.stream()
                                         .map(m -> m.getExternalFixtureId().toString())
@@ -662,6 +739,7 @@ public class MatchService {
                         JsonNode response = responseEntity.getBody();
 
                         if (response == null || !response.has("response")) {
+                                success = true;
                                 return;
                         }
 
@@ -687,13 +765,18 @@ public class MatchService {
                                                 });
                                                 return null;
                                         });
+                                        syncMetrics.recordDetail(true);
                                 } catch (Exception e) {
-                                        System.err.println("❌ Erreur lors du traitement du match " + externalId + " : "
-                                                        + e.getMessage());
+                                        syncMetrics.recordDetail(false);
+                                        log.error("Failed to save details of match {}: {}", externalId, e.getMessage());
                                 }
                         }
+                        success = true;
                 } catch (Exception e) {
-                        System.err.println("❌ Erreur lors de la récupération groupée des détails : " + e.getMessage());
+                        log.error("Failed to fetch match details batch: {}", e.getMessage());
+                } finally {
+                        syncMetrics.recordDetailBatch(success);
+                        syncMetrics.stop(sample, "detail_batch", success);
                 }
         }
 
@@ -703,8 +786,10 @@ public class MatchService {
          * @param fromDate Start date (e.g., "2025-08-01")
          * @param toDate   End date (e.g., today)
          */
-        @Async
+        @Async("maintenanceExecutor")
         public void backfillHistoricalMatches(String fromDate, String toDate) throws Exception {
+                Timer.Sample sample = syncMetrics.start();
+                boolean success = false;
                 try {
                         int season = 2025;
                         List<Integer> leagueIds = java.util.Arrays.stream(LEAGUE_IDS).boxed().toList();
@@ -713,14 +798,14 @@ public class MatchService {
                         List<Match> allMatches = new ArrayList<>();
                         int totalProcessed = 0;
 
-                        System.out.println("🔄 Starting historical backfill: " + fromDate + " → " + toDate);
-                        System.out.println("🔑 Using API Key: " + (footballApiKey != null && footballApiKey.length() > 4
-                                        ? footballApiKey.substring(0, 4) + "..."
-                                        : "invalid/none"));
+                        log.info("Starting historical backfill: {} -> {} (API key {})", fromDate, toDate,
+                                        footballApiKey != null && footballApiKey.length() > 4
+                                                        ? footballApiKey.substring(0, 4) + "..."
+                                                        : "invalid/none");
 
                         for (Integer leagueId : leagueIds) {
                                 try {
-                                        System.out.println("📥 Backfilling League " + leagueId + "...");
+                                        log.info("Backfilling league {}", leagueId);
 
                                         java.net.URI uri = UriComponentsBuilder.fromUriString(apiUrl)
                                                         .queryParam("league", leagueId)
@@ -741,25 +826,20 @@ public class MatchService {
                                         JsonNode fixtures = root.get("response");
 
                                         if (fixtures != null && fixtures.isArray()) {
-                                                int leagueCount = 0;
-                                                for (JsonNode fixture : fixtures) {
-                                                        processFixture(fixture, allMatches);
-                                                        leagueCount++;
-                                                }
+                                                int leagueCount = processFixtures("backfill", fixtures, allMatches);
                                                 totalProcessed += leagueCount;
-                                                System.out.println("   ✓ " + leagueCount
-                                                                + " matches processed for league " + leagueId);
+                                                log.info("{} fixtures processed for league {}", leagueCount, leagueId);
                                         }
 
                                         Thread.sleep(6500);
 
                                 } catch (Exception e) {
-                                        System.err.println("⚠️ Error backfilling league " + leagueId + ": "
-                                                        + e.getMessage());
+                                        syncMetrics.recordLeagueFailure("backfill");
+                                        log.warn("Failed to backfill league {}: {}", leagueId, e.getMessage());
                                 }
                         }
 
-                        System.out.println("📊 Total fixtures processed: " + totalProcessed);
+                        log.info("Total fixtures processed: {}", totalProcessed);
 
                         // Enrich finished matches with lineups (batch by 20)
                         List<Match> finishedMatches = allMatches.stream()
@@ -777,15 +857,13 @@ public class MatchService {
 
                         int alreadyEnriched = finishedMatches.size() - matchesNeedingLineups.size();
                         if (alreadyEnriched > 0) {
-                                System.out.println("⏭️  Skipping " + alreadyEnriched
-                                                + " matches that already have lineups");
+                                log.info("Skipping {} matches that already have lineups", alreadyEnriched);
                         }
 
                         if (matchesNeedingLineups.isEmpty()) {
-                                System.out.println("✅ All finished matches already have lineups!");
+                                log.info("All finished matches already have lineups");
                         } else {
-                                System.out.println("🔍 Enriching " + matchesNeedingLineups.size()
-                                                + " matches with lineups...");
+                                log.info("Enriching {} matches with lineups", matchesNeedingLineups.size());
 
                                 int enriched = 0;
                                 for (int i = 0; i < matchesNeedingLineups.size(); i += 20) {
@@ -793,19 +871,20 @@ public class MatchService {
                                                         Math.min(i + 20, matchesNeedingLineups.size()));
                                         fetchAndSaveMultipleMatchDetails(batch);
                                         enriched += batch.size();
-                                        System.out.println("   ✓ Enriched " + enriched + "/"
-                                                        + matchesNeedingLineups.size() + " matches");
+                                        log.info("Enriched {}/{} matches", enriched, matchesNeedingLineups.size());
                                         Thread.sleep(6500);
                                 }
                         }
 
-                        System.out.println("✅ Backfill complete! Total: " + totalProcessed + " matches, "
-                                        + matchesNeedingLineups.size() + " newly enriched, "
-                                        + alreadyEnriched + " already had lineups");
+                        log.info("Backfill complete: {} fixtures, {} newly enriched, {} already had lineups",
+                                        totalProcessed, matchesNeedingLineups.size(), alreadyEnriched);
+                        success = true;
 
                 } catch (Exception e) {
-                        System.err.println("❌ Backfill failed: " + e.getMessage());
+                        log.error("Backfill failed: {}", e.getMessage());
                         throw e;
+                } finally {
+                        syncMetrics.stop(sample, "backfill", success);
                 }
         }
 
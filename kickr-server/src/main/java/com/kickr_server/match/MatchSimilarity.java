@@ -0,0 +1,60 @@
+package com.kickr_server.match;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Voisin d'un match au sens des évaluations ("les fans qui ont noté ce match
+ * ont aussi noté"), précalculé par {@link MatchSimilarityService}.
+ */
+@Entity
+@Table(name = "match_similarities")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MatchSimilarity {
+
+    @Id
+    private UUID id;
+
+    /**
+     * Match de référence.
+     */
+    @Column(name = "match_id", nullable = false)
+    private UUID matchId;
+
+    /**
+     * Match similaire.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "similar_match_id", nullable = false)
+    private Match similarMatch;
+
+    /**
+     * Position dans la liste des voisins (0 = le plus similaire).
+     */
+    @Column(name = "similarity_rank", nullable = false)
+    private int rank;
+
+    /**
+     * Similarité cosinus entre les vecteurs de notes des deux matchs.
+     */
+    @Column(nullable = false)
+    private double score;
+
+    /**
+     * Nombre d'utilisateurs ayant noté les deux matchs.
+     */
+    @Column(name = "co_ratings", nullable = false)
+    private int coRatings;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
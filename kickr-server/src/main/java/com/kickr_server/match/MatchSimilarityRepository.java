@@ -0,0 +1,24 @@
+package com.kickr_server.match;
+
+import com.kickr_server.dto.match.SimilarMatchDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MatchSimilarityRepository extends JpaRepository<MatchSimilarity, UUID> {
+
+    /**
+     * Récupère les voisins d'un match, projetés directement en DTO pour éviter
+     * de charger les entités {@link Match} et leurs détails.
+     */
+    @Query("SELECT new com.kickr_server.dto.match.SimilarMatchDto(m.id, m.externalFixtureId, "
+            + "ht.name, ht.logoUrl, at.name, at.logoUrl, m.matchDate, m.homeScore, m.awayScore, s.score) "
+            + "FROM MatchSimilarity s JOIN s.similarMatch m JOIN m.homeTeam ht JOIN m.awayTeam at "
+            + "WHERE s.matchId = :matchId ORDER BY s.rank ASC")
+    List<SimilarMatchDto> findNeighbors(@Param("matchId") UUID matchId);
+}
@@ -0,0 +1,396 @@
+package com.kickr_server.match;
+
+import com.kickr_server.dto.match.SimilarMatchDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recommandations "les fans qui ont noté ce match ont aussi noté".
+ * <p>
+ * Chaque match est représenté par un vecteur creux de notes indexé par
+ * utilisateur, stocké en tableaux primitifs (format CSR). Les K voisins les plus
+ * proches au sens de la similarité cosinus sont calculés en parallèle sur un
+ * {@link ForkJoinPool} dédié puis persistés dans {@code match_similarities}.
+ * <p>
+ * Le passage horaire est incrémental : seuls les matchs dont des reviews ont été
+ * créées ou modifiées depuis le dernier passage ({@code updated_at}), et les
+ * matchs qui partagent un évaluateur avec eux, sont recalculés. Un passage
+ * complet hebdomadaire prend en compte les suppressions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MatchSimilarityService {
+
+    static final String JOB_NAME = "match-similarities";
+
+    /**
+     * Recouvrement appliqué au point de reprise pour ne pas manquer les reviews
+     * validées pendant un passage. Retraiter un match est sans effet de bord.
+     */
+    private static final long WATERMARK_OVERLAP_MINUTES = 5;
+    private static final int WRITE_CHUNK_SIZE = 200;
+    private static final int LEAF_SIZE = 64;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO match_similarities (id, match_id, similar_match_id, similarity_rank, score,
+                                            co_ratings, computed_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    private final MatchSimilarityRepository matchSimilarityRepository;
+    private final JobWatermarkRepository jobWatermarkRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    @Value("${kickr.recommendations.top-k:10}")
+    private int topK;
+
+    /**
+     * Nombre minimal d'évaluateurs communs pour retenir un voisin.
+     */
+    @Value("${kickr.recommendations.min-co-ratings:2}")
+    private int minCoRatings;
+
+    /**
+     * Parallélisme du pool de calcul (0 = nombre de processeurs).
+     */
+    @Value("${kickr.recommendations.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * Récupère les matchs similaires précalculés.
+     *
+     * @param matchId l'UUID du match
+     * @return voisins classés par similarité décroissante
+     */
+    public List<SimilarMatchDto> getSimilarMatches(UUID matchId) {
+        return matchSimilarityRepository.findNeighbors(matchId);
+    }
+
+    /**
+     * Recalcule les voisins des matchs touchés par des reviews récentes.
+     */
+    @Scheduled(cron = "${kickr.recommendations.incremental-cron:0 20 * * * *}")
+    public void incrementalRun() {
+        run(false);
+    }
+
+    /**
+     * Recalcule les voisins de tous les matchs.
+     */
+    @Scheduled(cron = "${kickr.recommendations.full-cron:0 40 4 * * SUN}")
+    public void fullRun() {
+        run(true);
+    }
+
+    // Un seul calcul à la fois, sans épingler de thread virtuel.
+    private void run(boolean full) {
+        runLock.lock();
+        try {
+            compute(full);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private void compute(boolean full) {
+        long start = System.currentTimeMillis();
+        LocalDateTime nextWatermark = LocalDateTime.now().minusMinutes(WATERMARK_OVERLAP_MINUTES);
+        LocalDateTime watermark = full ? null
+                : jobWatermarkRepository.findById(JOB_NAME).map(JobWatermark::getWatermark).orElse(null);
+
+        List<UUID> changedMatches = List.of();
+        if (watermark != null) {
+            changedMatches = jdbcTemplate.query(
+                    "SELECT DISTINCT match_id FROM user_matches WHERE updated_at > ?",
+                    (rs, rowNum) -> rs.getObject(1, UUID.class), Timestamp.valueOf(watermark));
+            if (changedMatches.isEmpty()) {
+                saveWatermark(nextWatermark);
+                return;
+            }
+        }
+
+        RatingMatrix matrix = loadRatings();
+        int[] targets = watermark == null
+                ? allRatedMatches(matrix)
+                : affectedMatches(matrix, changedMatches);
+
+        Neighbor[][] neighbors = new Neighbor[targets.length][];
+        ForkJoinPool pool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            pool.invoke(new SimilarityTask(matrix, targets, neighbors, 0, targets.length));
+        } finally {
+            pool.shutdown();
+        }
+
+        persist(matrix, targets, neighbors);
+        if (watermark == null) {
+            jdbcTemplate.update("DELETE FROM match_similarities WHERE match_id NOT IN "
+                    + "(SELECT DISTINCT match_id FROM user_matches)");
+        }
+        saveWatermark(nextWatermark);
+
+        log.info("Match similarities {} run: {} matches recomputed in {} ms",
+                watermark == null ? "full" : "incremental", targets.length, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Charge la note moyenne de chaque couple (utilisateur, match) sous forme de
+     * deux matrices creuses : match x utilisateur et utilisateur x match.
+     */
+    private RatingMatrix loadRatings() {
+        Map<UUID, Integer> matchIndex = new HashMap<>();
+        Map<UUID, Integer> userIndex = new HashMap<>();
+        List<UUID> matchIds = new ArrayList<>();
+        int[][] triplets = { new int[1024], new int[1024] };
+        float[][] values = { new float[1024] };
+        int[] size = { 0 };
+
+        jdbcTemplate.query("SELECT match_id, user_id, AVG(note) FROM user_matches GROUP BY match_id, user_id", rs -> {
+            UUID matchId = rs.getObject(1, UUID.class);
+            int m = matchIndex.computeIfAbsent(matchId, k -> {
+                matchIds.add(k);
+                return matchIds.size() - 1;
+            });
+            int u = userIndex.computeIfAbsent(rs.getObject(2, UUID.class), k -> userIndex.size());
+            if (size[0] == triplets[0].length) {
+                triplets[0] = Arrays.copyOf(triplets[0], size[0] * 2);
+                triplets[1] = Arrays.copyOf(triplets[1], size[0] * 2);
+                values[0] = Arrays.copyOf(values[0], size[0] * 2);
+            }
+            triplets[0][size[0]] = m;
+            triplets[1][size[0]] = u;
+            values[0][size[0]] = rs.getFloat(3);
+            size[0]++;
+        });
+
+        SparseRows byMatch = SparseRows.of(matchIds.size(), triplets[0], triplets[1], values[0], size[0]);
+        SparseRows byUser = SparseRows.of(userIndex.size(), triplets[1], triplets[0], values[0], size[0]);
+        double[] norms = new double[matchIds.size()];
+        for (int m = 0; m < norms.length; m++) {
+            double sum = 0;
+            for (int k = byMatch.offsets[m]; k < byMatch.offsets[m + 1]; k++) {
+                sum += (double) byMatch.values[k] * byMatch.values[k];
+            }
+            norms[m] = Math.sqrt(sum);
+        }
+        return new RatingMatrix(matchIds, matchIndex, byMatch, byUser, norms);
+    }
+
+    private static int[] allRatedMatches(RatingMatrix matrix) {
+        int[] all = new int[matrix.matchIds().size()];
+        Arrays.setAll(all, i -> i);
+        return all;
+    }
+
+    /**
+     * Les matchs modifiés et tous ceux qui partagent au moins un évaluateur avec
+     * eux : ce sont les seuls dont la liste de voisins peut avoir changé.
+     */
+    private static int[] affectedMatches(RatingMatrix matrix, List<UUID> changedMatches) {
+        boolean[] affected = new boolean[matrix.matchIds().size()];
+        SparseRows byMatch = matrix.byMatch();
+        SparseRows byUser = matrix.byUser();
+        for (UUID matchId : changedMatches) {
+            Integer m = matrix.matchIndex().get(matchId);
+            if (m == null) {
+                continue;
+            }
+            affected[m] = true;
+            for (int k = byMatch.offsets[m]; k < byMatch.offsets[m + 1]; k++) {
+                int u = byMatch.columns[k];
+                for (int j = byUser.offsets[u]; j < byUser.offsets[u + 1]; j++) {
+                    affected[byUser.columns[j]] = true;
+                }
+            }
+        }
+        int count = 0;
+        for (boolean a : affected) {
+            if (a) {
+                count++;
+            }
+        }
+        int[] targets = new int[count];
+        for (int m = 0, i = 0; m < affected.length; m++) {
+            if (affected[m]) {
+                targets[i++] = m;
+            }
+        }
+        return targets;
+    }
+
+    private void persist(RatingMatrix matrix, int[] targets, Neighbor[][] neighbors) {
+        Timestamp computedAt = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < targets.length; from += WRITE_CHUNK_SIZE) {
+            int to = Math.min(from + WRITE_CHUNK_SIZE, targets.length);
+            List<Object[]> deletes = new ArrayList<>(to - from);
+            List<Object[]> inserts = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                UUID matchId = matrix.matchIds().get(targets[i]);
+                deletes.add(new Object[] { matchId });
+                for (int r = 0; r < neighbors[i].length; r++) {
+                    Neighbor n = neighbors[i][r];
+                    inserts.add(new Object[] { UUID.randomUUID(), matchId, matrix.matchIds().get(n.match()), r,
+                            n.score(), n.coRatings(), computedAt });
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate("DELETE FROM match_similarities WHERE match_id = ?", deletes);
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+                }
+            });
+        }
+    }
+
+    private void saveWatermark(LocalDateTime watermark) {
+        jobWatermarkRepository.save(new JobWatermark(JOB_NAME, watermark, LocalDateTime.now()));
+    }
+
+    /**
+     * Calcule les voisins d'une plage de matchs cibles, en la découpant
+     * récursivement. Chaque feuille alloue ses propres accumulateurs denses,
+     * réutilisés d'un match à l'autre.
+     */
+    private final class SimilarityTask extends RecursiveAction {
+
+        private final RatingMatrix matrix;
+        private final int[] targets;
+        private final Neighbor[][] results;
+        private final int from;
+        private final int to;
+
+        SimilarityTask(RatingMatrix matrix, int[] targets, Neighbor[][] results, int from, int to) {
+            this.matrix = matrix;
+            this.targets = targets;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SimilarityTask(matrix, targets, results, from, mid),
+                        new SimilarityTask(matrix, targets, results, mid, to));
+                return;
+            }
+            int matchCount = matrix.matchIds().size();
+            double[] dot = new double[matchCount];
+            int[] coRatings = new int[matchCount];
+            int[] touched = new int[matchCount];
+            for (int i = from; i < to; i++) {
+                results[i] = neighborsOf(targets[i], dot, coRatings, touched);
+            }
+        }
+
+        private Neighbor[] neighborsOf(int a, double[] dot, int[] coRatings, int[] touched) {
+            SparseRows byMatch = matrix.byMatch();
+            SparseRows byUser = matrix.byUser();
+            int touchedCount = 0;
+
+            for (int k = byMatch.offsets[a]; k < byMatch.offsets[a + 1]; k++) {
+                int u = byMatch.columns[k];
+                float rating = byMatch.values[k];
+                for (int j = byUser.offsets[u]; j < byUser.offsets[u + 1]; j++) {
+                    int c = byUser.columns[j];
+                    if (c == a) {
+                        continue;
+                    }
+                    if (coRatings[c] == 0) {
+                        touched[touchedCount++] = c;
+                    }
+                    coRatings[c]++;
+                    dot[c] += (double) rating * byUser.values[j];
+                }
+            }
+
+            PriorityQueue<Neighbor> heap = new PriorityQueue<>(Comparator.comparingDouble(Neighbor::score));
+            double[] norms = matrix.norms();
+            for (int t = 0; t < touchedCount; t++) {
+                int c = touched[t];
+                if (coRatings[c] >= minCoRatings && norms[a] > 0 && norms[c] > 0) {
+                    double score = dot[c] / (norms[a] * norms[c]);
+                    if (heap.size() < topK) {
+                        heap.add(new Neighbor(c, score, coRatings[c]));
+                    } else if (score > heap.peek().score()) {
+                        heap.poll();
+                        heap.add(new Neighbor(c, score, coRatings[c]));
+                    }
+                }
+                dot[c] = 0;
+                coRatings[c] = 0;
+            }
+
+            Neighbor[] sorted = heap.toArray(new Neighbor[0]);
+            Arrays.sort(sorted, Comparator.comparingDouble(Neighbor::score).reversed());
+            return sorted;
+        }
+    }
+
+    private record Neighbor(int match, double score, int coRatings) {
+    }
+
+    private record RatingMatrix(List<UUID> matchIds, Map<UUID, Integer> matchIndex, SparseRows byMatch,
+            SparseRows byUser, double[] norms) {
+    }
+
+    /**
+     * Matrice creuse au format CSR : les colonnes et valeurs de la ligne
+     * {@code r} sont aux positions {@code [offsets[r], offsets[r + 1])}.
+     */
+    private static final class SparseRows {
+
+        private final int[] offsets;
+        private final int[] columns;
+        private final float[] values;
+
+        private SparseRows(int[] offsets, int[] columns, float[] values) {
+            this.offsets = offsets;
+            this.columns = columns;
+            this.values = values;
+        }
+
+        static SparseRows of(int rowCount, int[] rows, int[] cols, float[] vals, int size) {
+            int[] offsets = new int[rowCount + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[rows[i] + 1]++;
+            }
+            for (int r = 0; r < rowCount; r++) {
+                offsets[r + 1] += offsets[r];
+            }
+            int[] fill = Arrays.copyOf(offsets, rowCount);
+            int[] columns = new int[size];
+            float[] values = new float[size];
+            for (int i = 0; i < size; i++) {
+                int position = fill[rows[i]]++;
+                columns[position] = cols[i];
+                values[position] = vals[i];
+            }
+            return new SparseRows(offsets, columns, values);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.kickr_server.match;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métriques des synchronisations avec l'API Football.
+ * <ul>
+ * <li>{@code kickr.sync.duration{job,outcome}} : durée de chaque exécution
+ * (attentes de limite de débit comprises) ;</li>
+ * <li>{@code kickr.sync.last.success{job}} : horodatage (epoch, secondes) de la
+ * dernière exécution réussie ;</li>
+ * <li>{@code kickr.sync.fixtures{job,result}} : fixtures reçues
+ * ({@code fetched}) puis créées ou modifiées ({@code changed}), inchangées
+ * ({@code unchanged}) ou en échec ({@code failed}) ;</li>
+ * <li>{@code kickr.sync.league.failures{job}} : ligues dont la récupération a
+ * échoué ;</li>
+ * <li>{@code kickr.sync.detail.batches{outcome}} et
+ * {@code kickr.sync.details{result}} : lots de détails de matchs (compositions,
+ * statistiques, événements) et matchs enregistrés ou en échec.</li>
+ * </ul>
+ * Les latences et erreurs des appels HTTP eux-mêmes sont mesurées par
+ * {@link com.kickr_server.config.UpstreamMetricsInterceptor}.
+ */
+@Component
+public class SyncMetrics {
+
+    /**
+     * Résultat du traitement d'une fixture.
+     */
+    public enum FixtureResult {
+        CHANGED, UNCHANGED, FAILED
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> lastSuccess = new ConcurrentHashMap<>();
+
+    public SyncMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Démarre la mesure d'une exécution, à terminer par {@link #stop}.
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Termine la mesure d'une exécution.
+     *
+     * @param sample  mesure démarrée par {@link #start()}
+     * @param job     nom de la synchronisation
+     * @param success {@code true} si l'exécution s'est terminée sans erreur
+     */
+    public void stop(Timer.Sample sample, String job, boolean success) {
+        sample.stop(Timer.builder("kickr.sync.duration")
+                .description("Duration of a football API synchronisation run")
+                .tag("job", job)
+                .tag("outcome", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        if (success) {
+            lastSuccess(job).set(Instant.now().getEpochSecond());
+        }
+    }
+
+    public void recordFixture(String job, FixtureResult result) {
+        fixtures(job, "fetched").increment();
+        fixtures(job, result.name().toLowerCase()).increment();
+    }
+
+    public void recordLeagueFailure(String job) {
+        meterRegistry.counter("kickr.sync.league.failures", "job", job).increment();
+    }
+
+    public void recordDetailBatch(boolean success) {
+        meterRegistry.counter("kickr.sync.detail.batches", "outcome", success ? "success" : "failure").increment();
+    }
+
+    public void recordDetail(boolean saved) {
+        meterRegistry.counter("kickr.sync.details", "result", saved ? "saved" : "failed").increment();
+    }
+
+    private Counter fixtures(String job, String result) {
+        return meterRegistry.counter("kickr.sync.fixtures", "job", job, "result", result);
+    }
+
+    private AtomicLong lastSuccess(String job) {
+        return lastSuccess.computeIfAbsent(job, name -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("kickr.sync.last.success", value, AtomicLong::get)
+                    .description("Time of the last successful synchronisation run")
+                    .baseUnit("seconds")
+                    .tag("job", name)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+}
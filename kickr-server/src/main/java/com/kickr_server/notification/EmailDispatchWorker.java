@@ -0,0 +1,234 @@
+package com.kickr_server.notification;
+
+import com.kickr_server.cluster.RunOnEveryNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Vide la file {@code outbound_emails}.
+ * <p>
+ * À chaque passage, le worker réserve un lot d'emails (avec
+ * {@code FOR UPDATE SKIP LOCKED}) en posant un bail, puis les
+ * envoie en un seul appel à {@link JavaMailSender#send(MimeMessage...)} : une
+ * seule connexion SMTP est ouverte pour tout le lot. Chaque email est ensuite
+ * marqué envoyé, ou replanifié avec un délai exponentiel, puis abandonné après
+ * {@code kickr.mail.queue.max-attempts} tentatives.
+ * <p>
+ * Le corps d'un email envoyé est effacé aussitôt (il peut contenir un lien de
+ * réinitialisation), et les emails envoyés ou abandonnés sont supprimés après
+ * {@code kickr.mail.queue.retention-days} jours.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailDispatchWorker {
+
+    private static final String CLAIM_SQL = """
+            SELECT id, recipient, subject, html_body, attempts FROM outbound_emails
+            WHERE status = 'PENDING' AND available_at <= ?
+            ORDER BY available_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED""";
+
+    private static final String LEASE_SQL = """
+            UPDATE outbound_emails SET available_at = ?, attempts = attempts + 1
+            WHERE id = ?""";
+
+    private static final String SENT_SQL = """
+            UPDATE outbound_emails SET status = 'SENT', sent_at = ?, html_body = NULL, last_error = NULL
+            WHERE id = ?""";
+
+    private static final String RETRY_SQL = """
+            UPDATE outbound_emails SET available_at = ?, last_error = ?
+            WHERE id = ?""";
+
+    private static final String FAILED_SQL = """
+            UPDATE outbound_emails SET status = 'FAILED', last_error = ?
+            WHERE id = ?""";
+
+    private static final String PURGE_SQL = """
+            DELETE FROM outbound_emails
+            WHERE id IN (SELECT id FROM outbound_emails
+                         WHERE (status = 'SENT' AND sent_at < ?) OR (status = 'FAILED' AND available_at < ?)
+                         LIMIT ?)""";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JavaMailSender mailSender;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${kickr.mail.from:contact@kickrhq.com}")
+    private String fromEmail;
+
+    @Value("${kickr.mail.queue.batch-size:20}")
+    private int batchSize;
+
+    @Value("${kickr.mail.queue.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${kickr.mail.queue.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${kickr.mail.queue.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${kickr.mail.queue.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    /**
+     * Envoie les emails disponibles, lot par lot, jusqu'à vider la file.
+     */
+    @RunOnEveryNode
+    @Scheduled(fixedDelayString = "${kickr.mail.queue.poll-interval-ms:2000}")
+    public void dispatch() {
+        List<QueuedEmail> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Supprime par lots les emails envoyés ou abandonnés depuis plus de
+     * {@code kickr.mail.queue.retention-days} jours. Un email abandonné est daté
+     * de sa dernière tentative.
+     */
+    @Scheduled(cron = "${kickr.mail.queue.purge-cron:0 20 3 * * *}")
+    public void purge() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL, cutoff, cutoff, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        log.info("Purged {} sent or failed emails", total);
+    }
+
+    private List<QueuedEmail> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<QueuedEmail> claimed = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new QueuedEmail(
+                    rs.getObject(1, UUID.class),
+                    rs.getString(2),
+                    rs.getString(3),
+                    rs.getString(4),
+                    rs.getInt(5) + 1), Timestamp.valueOf(now), batchSize);
+            if (!claimed.isEmpty()) {
+                Timestamp leaseUntil = Timestamp.valueOf(now.plusSeconds(leaseSeconds));
+                jdbcTemplate.batchUpdate(LEASE_SQL, claimed.stream()
+                        .map(email -> new Object[] { leaseUntil, email.id() })
+                        .toList());
+            }
+            return claimed;
+        });
+    }
+
+    private void send(List<QueuedEmail> batch) {
+        Map<MimeMessage, QueuedEmail> messages = new IdentityHashMap<>();
+        for (QueuedEmail email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                fail(email, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            // Les messages absents de la liste des échecs ont été acceptés.
+            failures = e.getFailedMessages().isEmpty() ? allFailed(messages, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            // Connexion ou authentification impossible : rien n'a été envoyé.
+            failures = allFailed(messages, e);
+        }
+
+        Timestamp sentAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> sent = new ArrayList<>();
+        for (Map.Entry<MimeMessage, QueuedEmail> entry : messages.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                sent.add(new Object[] { sentAt, entry.getValue().id() });
+            } else {
+                fail(entry.getValue(), failure);
+            }
+        }
+        if (!sent.isEmpty()) {
+            jdbcTemplate.batchUpdate(SENT_SQL, sent);
+            meterRegistry.counter("kickr.mail.sent").increment(sent.size());
+        }
+        log.debug("Email batch dispatched: {} sent, {} failed", sent.size(), failures.size());
+    }
+
+    private MimeMessage toMimeMessage(QueuedEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.recipient());
+        helper.setSubject(email.subject());
+        helper.setText(email.htmlBody(), true);
+        return message;
+    }
+
+    private void fail(QueuedEmail email, Exception error) {
+        String message = error.getMessage() == null ? error.toString() : error.getMessage();
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        if (email.attempt() >= maxAttempts) {
+            jdbcTemplate.update(FAILED_SQL, message, email.id());
+            meterRegistry.counter("kickr.mail.failed").increment();
+            log.error("Giving up on email {} to {} after {} attempts: {}",
+                    email.id(), email.recipient(), email.attempt(), message);
+        } else {
+            // Délai exponentiel plafonné à une heure : 30 s, 1 min, 2 min...
+            long delaySeconds = Math.min(3600, 15L << Math.min(email.attempt(), 8));
+            jdbcTemplate.update(RETRY_SQL, Timestamp.valueOf(LocalDateTime.now().plusSeconds(delaySeconds)),
+                    message, email.id());
+            meterRegistry.counter("kickr.mail.retried").increment();
+            log.warn("Email {} to {} failed on attempt {}, retrying in {} s: {}",
+                    email.id(), email.recipient(), email.attempt(), delaySeconds, message);
+        }
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, QueuedEmail> messages, Exception error) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, error));
+        return failures;
+    }
+
+    /**
+     * @param attempt numéro de la tentative en cours, à partir de 1
+     */
+    private record QueuedEmail(UUID id, String recipient, String subject, String htmlBody, int attempt) {
+    }
+}
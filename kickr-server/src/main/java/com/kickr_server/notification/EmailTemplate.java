@@ -0,0 +1,81 @@
+package com.kickr_server.notification;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gabarit HTML d'email, découpé une seule fois en fragments statiques et
+ * variables {@code {{nom}}}.
+ * <p>
+ * Le rendu se limite ensuite à concaténer les fragments dans un
+ * {@link StringBuilder} dimensionné d'avance, en échappant les valeurs.
+ */
+public final class EmailTemplate {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{\\s*(\\w+)\\s*}}");
+
+    private final List<String> literals;
+    private final List<String> variables;
+    private final int literalLength;
+
+    private EmailTemplate(List<String> literals, List<String> variables) {
+        this.literals = literals;
+        this.variables = variables;
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * Charge et découpe un gabarit du classpath.
+     *
+     * @param path chemin du gabarit, ex. {@code templates/email/password-reset.html}
+     */
+    public static EmailTemplate load(String path) {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load email template " + path, e);
+        }
+    }
+
+    static EmailTemplate parse(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        Matcher matcher = VARIABLE.matcher(source);
+        int last = 0;
+        while (matcher.find()) {
+            literals.add(source.substring(last, matcher.start()));
+            variables.add(matcher.group(1));
+            last = matcher.end();
+        }
+        literals.add(source.substring(last));
+        return new EmailTemplate(List.copyOf(literals), List.copyOf(variables));
+    }
+
+    /**
+     * Produit le HTML final.
+     *
+     * @param model valeurs des variables, échappées pour HTML
+     * @throws IllegalArgumentException si une variable n'a pas de valeur
+     */
+    public String render(Map<String, String> model) {
+        StringBuilder html = new StringBuilder(literalLength + 256);
+        for (int i = 0; i < variables.size(); i++) {
+            String value = model.get(variables.get(i));
+            if (value == null) {
+                throw new IllegalArgumentException("Missing email template variable: " + variables.get(i));
+            }
+            html.append(literals.get(i)).append(HtmlUtils.htmlEscape(value));
+        }
+        return html.append(literals.get(literals.size() - 1)).toString();
+    }
+}
@@ -40,6 +40,31 @@ public class Notification {
     @Builder.Default
     private boolean isRead = false;
 
+    /**
+     * Nombre d'acteurs regroupés dans cette notification.
+     */
+    @Builder.Default
+    @Column(name = "actor_count", nullable = false)
+    private int actorCount = 1;
+
+    /**
+     * Identifiants des derniers acteurs, du plus récent au plus ancien, séparés
+     * par des virgules.
+     */
+    @Column(name = "recent_actor_ids", length = 512)
+    private String recentActorIds;
+
+    /**
+     * Date de création, jamais modifiée : clé de tri et de partitionnement.
+     */
     @CreationTimestamp
+    @Column(updatable = false)
     private LocalDateTime createdAt;
+
+    /**
+     * Date du dernier événement regroupé dans cette notification, vide si elle
+     * n'en regroupe qu'un.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
 }
@@ -1,5 +1,6 @@
 package com.kickr_server.notification;
 
+import com.kickr_server.dto.generic.CursorPageDto;
 import com.kickr_server.dto.notification.NotificationDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +22,14 @@ public class NotificationController {
                 .toList();
     }
 
+    @GetMapping("/user/{userId}/page")
+    public CursorPageDto<NotificationDto> getNotificationsPage(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return notificationService.getNotificationsPage(userId, cursor, size);
+    }
+
     @GetMapping("/unread-count/{userId}")
     public long getUnreadCount(@PathVariable UUID userId) {
         return notificationService.getUnreadCount(userId);
@@ -0,0 +1,67 @@
+package com.kickr_server.notification;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Groupe ouvert de notifications : au plus un par destinataire, type et cible.
+ * <p>
+ * Les lignes ne sont jamais modifiées via JPA : elles sont réservées et fermées
+ * par {@link NotificationGroups}.
+ */
+@Entity
+@Table(name = "notification_groups")
+@IdClass(NotificationGroup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationGroup {
+
+    @Id
+    @Column(name = "recipient_id")
+    private UUID recipientId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type")
+    private NotificationType type;
+
+    /**
+     * Cible du groupe, ou chaîne vide pour les types regroupés sans cible.
+     */
+    @Id
+    @Column(name = "group_key")
+    private String groupKey;
+
+    /**
+     * Notification regroupée ; vide le temps que la transaction qui ouvre le
+     * groupe la crée.
+     */
+    @Column(name = "notification_id")
+    private UUID notificationId;
+
+    @Column(name = "opened_at", nullable = false)
+    private LocalDateTime openedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private UUID recipientId;
+        private NotificationType type;
+        private String groupKey;
+    }
+}
@@ -0,0 +1,56 @@
+package com.kickr_server.notification;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Acteur distinct d'un groupe ouvert de notifications. Géré par
+ * {@link NotificationGroups}.
+ */
+@Entity
+@Table(name = "notification_group_actors")
+@IdClass(NotificationGroupActor.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationGroupActor {
+
+    @Id
+    @Column(name = "recipient_id")
+    private UUID recipientId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type")
+    private NotificationType type;
+
+    @Id
+    @Column(name = "group_key")
+    private String groupKey;
+
+    @Id
+    @Column(name = "actor_id")
+    private UUID actorId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private UUID recipientId;
+        private NotificationType type;
+        private String groupKey;
+        private UUID actorId;
+    }
+}
@@ -0,0 +1,159 @@
+package com.kickr_server.notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Registre des groupes ouverts de notifications ({@code notification_groups}) et
+ * de leurs acteurs distincts ({@code notification_group_actors}).
+ * <p>
+ * Un groupe est identifié par son destinataire, son type et sa cible (chaîne
+ * vide pour les types regroupés sans cible) : la clé primaire garantit qu'il
+ * n'en existe qu'un ouvert à la fois. Il est réservé par un
+ * {@code INSERT ... ON CONFLICT DO UPDATE} qui verrouille la ligne jusqu'à la
+ * fin de la transaction : les événements simultanés d'un même groupe sont
+ * appliqués l'un après l'autre. Un groupe est fermé quand sa notification est
+ * lue ou supprimée, et remplacé une fois la fenêtre d'agrégation écoulée.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationGroups {
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO notification_groups (recipient_id, type, group_key, notification_id, opened_at)
+            VALUES (?, ?, ?, NULL, ?)
+            ON CONFLICT (recipient_id, type, group_key)
+            DO UPDATE SET
+                notification_id = CASE WHEN notification_groups.opened_at < ?
+                                       THEN NULL ELSE notification_groups.notification_id END,
+                opened_at = CASE WHEN notification_groups.opened_at < ?
+                                 THEN EXCLUDED.opened_at ELSE notification_groups.opened_at END
+            RETURNING notification_id""";
+
+    private static final String ATTACH_SQL = """
+            UPDATE notification_groups SET notification_id = ?
+            WHERE recipient_id = ? AND type = ? AND group_key = ?""";
+
+    private static final String ADD_ACTOR_SQL = """
+            INSERT INTO notification_group_actors (recipient_id, type, group_key, actor_id)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT DO NOTHING""";
+
+    private static final String CLEAR_ACTORS_SQL = """
+            DELETE FROM notification_group_actors
+            WHERE recipient_id = ? AND type = ? AND group_key = ?""";
+
+    private static final String CLOSE_SQL = """
+            DELETE FROM notification_groups
+            WHERE recipient_id = ? AND type = ? AND group_key = ? AND notification_id = ?""";
+
+    private static final String PURGE_ACTORS_SQL = """
+            DELETE FROM notification_group_actors a
+            WHERE EXISTS (SELECT 1 FROM notification_groups g
+                          WHERE g.recipient_id = a.recipient_id AND g.type = a.type
+                            AND g.group_key = a.group_key AND g.opened_at < ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Fenêtre pendant laquelle un groupe reste ouvert, à partir de sa première
+     * notification.
+     */
+    @Value("${kickr.notifications.aggregation-window-hours:24}")
+    private long aggregationWindowHours;
+
+    /**
+     * Clé d'un groupe pour une notification de ce type et de cette cible.
+     */
+    static String groupKey(NotificationType type, String targetId) {
+        return type.isGroupedByTarget() && targetId != null ? targetId : "";
+    }
+
+    /**
+     * Réserve le groupe ouvert, en le verrouillant jusqu'à la fin de la
+     * transaction.
+     * <p>
+     * S'il n'existe pas, ou si sa fenêtre d'agrégation est écoulée, le groupe est
+     * (ré)ouvert sans acteur : l'appelant crée alors la notification et la
+     * rattache avec {@link #attach}.
+     *
+     * @return la notification du groupe ouvert, ou null si le groupe vient d'être
+     *         ouvert
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public UUID claim(UUID recipientId, NotificationType type, String groupKey) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp openedAt = Timestamp.valueOf(now);
+        Timestamp expiredBefore = Timestamp.valueOf(now.minusHours(aggregationWindowHours));
+
+        UUID notificationId = jdbcTemplate.queryForObject(CLAIM_SQL, UUID.class,
+                recipientId, type.name(), groupKey, openedAt, expiredBefore, expiredBefore);
+        if (notificationId == null) {
+            jdbcTemplate.update(CLEAR_ACTORS_SQL, recipientId, type.name(), groupKey);
+        }
+        return notificationId;
+    }
+
+    /**
+     * Rattache au groupe qui vient d'être ouvert sa notification.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void attach(UUID recipientId, NotificationType type, String groupKey, UUID notificationId) {
+        jdbcTemplate.update(ATTACH_SQL, notificationId, recipientId, type.name(), groupKey);
+    }
+
+    /**
+     * Ajoute un acteur au groupe.
+     *
+     * @return true si l'acteur n'en faisait pas encore partie
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean addActor(UUID recipientId, NotificationType type, String groupKey, UUID actorId) {
+        return jdbcTemplate.update(ADD_ACTOR_SQL, recipientId, type.name(), groupKey, actorId) > 0;
+    }
+
+    /**
+     * Ferme le groupe d'une notification (lue ou supprimée). Sans effet si le
+     * groupe a déjà été rouvert pour une autre notification.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void close(UUID recipientId, NotificationType type, String groupKey, UUID notificationId) {
+        if (jdbcTemplate.update(CLOSE_SQL, recipientId, type.name(), groupKey, notificationId) > 0) {
+            jdbcTemplate.update(CLEAR_ACTORS_SQL, recipientId, type.name(), groupKey);
+        }
+    }
+
+    /**
+     * Ferme tous les groupes d'un destinataire.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void closeAll(UUID recipientId) {
+        jdbcTemplate.update("DELETE FROM notification_group_actors WHERE recipient_id = ?", recipientId);
+        jdbcTemplate.update("DELETE FROM notification_groups WHERE recipient_id = ?", recipientId);
+    }
+
+    /**
+     * Supprime les groupes dont la fenêtre d'agrégation est écoulée. Ils seraient
+     * de toute façon remplacés au prochain événement ; la purge borne la taille
+     * des tables.
+     */
+    @Scheduled(cron = "${kickr.notifications.groups-purge-cron:0 55 2 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        Timestamp expiredBefore = Timestamp.valueOf(LocalDateTime.now().minusHours(aggregationWindowHours));
+        jdbcTemplate.update(PURGE_ACTORS_SQL, expiredBefore);
+        int purged = jdbcTemplate.update("DELETE FROM notification_groups WHERE opened_at < ?", expiredBefore);
+        log.info("Purged {} expired notification groups", purged);
+    }
+}
@@ -0,0 +1,67 @@
+package com.kickr_server.notification;
+
+import com.kickr_server.event.FollowEvent;
+import com.kickr_server.event.ReviewEvent;
+import com.kickr_server.event.ReviewFanoutEvent;
+import com.kickr_server.event.ReviewInteractionEvent;
+import com.kickr_server.outbox.OutboxEventHandler;
+import com.kickr_server.outbox.OutboxEventType;
+import com.kickr_server.user.User;
+import com.kickr_server.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Crée les notifications à partir des événements de l'outbox.
+ * <p>
+ * Les événements dont un utilisateur a été supprimé entre-temps sont ignorés.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutboxHandler implements OutboxEventHandler {
+
+    private final NotificationService notificationService;
+    private final ReviewFanoutService reviewFanoutService;
+    private final UserRepository userRepository;
+
+    @Override
+    public Set<OutboxEventType> handledTypes() {
+        return Set.of(OutboxEventType.REVIEW_CREATED, OutboxEventType.REVIEW_FANOUT_CHUNK,
+                OutboxEventType.FOLLOW_CREATED, OutboxEventType.REVIEW_LIKED, OutboxEventType.REVIEW_COMMENTED);
+    }
+
+    @Override
+    public void handle(OutboxEventType type, Object payload) {
+        switch (type) {
+            case REVIEW_CREATED -> reviewFanoutService.start((ReviewEvent) payload);
+            case REVIEW_FANOUT_CHUNK -> reviewFanoutService.writeChunk((ReviewFanoutEvent) payload);
+            case FOLLOW_CREATED -> {
+                FollowEvent event = (FollowEvent) payload;
+                notify(event.followedId(), event.followerId(), NotificationType.FOLLOW, event.message(),
+                        event.followerId().toString());
+            }
+            case REVIEW_LIKED, REVIEW_COMMENTED -> {
+                ReviewInteractionEvent event = (ReviewInteractionEvent) payload;
+                NotificationType notificationType = type == OutboxEventType.REVIEW_LIKED
+                        ? NotificationType.LIKE
+                        : NotificationType.COMMENT;
+                notify(event.reviewAuthorId(), event.actorId(), notificationType, event.message(),
+                        event.reviewId().toString());
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void notify(UUID recipientId, UUID actorId, NotificationType type, String message, String targetId) {
+        Optional<User> recipient = userRepository.findById(recipientId);
+        Optional<User> actor = userRepository.findById(actorId);
+        if (recipient.isPresent() && actor.isPresent()) {
+            notificationService.createNotification(recipient.get(), actor.get(), type, message, targetId);
+        }
+    }
+}
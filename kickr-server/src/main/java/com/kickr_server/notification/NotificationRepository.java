@@ -1,9 +1,15 @@
 package com.kickr_server.notification;
 
 import com.kickr_server.user.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,7 +17,31 @@ import java.util.UUID;
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
     List<Notification> findByRecipientOrderByCreatedAtDesc(User recipient);
 
+    @EntityGraph(attributePaths = { "actor" })
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFirstPage(@Param("recipientId") UUID recipientId, Pageable pageable);
+
+    /**
+     * Page suivante d'une pagination par curseur {@code (createdAt, id)}. La date
+     * de création d'une notification ne change jamais, même quand elle regroupe
+     * de nouveaux acteurs : le curseur reste valide.
+     */
+    @EntityGraph(attributePaths = { "actor" })
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId "
+            + "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageAfter(@Param("recipientId") UUID recipientId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    long countByRecipientIdAndIsReadFalse(UUID recipientId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.recipient.id = :recipientId AND n.isRead = false")
+    int markAllAsRead(@Param("recipientId") UUID recipientId);
+
     long countByRecipientAndIsReadFalse(User recipient);
 
-    void deleteByRecipient(User recipient);
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.recipient.id = :recipientId")
+    int deleteAllByRecipientId(@Param("recipientId") UUID recipientId);
 }
@@ -0,0 +1,97 @@
+package com.kickr_server.notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintenance des partitions mensuelles de la table {@code notifications}.
+ * <p>
+ * Chaque nuit, le job crée les partitions des prochains mois puis détache et
+ * supprime celles dont le mois est entièrement plus ancien que la durée de
+ * rétention. Supprimer une partition est instantané et ne fragmente pas les
+ * index, contrairement à un {@code DELETE} massif. Les lignes anciennes tombées
+ * dans la partition par défaut sont supprimées classiquement.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetentionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("notifications_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${kickr.notifications.retention.months:6}")
+    private int retentionMonths;
+
+    @Value("${kickr.notifications.retention.precreate-months:3}")
+    private int precreateMonths;
+
+    @Scheduled(cron = "${kickr.notifications.retention.cron:0 45 2 * * *}")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= precreateMonths; i++) {
+            createPartition(current.plusMonths(i));
+        }
+
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        int dropped = 0;
+        for (String partition : listMonthlyPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (matcher.matches()) {
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                if (month.isBefore(oldestKept)) {
+                    dropPartition(partition);
+                    dropped++;
+                }
+            }
+        }
+
+        int purged = jdbcTemplate.update("DELETE FROM notifications_default WHERE created_at < ?",
+                Timestamp.valueOf(oldestKept.atDay(1).atStartOfDay()));
+        log.info("Notification partitions maintained: {} dropped, {} old rows purged from default partition",
+                dropped, purged);
+    }
+
+    private void createPartition(YearMonth month) {
+        String name = "notifications_" + month.format(PARTITION_SUFFIX);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name
+                    + " PARTITION OF notifications FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        } catch (DataAccessException e) {
+            // Typiquement : des lignes de ce mois sont déjà dans la partition par défaut.
+            log.warn("Could not create notification partition {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void dropPartition(String name) {
+        jdbcTemplate.execute("ALTER TABLE notifications DETACH PARTITION " + name);
+        jdbcTemplate.execute("DROP TABLE " + name);
+        log.info("Dropped notification partition {}", name);
+    }
+
+    private List<String> listMonthlyPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname
+                FROM pg_inherits i
+                JOIN pg_class parent ON parent.oid = i.inhparent
+                JOIN pg_class child ON child.oid = i.inhrelid
+                WHERE parent.relname = 'notifications'""", String.class);
+    }
+}
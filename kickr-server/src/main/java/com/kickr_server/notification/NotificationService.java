@@ -1,28 +1,72 @@
 package com.kickr_server.notification;
 
+import com.kickr_server.dto.generic.CursorPageDto;
+import com.kickr_server.dto.notification.NotificationDto;
 import com.kickr_server.exception.user.UserNotFoundException;
 import com.kickr_server.user.User;
 import com.kickr_server.user.UserRepository;
+import com.kickr_server.utils.CursorUtils;
+import com.kickr_server.utils.TransactionUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
+    private static final int MAX_RECENT_ACTORS = 3;
+    private static final int LATEST_LIMIT = 100;
+    private static final int MAX_PAGE_SIZE = 50;
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationGroups notificationGroups;
 
+    /**
+     * Crée une notification, ou l'ajoute au groupe ouvert de même destinataire,
+     * type et cible pour les types agrégés.
+     */
     @Transactional
     public void createNotification(User recipient, User actor, NotificationType type, String message, String targetId) {
         if (recipient.getId().equals(actor.getId())) {
             return; // Don't notify yourself
         }
 
+        if (!type.isAggregated()) {
+            insert(recipient, actor, type, message, targetId);
+            return;
+        }
+
+        String groupKey = NotificationGroups.groupKey(type, targetId);
+        UUID groupedId = notificationGroups.claim(recipient.getId(), type, groupKey);
+        if (groupedId != null) {
+            Optional<Notification> group = notificationRepository.findById(groupedId).filter(n -> !n.isRead());
+            if (group.isPresent()) {
+                boolean newActor = notificationGroups.addActor(recipient.getId(), type, groupKey, actor.getId());
+                foldIntoGroup(group.get(), actor, targetId, newActor);
+                return;
+            }
+            // Notification lue ou supprimée sans que son groupe ait été fermé.
+            notificationGroups.close(recipient.getId(), type, groupKey, groupedId);
+            notificationGroups.claim(recipient.getId(), type, groupKey);
+        }
+
+        Notification notification = insert(recipient, actor, type, message, targetId);
+        notificationGroups.attach(recipient.getId(), type, groupKey, notification.getId());
+        notificationGroups.addActor(recipient.getId(), type, groupKey, actor.getId());
+    }
+
+    private Notification insert(User recipient, User actor, NotificationType type, String message, String targetId) {
         Notification notification = Notification.builder()
                 .recipient(recipient)
                 .actor(actor)
@@ -30,44 +74,125 @@ public class NotificationService {
                 .message(message)
                 .targetId(targetId)
                 .isRead(false)
+                .recentActorIds(actor.getId().toString())
                 .build();
         notificationRepository.save(notification);
+        TransactionUtils.afterCommit(() -> unreadCounter.increment(recipient.getId()));
+        return notification;
     }
 
+    /**
+     * Ajoute l'acteur à la notification du groupe ouvert, verrouillé par
+     * {@link NotificationGroups#claim}. La date de création ne change pas : elle
+     * reste la clé de tri et de pagination ; la date du dernier événement est
+     * portée par {@code updatedAt}.
+     *
+     * @param newActor true si l'acteur n'avait pas encore été compté dans le
+     *                 groupe
+     */
+    private void foldIntoGroup(Notification notification, User actor, String targetId, boolean newActor) {
+        String actorId = actor.getId().toString();
+        List<String> recentActors = new ArrayList<>();
+        if (notification.getRecentActorIds() != null && !notification.getRecentActorIds().isBlank()) {
+            recentActors.addAll(Arrays.asList(notification.getRecentActorIds().split(",")));
+        }
+        recentActors.remove(actorId);
+        recentActors.add(0, actorId);
+        if (recentActors.size() > MAX_RECENT_ACTORS) {
+            recentActors = recentActors.subList(0, MAX_RECENT_ACTORS);
+        }
+
+        int actorCount = newActor ? notification.getActorCount() + 1 : notification.getActorCount();
+        notification.setActor(actor);
+        notification.setActorCount(actorCount);
+        notification.setRecentActorIds(String.join(",", recentActors));
+        notification.setMessage(notification.getType().groupedMessage(actor.getName(), actorCount));
+        notification.setTargetId(targetId);
+        notification.setUpdatedAt(LocalDateTime.now());
+    }
+
+    /**
+     * Récupère les notifications les plus récentes d'un utilisateur, bornées à
+     * {@value #LATEST_LIMIT} éléments. Préférer
+     * {@link #getNotificationsPage(UUID, String, int)}.
+     */
+    @Transactional(readOnly = true)
     public List<Notification> getNotificationsForUser(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
-        return notificationRepository.findByRecipientOrderByCreatedAtDesc(user);
+        ensureUserExists(userId);
+        return notificationRepository.findFirstPage(userId, PageRequest.of(0, LATEST_LIMIT));
+    }
+
+    /**
+     * Récupère une page de notifications, de la plus récente à la plus ancienne.
+     *
+     * @param userId l'UUID du destinataire
+     * @param cursor curseur renvoyé par la page précédente, ou null pour la
+     *               première page
+     * @param size   taille de page (bornée à {@value #MAX_PAGE_SIZE})
+     * @return la page et le curseur de la suivante
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<NotificationDto> getNotificationsPage(UUID userId, String cursor, int size) {
+        ensureUserExists(userId);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        CursorUtils.Cursor position = CursorUtils.decode(cursor);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Notification> rows = position == null
+                ? notificationRepository.findFirstPage(userId, limit)
+                : notificationRepository.findPageAfter(userId, position.createdAt(), position.id(), limit);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Notification last = page.get(page.size() - 1);
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPageDto<>(page.stream().map(NotificationDto::fromEntity).toList(), nextCursor, hasMore);
     }
 
     public long getUnreadCount(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
-        return notificationRepository.countByRecipientAndIsReadFalse(user);
+        return unreadCounter.get(userId, () -> {
+            ensureUserExists(userId);
+            return notificationRepository.countByRecipientIdAndIsReadFalse(userId);
+        });
     }
 
     @Transactional
     public void markAsRead(UUID notificationId) {
         notificationRepository.findById(notificationId).ifPresent(n -> {
-            n.setRead(true);
-            notificationRepository.save(n);
+            if (!n.isRead()) {
+                n.setRead(true);
+                UUID recipientId = n.getRecipient().getId();
+                if (n.getType().isAggregated()) {
+                    notificationGroups.close(recipientId, n.getType(),
+                            NotificationGroups.groupKey(n.getType(), n.getTargetId()), n.getId());
+                }
+                TransactionUtils.afterCommit(() -> unreadCounter.decrement(recipientId));
+            }
         });
     }
 
     @Transactional
     public void markAllAsRead(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
-        List<Notification> unread = notificationRepository.findByRecipientOrderByCreatedAtDesc(user)
-                .stream().filter(n -> !n.isRead()).toList();
-        unread.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(unread);
+        ensureUserExists(userId);
+        notificationRepository.markAllAsRead(userId);
+        notificationGroups.closeAll(userId);
+        TransactionUtils.afterCommit(() -> unreadCounter.reset(userId));
     }
 
     @Transactional
     public void clearAll(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
-        notificationRepository.deleteByRecipient(user);
+        ensureUserExists(userId);
+        notificationRepository.deleteAllByRecipientId(userId);
+        notificationGroups.closeAll(userId);
+        TransactionUtils.afterCommit(() -> unreadCounter.reset(userId));
+    }
+
+    private void ensureUserExists(UUID userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found");
+        }
     }
 }
@@ -1,8 +1,54 @@
 package com.kickr_server.notification;
 
+/**
+ * Types de notifications.
+ * <p>
+ * Les types agrégés sont regroupés en une seule notification tant qu'elle n'est
+ * pas lue ("Alex et 41 autres ont aimé votre review").
+ */
 public enum NotificationType {
-    FOLLOW, // Someone followed you
-    NEW_REVIEW, // Someone you follow posted a new review
-    COMMENT, // Someone commented on your review
-    LIKE // Someone liked your review
+    FOLLOW("started following you", true, false), // Someone followed you
+    NEW_REVIEW("logged a match", false, false), // Someone you follow posted a new review
+    COMMENT("commented on your review", true, true), // Someone commented on your review
+    LIKE("liked your review", true, true); // Someone liked your review
+
+    private final String action;
+    private final boolean aggregated;
+    private final boolean groupedByTarget;
+
+    NotificationType(String action, boolean aggregated, boolean groupedByTarget) {
+        this.action = action;
+        this.aggregated = aggregated;
+        this.groupedByTarget = groupedByTarget;
+    }
+
+    /**
+     * Indique si les notifications de ce type sont regroupées.
+     */
+    public boolean isAggregated() {
+        return aggregated;
+    }
+
+    /**
+     * Indique si le regroupement se fait par cible (review) ou pour toutes les
+     * notifications de ce type du destinataire.
+     */
+    public boolean isGroupedByTarget() {
+        return groupedByTarget;
+    }
+
+    /**
+     * Construit le message d'une notification regroupée.
+     *
+     * @param latestActorName nom du dernier acteur
+     * @param actorCount      nombre total d'acteurs
+     * @return par exemple "Alex and 41 others liked your review"
+     */
+    public String groupedMessage(String latestActorName, int actorCount) {
+        int others = actorCount - 1;
+        if (others <= 0) {
+            return latestActorName + " " + action;
+        }
+        return latestActorName + " and " + others + (others == 1 ? " other " : " others ") + action;
+    }
 }
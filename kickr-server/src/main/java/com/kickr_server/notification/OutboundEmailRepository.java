@@ -0,0 +1,10 @@
+package com.kickr_server.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, UUID> {
+}
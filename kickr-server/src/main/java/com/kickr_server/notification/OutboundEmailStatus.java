@@ -0,0 +1,7 @@
+package com.kickr_server.notification;
+
+public enum OutboundEmailStatus {
+    PENDING, // En attente d'envoi (ou de nouvel essai)
+    SENT, // Accepté par le serveur SMTP
+    FAILED // Abandonné après le nombre maximal de tentatives
+}
@@ -0,0 +1,109 @@
+package com.kickr_server.notification;
+
+import com.kickr_server.event.ReviewEvent;
+import com.kickr_server.event.ReviewFanoutEvent;
+import com.kickr_server.outbox.OutboxEventType;
+import com.kickr_server.outbox.OutboxService;
+import com.kickr_server.utils.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Diffuse la notification NEW_REVIEW aux followers de l'auteur d'une review.
+ * <p>
+ * La diffusion est découpée en tranches (pagination par clé sur
+ * {@code follower_id}), chacune portée par son propre événement
+ * {@link OutboxEventType#REVIEW_FANOUT_CHUNK} : chaque tranche est écrite en une
+ * insertion groupée dans sa propre transaction du relais, puis planifie la
+ * tranche suivante dans cette même transaction. Un échec ne rejoue que la
+ * tranche concernée, et aucune transaction ne dépend du nombre de followers.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewFanoutService {
+
+    private static final String FIRST_FOLLOWERS_SQL = """
+            SELECT follower_id FROM follows
+            WHERE followed_id = ? AND follower_id <> followed_id
+            ORDER BY follower_id
+            LIMIT ?""";
+
+    private static final String NEXT_FOLLOWERS_SQL = """
+            SELECT follower_id FROM follows
+            WHERE followed_id = ? AND follower_id <> followed_id AND follower_id > ?
+            ORDER BY follower_id
+            LIMIT ?""";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notifications (id, recipient_id, actor_id, type, message, target_id, is_read, created_at,
+                                       actor_count, recent_actor_ids)
+            VALUES (?, ?, ?, ?, ?, ?, FALSE, ?, 1, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final UnreadNotificationCounter unreadCounter;
+    private final OutboxService outboxService;
+
+    @Value("${kickr.notifications.fanout.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Planifie la première tranche de la diffusion d'une review.
+     */
+    public void start(ReviewEvent event) {
+        outboxService.append(OutboxEventType.REVIEW_FANOUT_CHUNK, event.reviewId(),
+                new ReviewFanoutEvent(event.reviewId(), event.authorId(), event.message(), null));
+    }
+
+    /**
+     * Écrit les notifications d'une tranche de followers, et planifie la
+     * suivante si la tranche est pleine.
+     */
+    public void writeChunk(ReviewFanoutEvent event) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            List<UUID> followerIds = event.afterFollowerId() == null
+                    ? jdbcTemplate.query(FIRST_FOLLOWERS_SQL, (rs, rowNum) -> rs.getObject(1, UUID.class),
+                            event.authorId(), chunkSize)
+                    : jdbcTemplate.query(NEXT_FOLLOWERS_SQL, (rs, rowNum) -> rs.getObject(1, UUID.class),
+                            event.authorId(), event.afterFollowerId(), chunkSize);
+            if (followerIds.isEmpty()) {
+                return;
+            }
+
+            insert(event, followerIds);
+            if (followerIds.size() == chunkSize) {
+                outboxService.append(OutboxEventType.REVIEW_FANOUT_CHUNK, event.reviewId(),
+                        new ReviewFanoutEvent(event.reviewId(), event.authorId(), event.message(),
+                                followerIds.get(followerIds.size() - 1)));
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("kickr.notifications.fanout.chunk.duration"));
+        }
+    }
+
+    private void insert(ReviewFanoutEvent event, List<UUID> followerIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String targetId = event.reviewId().toString();
+        List<Object[]> rows = new ArrayList<>(followerIds.size());
+        for (UUID followerId : followerIds) {
+            rows.add(new Object[] { UUID.randomUUID(), followerId, event.authorId(),
+                    NotificationType.NEW_REVIEW.name(), event.message(), targetId, now, event.authorId().toString() });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        TransactionUtils.afterCommit(() -> {
+            meterRegistry.counter("kickr.notifications.fanout.written").increment(followerIds.size());
+            unreadCounter.incrementAll(followerIds);
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package com.kickr_server.notification;
+
+import com.kickr_server.cluster.RunOnEveryNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Compteur en mémoire des notifications non lues, par utilisateur.
+ * <p>
+ * La valeur est chargée depuis la base à la première lecture puis tenue à jour
+ * par les chemins de création et de lecture. Le chargement se fait hors de tout
+ * verrou de la map : une entrée « en chargement » est d'abord posée, et toute
+ * mise à jour qui la rencontre la marque comme périmée au lieu d'attendre. Le
+ * résultat du chargement n'est conservé que si aucune mise à jour n'est arrivée
+ * entre-temps ; sinon il est renvoyé tel quel et la lecture suivante recharge.
+ * On évite ainsi de perdre une mise à jour comme de la compter deux fois quand
+ * la requête l'a déjà vue. Chaque entrée expire au bout d'un TTL : elle est
+ * alors rechargée, ce qui borne l'écart éventuel avec la base (autre
+ * instance...).
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private final ConcurrentHashMap<UUID, Entry> counters = new ConcurrentHashMap<>();
+
+    @Value("${kickr.notifications.unread-counter-ttl-seconds:300}")
+    private long ttlSeconds;
+
+    /**
+     * Renvoie le nombre de notifications non lues, en le chargeant via
+     * {@code loader} s'il est absent ou expiré.
+     */
+    public long get(UUID userId, LongSupplier loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = counters.get(userId);
+        if (entry != null && entry.isUsable(now, ttlSeconds)) {
+            return entry.count.get();
+        }
+
+        Entry loading = Entry.loading(now);
+        Entry current = counters.compute(userId, (id, existing) ->
+                existing != null && existing.isUsable(now, ttlSeconds) ? existing : loading);
+        if (current != loading) {
+            return current.count.get();
+        }
+
+        long value;
+        try {
+            value = loader.getAsLong();
+        } catch (RuntimeException e) {
+            counters.remove(userId, loading);
+            throw e;
+        }
+        Entry loaded = new Entry(value, now);
+        counters.computeIfPresent(userId, (id, existing) -> existing != loading ? existing
+                : loading.stale ? null : loaded);
+        return value;
+    }
+
+    /**
+     * Incrémente le compteur d'un utilisateur s'il est déjà chargé.
+     */
+    public void increment(UUID userId) {
+        counters.computeIfPresent(userId, (id, entry) -> {
+            if (entry.loading) {
+                entry.stale = true;
+            } else {
+                entry.count.incrementAndGet();
+            }
+            return entry;
+        });
+    }
+
+    /**
+     * Incrémente les compteurs déjà chargés d'un ensemble d'utilisateurs.
+     */
+    public void incrementAll(Collection<UUID> userIds) {
+        userIds.forEach(this::increment);
+    }
+
+    /**
+     * Décrémente le compteur d'un utilisateur s'il est déjà chargé.
+     */
+    public void decrement(UUID userId) {
+        counters.computeIfPresent(userId, (id, entry) -> {
+            if (entry.loading) {
+                entry.stale = true;
+            } else {
+                entry.count.updateAndGet(c -> Math.max(0, c - 1));
+            }
+            return entry;
+        });
+    }
+
+    /**
+     * Remet le compteur d'un utilisateur à zéro (tout lu ou tout supprimé).
+     * Un chargement en cours ne remplacera pas cette valeur.
+     */
+    public void reset(UUID userId) {
+        counters.put(userId, new Entry(0, System.currentTimeMillis()));
+    }
+
+    /**
+     * Purge les entrées expirées pour borner la mémoire utilisée.
+     */
+    @RunOnEveryNode
+    @Scheduled(fixedDelayString = "${kickr.notifications.unread-counter-sweep-ms:600000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        counters.values().removeIf(entry -> entry.isExpired(now, ttlSeconds));
+    }
+
+    private static final class Entry {
+
+        private final AtomicLong count;
+        private final long loadedAt;
+        private final boolean loading;
+
+        /**
+         * Positionné, sous le verrou de la map, quand une mise à jour rencontre
+         * l'entrée en chargement.
+         */
+        private boolean stale;
+
+        Entry(long count, long loadedAt) {
+            this(count, loadedAt, false);
+        }
+
+        private Entry(long count, long loadedAt, boolean loading) {
+            this.count = new AtomicLong(count);
+            this.loadedAt = loadedAt;
+            this.loading = loading;
+        }
+
+        static Entry loading(long now) {
+            return new Entry(0, now, true);
+        }
+
+        boolean isUsable(long now, long ttlSeconds) {
+            return !loading && !isExpired(now, ttlSeconds);
+        }
+
+        boolean isExpired(long now, long ttlSeconds) {
+            return now - loadedAt > ttlSeconds * 1000;
+        }
+    }
+}
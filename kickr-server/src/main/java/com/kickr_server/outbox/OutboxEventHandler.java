@@ -0,0 +1,27 @@
+package com.kickr_server.outbox;
+
+import java.util.Set;
+
+/**
+ * Consommateur des événements de l'outbox.
+ * <p>
+ * Les handlers sont appelés dans la transaction qui marque l'événement comme
+ * traité : leurs écritures sont validées avec lui, ou annulées puis rejouées si
+ * un handler échoue. Un même événement peut donc être reçu plusieurs fois.
+ */
+public interface OutboxEventHandler {
+
+    /**
+     * Types d'événements consommés par ce handler.
+     */
+    Set<OutboxEventType> handledTypes();
+
+    /**
+     * Traite un événement.
+     *
+     * @param type    type de l'événement
+     * @param payload contenu désérialisé, de classe
+     *                {@link OutboxEventType#getPayloadType()}
+     */
+    void handle(OutboxEventType type, Object payload);
+}
@@ -0,0 +1,36 @@
+package com.kickr_server.outbox;
+
+import com.kickr_server.event.FollowEvent;
+import com.kickr_server.event.ReportEvent;
+import com.kickr_server.event.ReviewEvent;
+import com.kickr_server.event.ReviewFanoutEvent;
+import com.kickr_server.event.ReviewInteractionEvent;
+import com.kickr_server.event.UserEvent;
+
+/**
+ * Types d'événements métier écrits dans l'outbox, avec la classe de leur contenu.
+ */
+public enum OutboxEventType {
+    REVIEW_CREATED(ReviewEvent.class),
+    REVIEW_DELETED(ReviewEvent.class),
+    REVIEW_FANOUT_CHUNK(ReviewFanoutEvent.class),
+    FOLLOW_CREATED(FollowEvent.class),
+    FOLLOW_DELETED(FollowEvent.class),
+    REVIEW_LIKED(ReviewInteractionEvent.class),
+    REVIEW_COMMENTED(ReviewInteractionEvent.class),
+    USER_REGISTERED(UserEvent.class),
+    USER_DELETED(UserEvent.class),
+    REPORT_CREATED(ReportEvent.class),
+    REPORT_STATUS_CHANGED(ReportEvent.class),
+    REPORT_DELETED(ReportEvent.class);
+
+    private final Class<?> payloadType;
+
+    OutboxEventType(Class<?> payloadType) {
+        this.payloadType = payloadType;
+    }
+
+    public Class<?> getPayloadType() {
+        return payloadType;
+    }
+}
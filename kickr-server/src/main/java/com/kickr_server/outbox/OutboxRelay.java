@@ -0,0 +1,334 @@
+package com.kickr_server.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kickr_server.cluster.RunOnEveryNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relaie les événements de l'outbox vers leurs handlers.
+ * <p>
+ * À chaque passage, le relais réserve un lot d'événements en attente, dans
+ * l'ordre de création, puis pose un bail sur ces événements en repoussant leur
+ * {@code available_at}. Les réservations des différentes instances sont
+ * sérialisées par un verrou consultatif Postgres, le temps de la transaction de
+ * réservation. Le lot est traité sur l'exécuteur borné {@code outboxExecutor}.
+ * <p>
+ * Les événements d'un même agrégat sont traités dans l'ordre de création :
+ * <ul>
+ * <li>un événement n'est réservé que si aucun événement plus ancien du même
+ * agrégat n'est en attente sous bail ou avant un nouvel essai : une autre
+ * instance ne peut donc pas traiter la suite d'un agrégat en parallèle ;</li>
+ * <li>dans un lot, les événements d'un agrégat sont traités par la même tâche,
+ * qui s'arrête au premier échec et libère les suivants : ils restent en attente
+ * derrière l'événement en échec jusqu'à ce qu'il soit traité (ou passe en
+ * {@link OutboxStatus#FAILED}).</li>
+ * </ul>
+ * Chaque événement est traité dans sa propre transaction, qui exécute les
+ * handlers et marque l'événement comme traité. En cas d'échec, l'événement est
+ * rejoué avec un délai croissant, puis passe en {@link OutboxStatus#FAILED}
+ * après {@code kickr.outbox.max-attempts} tentatives. Si l'instance s'arrête en
+ * cours de traitement, l'événement redevient disponible à l'expiration du bail.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    /**
+     * Événements disponibles dont aucun prédécesseur du même agrégat n'est encore
+     * sous bail ou en attente d'un nouvel essai.
+     */
+    private static final String CLAIM_SQL = """
+            SELECT e.id, e.aggregate_id FROM outbox_events e
+            WHERE e.status = 'PENDING' AND e.available_at <= ?
+              AND NOT EXISTS (
+                  SELECT 1 FROM outbox_events p
+                  WHERE p.aggregate_id = e.aggregate_id AND p.status = 'PENDING' AND p.available_at > ?
+                    AND (p.created_at < e.created_at OR (p.created_at = e.created_at AND p.id < e.id)))
+            ORDER BY e.created_at, e.id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED""";
+
+    /**
+     * Verrou consultatif sérialisant les réservations (distinct de
+     * {@code kickr.cluster.leader-lock-key}).
+     */
+    private static final long CLAIM_LOCK_KEY = 7_146_832_002L;
+
+    private static final String LEASE_SQL = """
+            UPDATE outbox_events SET available_at = ?, attempts = attempts + 1
+            WHERE id = ?""";
+
+    private static final String RELEASE_SQL = """
+            UPDATE outbox_events SET available_at = ?, attempts = attempts - 1
+            WHERE id = ? AND status = 'PENDING'""";
+
+    private static final String LOCK_SQL = """
+            SELECT event_type, payload, created_at FROM outbox_events
+            WHERE id = ? AND status = 'PENDING'
+            FOR UPDATE""";
+
+    private static final String DONE_SQL = """
+            UPDATE outbox_events SET status = 'DONE', processed_at = ?, last_error = NULL
+            WHERE id = ?""";
+
+    private static final String RETRY_SQL = """
+            UPDATE outbox_events SET available_at = ?, last_error = ?
+            WHERE id = ? AND status = 'PENDING'""";
+
+    private static final String FAILED_SQL = """
+            UPDATE outbox_events SET status = 'FAILED', processed_at = ?, last_error = ?
+            WHERE id = ? AND status = 'PENDING'""";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Map<OutboxEventType, List<OutboxEventHandler>> handlers = new EnumMap<>(OutboxEventType.class);
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+
+    @Value("${kickr.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${kickr.outbox.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${kickr.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${kickr.outbox.retention-days:7}")
+    private int retentionDays;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Qualifier("outboxExecutor") ThreadPoolTaskExecutor executor,
+            MeterRegistry meterRegistry,
+            List<OutboxEventHandler> eventHandlers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        for (OutboxEventHandler handler : eventHandlers) {
+            for (OutboxEventType type : handler.handledTypes()) {
+                handlers.computeIfAbsent(type, t -> new ArrayList<>()).add(handler);
+            }
+        }
+
+        Gauge.builder("kickr.outbox.pending", pendingCount, AtomicLong::get)
+                .description("Outbox events waiting to be relayed")
+                .register(meterRegistry);
+        Gauge.builder("kickr.outbox.oldest.pending.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest outbox event waiting to be relayed")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Traite les événements disponibles, lot par lot, jusqu'à ce qu'une
+     * réservation revienne vide.
+     */
+    @RunOnEveryNode
+    @Scheduled(fixedDelayString = "${kickr.outbox.poll-interval-ms:500}")
+    public void relay() {
+        while (true) {
+            Map<UUID, List<UUID>> batch = claimBatch();
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            List<CompletableFuture<Void>> tasks = new ArrayList<>(batch.size());
+            for (List<UUID> eventIds : batch.values()) {
+                tasks.add(CompletableFuture.runAsync(() -> processInOrder(eventIds), executor));
+            }
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+            // Pas d'arrêt sur un lot incomplet : le traitement libère les événements
+            // suivants des agrégats traités, et peut en écrire de nouveaux (tranches
+            // de diffusion).
+        }
+    }
+
+    /**
+     * Met à jour les jauges du backlog. Planifié à part du relais, qui peut
+     * enchaîner les lots sans revenir tant que le débit entrant reste soutenu :
+     * c'est justement là que les jauges doivent rester fraîches.
+     */
+    @RunOnEveryNode
+    @Scheduled(fixedDelayString = "${kickr.outbox.gauge-refresh-ms:15000}")
+    public void refreshBacklogGauges() {
+        jdbcTemplate.query("SELECT COUNT(*), MIN(created_at) FROM outbox_events WHERE status = 'PENDING'", rs -> {
+            pendingCount.set(rs.getLong(1));
+            Timestamp oldest = rs.getTimestamp(2);
+            oldestPendingAgeSeconds.set(oldest == null
+                    ? 0
+                    : Duration.between(oldest.toLocalDateTime(), LocalDateTime.now()).toSeconds());
+        });
+    }
+
+    /**
+     * Supprime les événements traités depuis plus de
+     * {@code kickr.outbox.retention-days} jours. Les événements en échec sont
+     * conservés pour analyse.
+     */
+    @Scheduled(cron = "${kickr.outbox.purge-cron:0 15 4 * * *}")
+    public void purgeProcessed() {
+        int purged = jdbcTemplate.update("DELETE FROM outbox_events WHERE status = 'DONE' AND processed_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays)));
+        log.info("Purged {} processed outbox events", purged);
+    }
+
+    /**
+     * Réserve un lot d'événements disponibles et pose un bail dessus.
+     *
+     * @return identifiants des événements réservés, regroupés par agrégat dans
+     *         l'ordre de disponibilité
+     */
+    private Map<UUID, List<UUID>> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> {
+            }, CLAIM_LOCK_KEY);
+            LocalDateTime now = LocalDateTime.now();
+            Map<UUID, List<UUID>> byAggregate = new LinkedHashMap<>();
+            List<Object[]> leases = new ArrayList<>();
+            Timestamp leaseUntil = Timestamp.valueOf(now.plusSeconds(leaseSeconds));
+            jdbcTemplate.query(CLAIM_SQL, rs -> {
+                UUID id = rs.getObject(1, UUID.class);
+                byAggregate.computeIfAbsent(rs.getObject(2, UUID.class), k -> new ArrayList<>()).add(id);
+                leases.add(new Object[] { leaseUntil, id });
+            }, Timestamp.valueOf(now), Timestamp.valueOf(now), batchSize);
+            if (!leases.isEmpty()) {
+                jdbcTemplate.batchUpdate(LEASE_SQL, leases);
+            }
+            return byAggregate;
+        });
+    }
+
+    /**
+     * Traite les événements réservés d'un agrégat dans l'ordre, jusqu'au premier
+     * échec. Les suivants sont libérés de leur bail sans compter de tentative.
+     */
+    private void processInOrder(List<UUID> eventIds) {
+        for (int i = 0; i < eventIds.size(); i++) {
+            if (!process(eventIds.get(i))) {
+                List<UUID> remaining = eventIds.subList(i + 1, eventIds.size());
+                if (!remaining.isEmpty()) {
+                    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                    jdbcTemplate.batchUpdate(RELEASE_SQL, remaining.stream()
+                            .map(id -> new Object[] { now, id })
+                            .toList());
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} si l'événement a échoué
+     */
+    private boolean process(UUID eventId) {
+        OutboxEventType[] type = new OutboxEventType[1];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<LockedEvent> locked = jdbcTemplate.query(LOCK_SQL, (rs, rowNum) -> new LockedEvent(
+                        OutboxEventType.valueOf(rs.getString(1)),
+                        rs.getString(2),
+                        rs.getTimestamp(3).toLocalDateTime()), eventId);
+                if (locked.isEmpty()) {
+                    return; // Déjà traité par une autre instance après expiration du bail
+                }
+                LockedEvent event = locked.get(0);
+                type[0] = event.type();
+                dispatch(event);
+
+                LocalDateTime processedAt = LocalDateTime.now();
+                jdbcTemplate.update(DONE_SQL, Timestamp.valueOf(processedAt), eventId);
+                meterRegistry.timer("kickr.outbox.lag", "type", event.type().name())
+                        .record(Duration.between(event.createdAt(), processedAt));
+            });
+            if (type[0] != null) {
+                count(type[0], "done");
+            }
+            return true;
+        } catch (RuntimeException e) {
+            fail(eventId, e);
+            return false;
+        }
+    }
+
+    private void dispatch(LockedEvent event) {
+        Object payload;
+        try {
+            payload = objectMapper.readValue(event.payload(), event.type().getPayloadType());
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable outbox payload", e);
+        }
+        for (OutboxEventHandler handler : handlers.getOrDefault(event.type(), List.of())) {
+            handler.handle(event.type(), payload);
+        }
+    }
+
+    private void fail(UUID eventId, RuntimeException error) {
+        List<Object[]> rows = jdbcTemplate.query("SELECT event_type, attempts FROM outbox_events WHERE id = ?",
+                (rs, rowNum) -> new Object[] { rs.getString(1), rs.getInt(2) }, eventId);
+        if (rows.isEmpty()) {
+            return;
+        }
+        String type = (String) rows.get(0)[0];
+        int attempts = (Integer) rows.get(0)[1];
+        String message = truncate(error.toString());
+        LocalDateTime now = LocalDateTime.now();
+
+        if (attempts >= maxAttempts) {
+            jdbcTemplate.update(FAILED_SQL, Timestamp.valueOf(now), message, eventId);
+            log.error("Outbox event {} ({}) failed after {} attempts", eventId, type, attempts, error);
+            count(OutboxEventType.valueOf(type), "failed");
+        } else {
+            // Délai exponentiel plafonné à une heure : 2 s, 4 s, 8 s...
+            long delaySeconds = Math.min(3600, 1L << Math.min(attempts, 12));
+            jdbcTemplate.update(RETRY_SQL, Timestamp.valueOf(now.plusSeconds(delaySeconds)), message, eventId);
+            log.warn("Outbox event {} ({}) failed on attempt {}, retrying in {} s: {}",
+                    eventId, type, attempts, delaySeconds, error.getMessage());
+            count(OutboxEventType.valueOf(type), "retry");
+        }
+    }
+
+    private void count(OutboxEventType type, String outcome) {
+        meterRegistry.counter("kickr.outbox.events", "type", type.name(), "outcome", outcome).increment();
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record LockedEvent(OutboxEventType type, String payload, LocalDateTime createdAt) {
+    }
+}
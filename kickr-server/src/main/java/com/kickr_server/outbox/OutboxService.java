@@ -0,0 +1,75 @@
+package com.kickr_server.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kickr_server.utils.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Écrit les événements métier dans l'outbox.
+ * <p>
+ * Doit être appelé dans la transaction métier : l'événement existe si et
+ * seulement si la modification qui l'a produit est validée.
+ * <p>
+ * Chaque événement validé incrémente {@code kickr.domain.events{type}} : débit
+ * des reviews, likes, follows... indépendamment du retard du relais.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Dernière date de création attribuée : les événements écrits par cette
+     * instance ont des dates strictement croissantes (à la microseconde, la
+     * précision des colonnes), qui fixent leur ordre de traitement par agrégat.
+     */
+    private final AtomicReference<LocalDateTime> lastCreatedAt = new AtomicReference<>(LocalDateTime.MIN);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEventType type, UUID aggregateId, Object payload) {
+        if (!type.getPayloadType().isInstance(payload)) {
+            throw new IllegalArgumentException("Invalid payload for " + type + ": " + payload.getClass());
+        }
+        LocalDateTime now = nextCreatedAt();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .eventType(type)
+                .aggregateId(aggregateId)
+                .payload(toJson(payload))
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .availableAt(now)
+                .createdAt(now)
+                .build());
+        TransactionUtils.afterCommit(() -> meterRegistry.counter("kickr.domain.events",
+                "type", type.name().toLowerCase()).increment());
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+
+    private LocalDateTime nextCreatedAt() {
+        return lastCreatedAt.updateAndGet(last -> {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            return now.isAfter(last) ? now : last.plus(1, ChronoUnit.MICROS);
+        });
+    }
+}
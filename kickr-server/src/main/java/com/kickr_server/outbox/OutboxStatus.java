@@ -0,0 +1,7 @@
+package com.kickr_server.outbox;
+
+public enum OutboxStatus {
+    PENDING, // En attente de relais (ou de nouvel essai)
+    DONE, // Transmis à tous les handlers
+    FAILED // Abandonné après le nombre maximal de tentatives
+}
@@ -0,0 +1,88 @@
+package com.kickr_server.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concurrence AIMD d'un groupe d'endpoints.
+ * <p>
+ * Tant que les requêtes répondent sous le seuil de latence et que la limite est
+ * réellement utilisée, elle augmente d'environ 1 par "fenêtre" de
+ * {@code limit} requêtes (+1/limit par réponse). Une réponse trop lente ou en
+ * erreur serveur la multiplie par {@code backoffRatio}, au plus une fois par
+ * durée de seuil : une rafale de réponses lentes issues du même ralentissement
+ * ne l'effondre pas d'un coup.
+ * <p>
+ * L'admission est un simple compare-and-set sur le nombre de requêtes en cours ;
+ * seul l'ajustement de la limite est synchronisé.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+    private long lastBackoffAt;
+
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.Group config) {
+        this.minLimit = config.getMinLimit();
+        this.maxLimit = config.getMaxLimit();
+        this.latencyThresholdNanos = config.getLatencyThreshold().toNanos();
+        this.backoffRatio = config.getBackoffRatio();
+        this.limit = config.getInitialLimit();
+        this.lastBackoffAt = System.nanoTime() - latencyThresholdNanos;
+    }
+
+    /**
+     * Admet une requête si le nombre de requêtes en cours reste sous la part de
+     * la limite accordée à sa priorité.
+     *
+     * @param share part de la limite accessible, dans ]0, 1]
+     * @return {@code true} si la requête est admise (et doit être libérée par
+     *         {@link #release})
+     */
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libère une requête admise et ajuste la limite.
+     *
+     * @param latencyNanos durée de traitement de la requête
+     * @param failed       {@code true} si la requête a échoué côté serveur
+     */
+    void release(long latencyNanos, boolean failed) {
+        int inflightAtCompletion = inflight.getAndDecrement();
+        adjust(latencyNanos, failed, inflightAtCompletion, System.nanoTime());
+    }
+
+    private synchronized void adjust(long latencyNanos, boolean failed, int inflightAtCompletion, long now) {
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            if (now - lastBackoffAt >= latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastBackoffAt = now;
+            }
+        } else if (inflightAtCompletion * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inflight() {
+        return inflight.get();
+    }
+}
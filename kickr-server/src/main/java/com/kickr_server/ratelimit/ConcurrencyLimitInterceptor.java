@@ -0,0 +1,121 @@
+package com.kickr_server.ratelimit;
+
+import com.kickr_server.exception.generic.ServiceOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Déleste les endpoints coûteux annotés {@link ConcurrencyLimited} quand la base
+ * ralentit.
+ * <p>
+ * Chaque groupe a une limite de requêtes simultanées ajustée à la latence
+ * observée ({@link AdaptiveConcurrencyLimiter}). Au-delà, la requête est refusée
+ * immédiatement (503 avec {@code Retry-After}) au lieu d'attendre une connexion
+ * du pool Hikari et de faire expirer toutes les autres. Les requêtes anonymes
+ * n'ont accès qu'à une part de la limite et sont donc délestées en premier ; les
+ * requêtes authentifiées disposent de toute la limite.
+ * <p>
+ * Métriques : {@code kickr.concurrency.limit} et
+ * {@code kickr.concurrency.inflight} par groupe,
+ * {@code kickr.concurrency.shed{group,priority}}.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new HashMap<>();
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        properties.getGroups().forEach((name, config) -> {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+            limiters.put(name, limiter);
+            Gauge.builder("kickr.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", name)
+                    .register(meterRegistry);
+            Gauge.builder("kickr.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::inflight)
+                    .description("Requests currently admitted by the concurrency limiter")
+                    .tag("group", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        ConcurrencyLimited limited = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(),
+                ConcurrencyLimited.class);
+        if (limited == null) {
+            limited = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(),
+                    ConcurrencyLimited.class);
+        }
+        if (limited == null) {
+            return true;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.get(limited.value());
+        if (limiter == null) {
+            throw new IllegalStateException("Concurrency limit group not configured: " + limited.value());
+        }
+
+        Priority priority = priority();
+        if (!limiter.tryAcquire(share(priority))) {
+            meterRegistry.counter("kickr.concurrency.shed", "group", limited.value(),
+                    "priority", priority.name().toLowerCase()).increment();
+            throw new ServiceOverloadedException(Math.max(1, properties.getRetryAfter().toSeconds()));
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            boolean failed = ex != null || response.getStatus() >= 500;
+            permit.limiter().release(System.nanoTime() - permit.startedAt(), failed);
+        }
+    }
+
+    private static Priority priority() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Priority.ANONYMOUS;
+        }
+        return Priority.AUTHENTICATED;
+    }
+
+    private double share(Priority priority) {
+        return switch (priority) {
+            case AUTHENTICATED -> 1.0;
+            case ANONYMOUS -> properties.getAnonymousShare();
+        };
+    }
+
+    private enum Priority {
+        AUTHENTICATED, ANONYMOUS
+    }
+
+    private record Permit(AdaptiveConcurrencyLimiter limiter, long startedAt) {
+    }
+}
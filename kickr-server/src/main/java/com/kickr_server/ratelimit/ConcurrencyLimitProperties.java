@@ -0,0 +1,50 @@
+package com.kickr_server.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration des limites de concurrence adaptatives
+ * ({@code kickr.concurrency-limit}).
+ */
+@Data
+@ConfigurationProperties(prefix = "kickr.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Part de la limite accessible aux requêtes anonymes, délestées en premier.
+     * Les requêtes authentifiées ont toute la limite.
+     */
+    private double anonymousShare = 0.6;
+
+    /**
+     * Valeur de l'en-tête {@code Retry-After} des requêtes délestées.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private Map<String, Group> groups = new HashMap<>();
+
+    /**
+     * Limite d'un groupe : nombre de requêtes simultanées, ajusté entre
+     * {@code minLimit} et {@code maxLimit} selon la latence observée par rapport
+     * à {@code latencyThreshold}.
+     */
+    @Data
+    public static class Group {
+
+        private int initialLimit = 10;
+        private int minLimit = 2;
+        private int maxLimit = 40;
+        private Duration latencyThreshold = Duration.ofMillis(500);
+
+        /**
+         * Facteur appliqué à la limite quand une requête est trop lente ou échoue
+         * côté serveur.
+         */
+        private double backoffRatio = 0.9;
+    }
+}
@@ -0,0 +1,21 @@
+package com.kickr_server.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Soumet un endpoint coûteux (ou tous ceux d'un contrôleur) à la limite de
+ * concurrence adaptative d'un groupe, commune à tous les clients (voir
+ * {@link ConcurrencyLimitInterceptor}).
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+
+    /**
+     * Nom du groupe, défini sous {@code kickr.concurrency-limit.groups}.
+     */
+    String value();
+}
@@ -0,0 +1,75 @@
+package com.kickr_server.ratelimit;
+
+import com.kickr_server.auth.jwt.AuthenticatedUser;
+import com.kickr_server.exception.generic.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applique les limites de débit des endpoints annotés {@link RateLimited}.
+ * <p>
+ * Le client est identifié par son utilisateur s'il est authentifié, sinon par
+ * son adresse IP : un client actif n'épuise plus la limite de tous les autres.
+ * Un refus renvoie 429 avec l'en-tête {@code Retry-After} et incrémente
+ * {@code kickr.ratelimit.rejected{group,route}}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(),
+                RateLimited.class);
+        if (rateLimited == null) {
+            rateLimited = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RateLimited.class);
+        }
+        if (rateLimited == null) {
+            return true;
+        }
+
+        long waitNanos = rateLimiterRegistry.tryConsume(rateLimited.value(), clientKey(request));
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Counter.builder("kickr.ratelimit.rejected")
+                .description("Requests rejected by the per-client rate limiter")
+                .tag("group", rateLimited.value())
+                .tag("route", request.getMethod() + " " + (pattern != null ? pattern : "unknown"))
+                .register(meterRegistry)
+                .increment();
+        throw new RateLimitExceededException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1));
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "user:" + user.getId();
+        }
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetails userDetails) {
+            return "user:" + userDetails.getUsername();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
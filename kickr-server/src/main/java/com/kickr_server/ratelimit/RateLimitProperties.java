@@ -0,0 +1,43 @@
+package com.kickr_server.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration des limites de débit par groupe de routes
+ * ({@code kickr.rate-limit}).
+ */
+@Data
+@ConfigurationProperties(prefix = "kickr.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Durée d'inactivité au-delà de laquelle le seau d'un client est supprimé.
+     */
+    private Duration idleEviction = Duration.ofMinutes(10);
+
+    private Map<String, Group> groups = new HashMap<>();
+
+    /**
+     * Limite d'un groupe de routes, pour un client : {@code refillTokens} requêtes
+     * par {@code refillPeriod}, avec des rafales jusqu'à {@code capacity}.
+     * <p>
+     * Par défaut, chaque instance applique sa part de la limite (divisée par le
+     * nombre d'instances vivantes, le proxy répartissant les requêtes). Un groupe
+     * {@code shared} est compté dans PostgreSQL : {@code capacity} requêtes par
+     * fenêtre fixe de {@code refillPeriod}, exactes quel que soit le nombre
+     * d'instances, au prix d'une écriture par requête.
+     */
+    @Data
+    public static class Group {
+
+        private int capacity = 20;
+        private int refillTokens = 20;
+        private Duration refillPeriod = Duration.ofSeconds(10);
+        private boolean shared;
+    }
+}
@@ -0,0 +1,20 @@
+package com.kickr_server.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Soumet un endpoint (ou tous ceux d'un contrôleur) à la limite de débit d'un
+ * groupe de routes, appliquée par client (voir {@link RateLimitInterceptor}).
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /**
+     * Nom du groupe de routes, défini sous {@code kickr.rate-limit.groups}.
+     */
+    String value();
+}
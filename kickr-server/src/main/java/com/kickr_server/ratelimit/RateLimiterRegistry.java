@@ -0,0 +1,119 @@
+package com.kickr_server.ratelimit;
+
+import com.kickr_server.cluster.ClusterCoordinator;
+import com.kickr_server.cluster.ClusterCounters;
+import com.kickr_server.cluster.RunOnEveryNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seaux à jetons de tous les clients, par groupe de routes.
+ * <p>
+ * Chaque groupe a sa propre {@link ConcurrentHashMap} : la création d'un seau
+ * ne verrouille qu'un segment de la table, et deux clients ne se disputent
+ * jamais le même verrou. Les seaux inactifs sont purgés périodiquement, ce qui
+ * borne la mémoire face à un grand nombre d'adresses IP.
+ * <p>
+ * Avec plusieurs instances, chaque seau n'applique que la part de l'instance
+ * ({@code 1 / instances vivantes}). Les groupes {@code shared} passent par les
+ * compteurs partagés de {@link ClusterCounters} ; si PostgreSQL ne répond pas,
+ * ils se rabattent sur les seaux locaux.
+ */
+@Component
+@Slf4j
+public class RateLimiterRegistry {
+
+    private final RateLimitProperties properties;
+    private final ClusterCoordinator clusterCoordinator;
+    private final ClusterCounters clusterCounters;
+    private final Map<String, GroupBuckets> groups = new HashMap<>();
+
+    public RateLimiterRegistry(RateLimitProperties properties, ClusterCoordinator clusterCoordinator,
+            ClusterCounters clusterCounters, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clusterCoordinator = clusterCoordinator;
+        this.clusterCounters = clusterCounters;
+        properties.getGroups().forEach((name, config) -> {
+            GroupBuckets group = new GroupBuckets(config);
+            groups.put(name, group);
+            Gauge.builder("kickr.ratelimit.buckets", group.buckets, Map::size)
+                    .description("Clients currently tracked by the rate limiter")
+                    .tag("group", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * Consomme un jeton du seau d'un client.
+     *
+     * @param group     nom du groupe de routes
+     * @param clientKey identifiant du client (utilisateur ou adresse IP)
+     * @return 0 si la requête est acceptée, sinon le délai en nanosecondes avant
+     *         la prochaine requête possible
+     * @throws IllegalStateException si le groupe n'est pas configuré
+     */
+    public long tryConsume(String group, String clientKey) {
+        GroupBuckets buckets = groups.get(group);
+        if (buckets == null) {
+            throw new IllegalStateException("Rate limit group not configured: " + group);
+        }
+        if (buckets.config.isShared()) {
+            try {
+                return consumeShared(group, clientKey, buckets.config);
+            } catch (DataAccessException e) {
+                log.warn("Shared rate limit counter unavailable for group {}, using local buckets: {}", group,
+                        e.getMessage());
+            }
+        }
+        long now = System.nanoTime();
+        return buckets.buckets
+                .computeIfAbsent(clientKey, key -> new TokenBucket(buckets.capacity, buckets.tokensPerNano, now))
+                .tryConsume(now, 1.0 / clusterCoordinator.liveNodes());
+    }
+
+    private long consumeShared(String group, String clientKey, RateLimitProperties.Group config) {
+        ClusterCounters.WindowCount count = clusterCounters.increment("ratelimit:" + group + ":" + clientKey,
+                config.getRefillPeriod(), 1);
+        if (count.value() <= config.getCapacity()) {
+            return 0;
+        }
+        long millis = count.windowEnd().toEpochMilli() - Instant.now().toEpochMilli();
+        return Math.max(1, millis) * 1_000_000;
+    }
+
+    @RunOnEveryNode
+    @Scheduled(fixedDelayString = "${kickr.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long threshold = System.nanoTime() - properties.getIdleEviction().toNanos();
+        int evicted = 0;
+        for (GroupBuckets group : groups.values()) {
+            int before = group.buckets.size();
+            group.buckets.values().removeIf(bucket -> bucket.lastUsedAt() < threshold);
+            evicted += before - group.buckets.size();
+        }
+        log.debug("Evicted {} idle rate limit buckets", evicted);
+    }
+
+    private static final class GroupBuckets {
+
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final RateLimitProperties.Group config;
+        private final double capacity;
+        private final double tokensPerNano;
+
+        GroupBuckets(RateLimitProperties.Group config) {
+            this.config = config;
+            this.capacity = config.getCapacity();
+            this.tokensPerNano = (double) config.getRefillTokens() / config.getRefillPeriod().toNanos();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.kickr_server.ratelimit;
+
+/**
+ * Seau à jetons d'un client pour un groupe de routes.
+ * <p>
+ * Le seau se remplit en continu au rythme configuré, jusqu'à sa capacité. La
+ * section critique se limite à quelques opérations arithmétiques.
+ * <p>
+ * Capacité et débit sont multipliés par la part de l'instance dans le cluster,
+ * passée à chaque appel : le seau suit les changements du nombre d'instances
+ * sans être recréé.
+ */
+class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+    private volatile long lastUsedAt;
+
+    TokenBucket(double capacity, double tokensPerNano, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerNano;
+        this.tokens = capacity;
+        this.refilledAt = now;
+        this.lastUsedAt = now;
+    }
+
+    /**
+     * Consomme un jeton s'il y en a un.
+     *
+     * @param now   instant courant, en nanosecondes
+     * @param share part de l'instance dans la limite globale, dans ]0, 1]
+     * @return 0 si la requête est acceptée, sinon le délai en nanosecondes avant
+     *         qu'un jeton soit disponible
+     */
+    synchronized long tryConsume(long now, double share) {
+        double rate = tokensPerNano * share;
+        lastUsedAt = now;
+        tokens = Math.min(Math.max(1, capacity * share), tokens + (now - refilledAt) * rate);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / rate);
+    }
+
+    long lastUsedAt() {
+        return lastUsedAt;
+    }
+}
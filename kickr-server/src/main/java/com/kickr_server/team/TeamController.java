@@ -1,7 +1,7 @@
 package com.kickr_server.team;
 
 import com.kickr_server.dto.team.TeamDto;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import com.kickr_server.ratelimit.RateLimited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,7 +17,7 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/teams")
 @RequiredArgsConstructor
 @Tag(name = "Teams", description = "Endpoints pour gérer les équipes")
-@RateLimiter(name = "userRateLimiter")
+@RateLimited("user")
 public class TeamController {
 
     private final TeamService teamService;
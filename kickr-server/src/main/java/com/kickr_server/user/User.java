@@ -118,6 +118,13 @@ public class User {
     @Column(name = "reset_token_expiry")
     private LocalDateTime resetTokenExpiry;
 
+    /**
+     * Version des access tokens de l'utilisateur, embarquée dans chaque jeton.
+     * L'incrémenter révoque tous les jetons émis auparavant.
+     */
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private java.util.List<com.kickr_server.usermatch.UserMatch> userMatches;
 
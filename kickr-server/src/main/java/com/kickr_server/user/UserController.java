@@ -3,7 +3,8 @@ package com.kickr_server.user;
 import com.kickr_server.dto.User.UserDto;
 import com.kickr_server.dto.User.UserProfileUpdateDto;
 import com.kickr_server.dto.generic.ApiResponseDto;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import com.kickr_server.ratelimit.ConcurrencyLimited;
+import com.kickr_server.ratelimit.RateLimited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -38,7 +39,8 @@ public class UserController {
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "List retrieved successfully")
         })
-        @RateLimiter(name = "userRateLimiter")
+        @RateLimited("user")
+        @ConcurrencyLimited("users")
         @GetMapping
         public Page<UserDto> getAllUsers(
                         @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
@@ -56,7 +58,7 @@ public class UserController {
                         @ApiResponse(responseCode = "200", description = "User found"),
                         @ApiResponse(responseCode = "404", description = "User not found")
         })
-        @RateLimiter(name = "userRateLimiter")
+        @RateLimited("user")
         @GetMapping("/{id}")
         public UserDto getUserById(@PathVariable UUID id) {
                 return userService.getUserDtoWithStats(id);
@@ -73,7 +75,7 @@ public class UserController {
                         @ApiResponse(responseCode = "403", description = "Not authorized"),
                         @ApiResponse(responseCode = "404", description = "User not found")
         })
-        @RateLimiter(name = "userRateLimiter")
+        @RateLimited("user")
         @DeleteMapping("/{id}")
         @ResponseStatus(HttpStatus.NO_CONTENT)
         public ApiResponseDto<Void> deleteUser(@PathVariable UUID id, Authentication authentication) {
@@ -97,7 +99,7 @@ public class UserController {
                         @ApiResponse(responseCode = "400", description = "Invalid data / Name already taken"),
                         @ApiResponse(responseCode = "401", description = "Not authenticated")
         })
-        @RateLimiter(name = "userRateLimiter")
+        @RateLimited("user")
         @PutMapping("/me")
         public ApiResponseDto<UserDto> updateProfile(
                         @Valid @RequestBody UserProfileUpdateDto updateDto,
@@ -114,7 +116,7 @@ public class UserController {
                         @ApiResponse(responseCode = "200", description = "Picture updated"),
                         @ApiResponse(responseCode = "401", description = "Not authenticated")
         })
-        @RateLimiter(name = "userRateLimiter")
+        @RateLimited("user")
         @PostMapping("/me/avatar")
         public ApiResponseDto<UserDto> uploadAvatar(
                         @RequestParam("file") MultipartFile file,
@@ -131,7 +133,7 @@ public class UserController {
                         @ApiResponse(responseCode = "200", description = "Picture deleted"),
                         @ApiResponse(responseCode = "401", description = "Not authenticated")
         })
-        @RateLimiter(name = "userRateLimiter")
+        @RateLimited("user")
         @DeleteMapping("/me/avatar")
         public ApiResponseDto<UserDto> deleteAvatar(Authentication authentication) throws IOException {
                 UserDetails userDetails = (UserDetails) authentication.getPrincipal();
@@ -0,0 +1,43 @@
+package com.kickr_server.user;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Compteurs dénormalisés d'un utilisateur.
+ * <p>
+ * Les valeurs ne sont jamais modifiées via JPA : elles sont incrémentées par lots
+ * par {@link UserCounterService} et recalculées périodiquement à partir des
+ * tables sources.
+ */
+@Entity
+@Table(name = "user_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "reviews_count", nullable = false)
+    private long reviewsCount;
+
+    @Column(name = "followers_count", nullable = false)
+    private long followersCount;
+
+    @Column(name = "following_count", nullable = false)
+    private long followingCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
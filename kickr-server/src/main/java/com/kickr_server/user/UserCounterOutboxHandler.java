@@ -0,0 +1,49 @@
+package com.kickr_server.user;
+
+import com.kickr_server.event.FollowEvent;
+import com.kickr_server.event.ReviewEvent;
+import com.kickr_server.outbox.OutboxEventHandler;
+import com.kickr_server.outbox.OutboxEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Répercute les créations et suppressions de reviews et de follows sur les
+ * compteurs des utilisateurs.
+ * <p>
+ * Les deltas ne sont enregistrés qu'à la validation de la transaction du relais,
+ * qui marque aussi l'événement comme traité : un événement rejoué après un échec
+ * n'est donc pas compté deux fois.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCounterOutboxHandler implements OutboxEventHandler {
+
+    private final UserCounterService userCounterService;
+
+    @Override
+    public Set<OutboxEventType> handledTypes() {
+        return Set.of(OutboxEventType.REVIEW_CREATED, OutboxEventType.REVIEW_DELETED,
+                OutboxEventType.FOLLOW_CREATED, OutboxEventType.FOLLOW_DELETED);
+    }
+
+    @Override
+    public void handle(OutboxEventType type, Object payload) {
+        switch (type) {
+            case REVIEW_CREATED -> userCounterService.recordReview(((ReviewEvent) payload).authorId(), 1);
+            case REVIEW_DELETED -> userCounterService.recordReview(((ReviewEvent) payload).authorId(), -1);
+            case FOLLOW_CREATED -> {
+                FollowEvent event = (FollowEvent) payload;
+                userCounterService.recordFollow(event.followerId(), event.followedId(), 1);
+            }
+            case FOLLOW_DELETED -> {
+                FollowEvent event = (FollowEvent) payload;
+                userCounterService.recordFollow(event.followerId(), event.followedId(), -1);
+            }
+            default -> {
+            }
+        }
+    }
+}
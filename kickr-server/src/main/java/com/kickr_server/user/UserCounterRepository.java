@@ -0,0 +1,10 @@
+package com.kickr_server.user;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UserCounterRepository extends JpaRepository<UserCounter, UUID> {
+}
@@ -0,0 +1,262 @@
+package com.kickr_server.user;
+
+import com.kickr_server.cluster.RunOnEveryNode;
+import com.kickr_server.utils.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maintient les compteurs dénormalisés des utilisateurs (reviews, followers,
+ * abonnements).
+ * <p>
+ * Les écritures (follow, unfollow, création et suppression de review) ne
+ * touchent pas la table {@code user_counters} : leurs événements d'outbox
+ * enregistrent un delta en mémoire une fois la transaction du relais validée
+ * (voir {@link UserCounterOutboxHandler}). Les deltas sont accumulés par
+ * utilisateur dans une {@link ConcurrentHashMap} (verrouillage par segment,
+ * fusion atomique) puis appliqués par lots à intervalle régulier. Une
+ * réconciliation nocturne recalcule les compteurs à partir des tables sources
+ * pour corriger toute dérive (redémarrage avant flush, écritures hors services,
+ * suppression d'utilisateur...).
+ * <p>
+ * Les lectures renvoient la valeur persistée augmentée des deltas en attente, ce
+ * qui rend la lecture d'un profil O(1).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserCounterService {
+
+    private static final String INCREMENT_SQL = """
+            UPDATE user_counters
+            SET reviews_count = reviews_count + ?,
+                followers_count = followers_count + ?,
+                following_count = following_count + ?,
+                updated_at = ?
+            WHERE user_id = ?""";
+
+    private static final String INSERT_FROM_SOURCE_SQL = """
+            INSERT INTO user_counters (user_id, reviews_count, followers_count, following_count, updated_at)
+            SELECT u.id,
+                   (SELECT COUNT(*) FROM user_matches um WHERE um.user_id = u.id),
+                   (SELECT COUNT(*) FROM follows f WHERE f.followed_id = u.id),
+                   (SELECT COUNT(*) FROM follows f WHERE f.follower_id = u.id),
+                   ?
+            FROM users u
+            WHERE u.id = ?""";
+
+    private static final String INSERT_MISSING_SQL = """
+            INSERT INTO user_counters (user_id, reviews_count, followers_count, following_count, updated_at)
+            SELECT u.id,
+                   (SELECT COUNT(*) FROM user_matches um WHERE um.user_id = u.id),
+                   (SELECT COUNT(*) FROM follows f WHERE f.followed_id = u.id),
+                   (SELECT COUNT(*) FROM follows f WHERE f.follower_id = u.id),
+                   ?
+            FROM users u
+            WHERE NOT EXISTS (SELECT 1 FROM user_counters c WHERE c.user_id = u.id)""";
+
+    private static final String RECONCILE_SQL = """
+            UPDATE user_counters
+            SET reviews_count = (SELECT COUNT(*) FROM user_matches um WHERE um.user_id = user_counters.user_id),
+                followers_count = (SELECT COUNT(*) FROM follows f WHERE f.followed_id = user_counters.user_id),
+                following_count = (SELECT COUNT(*) FROM follows f WHERE f.follower_id = user_counters.user_id),
+                updated_at = ?
+            WHERE reviews_count <> (SELECT COUNT(*) FROM user_matches um WHERE um.user_id = user_counters.user_id)
+               OR followers_count <> (SELECT COUNT(*) FROM follows f WHERE f.followed_id = user_counters.user_id)
+               OR following_count <> (SELECT COUNT(*) FROM follows f WHERE f.follower_id = user_counters.user_id)""";
+
+    private final UserCounterRepository userCounterRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Deltas validés mais pas encore appliqués en base, par utilisateur.
+     */
+    private final ConcurrentHashMap<UUID, Delta> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Sérialise les flushs et la réconciliation. Verrou explicite plutôt que
+     * {@code synchronized}, qui bloquerait le thread porteur d'un thread virtuel
+     * pendant les écritures en base.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Enregistre la création (+1) ou la suppression (-1) d'une review.
+     *
+     * @param userId auteur de la review
+     * @param delta  variation à appliquer
+     */
+    public void recordReview(UUID userId, long delta) {
+        TransactionUtils.afterCommit(() -> add(userId, new Delta(delta, 0, 0)));
+    }
+
+    /**
+     * Enregistre un follow (+1) ou un unfollow (-1) sur les deux utilisateurs
+     * concernés.
+     *
+     * @param followerId utilisateur qui suit
+     * @param followedId utilisateur suivi
+     * @param delta      variation à appliquer
+     */
+    public void recordFollow(UUID followerId, UUID followedId, long delta) {
+        TransactionUtils.afterCommit(() -> {
+            add(followedId, new Delta(0, delta, 0));
+            add(followerId, new Delta(0, 0, delta));
+        });
+    }
+
+    /**
+     * Récupère les compteurs d'un ensemble d'utilisateurs.
+     * <p>
+     * Les utilisateurs sans ligne de compteurs (créés depuis la dernière
+     * réconciliation et sans activité) sont calculés à partir des tables sources.
+     *
+     * @param userIds identifiants des utilisateurs
+     * @return compteurs indexés par identifiant (absents si l'utilisateur n'existe
+     *         pas)
+     */
+    public Map<UUID, UserStats> getStats(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, UserStats> stats = new HashMap<>();
+        for (UserCounter counter : userCounterRepository.findAllById(userIds)) {
+            Delta delta = pending.getOrDefault(counter.getUserId(), Delta.ZERO);
+            stats.put(counter.getUserId(), new UserStats(
+                    counter.getReviewsCount() + delta.reviews(),
+                    counter.getFollowersCount() + delta.followers(),
+                    counter.getFollowingCount() + delta.following()));
+        }
+
+        List<UUID> missing = userIds.stream().filter(id -> !stats.containsKey(id)).distinct().toList();
+        if (!missing.isEmpty()) {
+            for (Object[] row : userRepository.findStatsByUserIds(missing)) {
+                stats.put((UUID) row[0], new UserStats(
+                        ((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).longValue()));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Applique par lots les deltas en attente.
+     * <p>
+     * Les utilisateurs sans ligne de compteurs sont initialisés à partir des
+     * tables sources, qui incluent déjà les écritures validées. En cas d'échec,
+     * les deltas sont remis dans le tampon pour le prochain passage.
+     */
+    @RunOnEveryNode
+    @Scheduled(fixedDelayString = "${kickr.counters.flush-interval-ms:2000}")
+    public void flush() {
+        writeLock.lock();
+        try {
+            flushPending();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Delta> drained = new HashMap<>();
+        for (UUID userId : pending.keySet()) {
+            Delta delta = pending.remove(userId);
+            if (delta != null && !delta.isZero()) {
+                drained.put(userId, delta);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<UUID> userIds = new ArrayList<>(drained.keySet());
+        List<Object[]> batch = new ArrayList<>(userIds.size());
+        for (UUID userId : userIds) {
+            Delta delta = drained.get(userId);
+            batch.add(new Object[] { delta.reviews(), delta.followers(), delta.following(), now, userId });
+        }
+
+        int[] updated;
+        try {
+            updated = jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush {} user counter deltas, will retry: {}", drained.size(), e.getMessage());
+            drained.forEach(this::add);
+            return;
+        }
+
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                insertFromSource(userIds.get(i), now);
+            }
+        }
+        log.debug("Flushed counter deltas for {} users", drained.size());
+    }
+
+    /**
+     * Recalcule les compteurs à partir des tables sources et crée les lignes
+     * manquantes.
+     */
+    @Scheduled(cron = "${kickr.counters.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        writeLock.lock();
+        try {
+            flushPending();
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            int corrected = jdbcTemplate.update(RECONCILE_SQL, now);
+            int created = jdbcTemplate.update(INSERT_MISSING_SQL, now);
+            log.info("User counters reconciled: {} rows corrected, {} rows created", corrected, created);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void insertFromSource(UUID userId, Timestamp now) {
+        try {
+            jdbcTemplate.update(INSERT_FROM_SOURCE_SQL, now, userId);
+        } catch (DuplicateKeyException e) {
+            // Ligne créée entre-temps à partir des tables sources : elle inclut déjà
+            // le delta.
+        }
+    }
+
+    private void add(UUID userId, Delta delta) {
+        pending.merge(userId, delta, Delta::plus);
+    }
+
+    private record Delta(long reviews, long followers, long following) {
+
+        static final Delta ZERO = new Delta(0, 0, 0);
+
+        Delta plus(Delta other) {
+            return new Delta(reviews + other.reviews, followers + other.followers, following + other.following);
+        }
+
+        boolean isZero() {
+            return reviews == 0 && followers == 0 && following == 0;
+        }
+    }
+}
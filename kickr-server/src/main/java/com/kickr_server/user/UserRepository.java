@@ -6,6 +6,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.List;
@@ -62,6 +63,14 @@ public interface UserRepository extends JpaRepository<User, UUID> {
          */
         Optional<User> findByName(String name);
 
+        /**
+         * Recherche un utilisateur par son token de réinitialisation de mot de passe.
+         *
+         * @param resetToken le token de réinitialisation
+         * @return un {@link Optional} contenant l'utilisateur si trouvé, vide sinon
+         */
+        Optional<User> findByResetToken(String resetToken);
+
         /**
          * Searches for users whose name or email contains the given query string
          * (case-insensitive).
@@ -80,9 +89,33 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
         Page<User> findAll(Pageable pageable);
 
-        @org.springframework.data.jpa.repository.Query(value = "SELECT CAST(created_at AS DATE) as date, COUNT(*) as count FROM users WHERE created_at >= :startDate GROUP BY CAST(created_at AS DATE) ORDER BY date", nativeQuery = true)
-        List<Object[]> countUsersByDay(
-                        @org.springframework.data.repository.query.Param("startDate") java.time.LocalDateTime startDate);
+        /**
+         * Calcule en une seule requête les compteurs (reviews, followers, abonnements)
+         * d'un ensemble d'utilisateurs.
+         * <p>
+         * Chaque ligne retournée contient : {@code [userId, reviewsCount,
+         * followersCount, followingCount]}.
+         *
+         * @param userIds les identifiants des utilisateurs
+         * @return une ligne par utilisateur existant
+         */
+        @org.springframework.data.jpa.repository.Query("SELECT u.id, "
+                        + "(SELECT COUNT(um) FROM UserMatch um WHERE um.user.id = u.id), "
+                        + "(SELECT COUNT(f1) FROM Follow f1 WHERE f1.followed.id = u.id), "
+                        + "(SELECT COUNT(f2) FROM Follow f2 WHERE f2.follower.id = u.id) "
+                        + "FROM User u WHERE u.id IN :userIds")
+        List<Object[]> findStatsByUserIds(
+                        @org.springframework.data.repository.query.Param("userIds") Collection<UUID> userIds);
 
-        long countByCreatedAtBetween(java.time.LocalDateTime start, java.time.LocalDateTime end);
+        /**
+         * Remplace le hachage du mot de passe s'il n'a pas changé entre-temps.
+         *
+         * @return 1 si le hachage a été remplacé, 0 sinon
+         */
+        @org.springframework.data.jpa.repository.Modifying
+        @org.springframework.data.jpa.repository.Query("UPDATE User u SET u.password = :newHash "
+                        + "WHERE u.id = :id AND u.password = :oldHash")
+        int replacePasswordHash(@org.springframework.data.repository.query.Param("id") UUID id,
+                        @org.springframework.data.repository.query.Param("oldHash") String oldHash,
+                        @org.springframework.data.repository.query.Param("newHash") String newHash);
 }
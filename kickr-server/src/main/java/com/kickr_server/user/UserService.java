@@ -1,10 +1,15 @@
 package com.kickr_server.user;
 
+import com.kickr_server.auth.jwt.TokenVersionService;
+import com.kickr_server.auth.refreshToken.RefreshTokenService;
 import com.kickr_server.config.CloudinaryService;
 import com.kickr_server.dto.User.UserDto;
-import com.kickr_server.usermatch.UserMatchRepository;
+import com.kickr_server.event.UserEvent;
 import com.kickr_server.exception.user.UserAlreadyExistException;
 import com.kickr_server.exception.user.UserNotFoundException;
+import com.kickr_server.outbox.OutboxEventType;
+import com.kickr_server.outbox.OutboxService;
+import com.kickr_server.utils.TransactionUtils;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -12,12 +17,13 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Service métier pour la gestion des utilisateurs.
@@ -29,16 +35,58 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final UserMatchRepository userMatchRepository;
-    private final com.kickr_server.follow.FollowRepository followRepository;
     private final CloudinaryService cloudinaryService;
+    private final UserCounterService userCounterService;
+    private final TokenVersionService tokenVersionService;
+    private final RefreshTokenService refreshTokenService;
+    private final OutboxService outboxService;
 
     public UserDto getUserDtoWithStats(UUID id) {
         User user = getUserById(id);
-        long matchesCount = userMatchRepository.countByUserId(id);
-        long followersCount = followRepository.countByFollowedId(id);
-        long followingCount = followRepository.countByFollowerId(id);
-        return UserDto.fromEntityWithStats(user, (int) followersCount, (int) followingCount, matchesCount);
+        return toDtoWithStats(user, getStatsByUserIds(List.of(id)));
+    }
+
+    /**
+     * Récupère les compteurs dénormalisés d'un ensemble d'utilisateurs.
+     *
+     * @param userIds identifiants des utilisateurs.
+     * @return compteurs indexés par identifiant (absents si l'utilisateur n'existe
+     *         pas).
+     */
+    public Map<UUID, UserStats> getStatsByUserIds(Collection<UUID> userIds) {
+        return userCounterService.getStats(userIds);
+    }
+
+    /**
+     * Convertit une liste d'utilisateurs en DTO avec statistiques, en chargeant
+     * les compteurs de toute la liste en une fois.
+     *
+     * @param users utilisateurs à convertir.
+     * @return DTO avec stats, dans le même ordre.
+     */
+    public List<UserDto> toDtosWithStats(List<User> users) {
+        Map<UUID, UserStats> stats = getStatsByUserIds(users.stream().map(User::getId).toList());
+        return users.stream()
+                .map(user -> toDtoWithStats(user, stats))
+                .toList();
+    }
+
+    /**
+     * Convertit une page d'utilisateurs en DTO avec statistiques, en chargeant
+     * les compteurs de la page en une fois.
+     *
+     * @param users page d'utilisateurs à convertir.
+     * @return page de DTO avec stats.
+     */
+    public Page<UserDto> toDtosWithStats(Page<User> users) {
+        Map<UUID, UserStats> stats = getStatsByUserIds(users.getContent().stream().map(User::getId).toList());
+        return users.map(user -> toDtoWithStats(user, stats));
+    }
+
+    private UserDto toDtoWithStats(User user, Map<UUID, UserStats> stats) {
+        UserStats userStats = stats.getOrDefault(user.getId(), UserStats.EMPTY);
+        return UserDto.fromEntityWithStats(user, userStats.followersCount(), userStats.followingCount(),
+                userStats.reviewsCount());
     }
 
     /**
@@ -48,12 +96,7 @@ public class UserService {
      * @return page d'utilisateurs sous forme de DTO avec stats.
      */
     public Page<UserDto> findAllWithStats(Pageable pageable) {
-        return userRepository.findAll(pageable).map(user -> {
-            long matchesCount = userMatchRepository.countByUserId(user.getId());
-            long followersCount = followRepository.countByFollowedId(user.getId());
-            long followingCount = followRepository.countByFollowerId(user.getId());
-            return UserDto.fromEntityWithStats(user, (int) followersCount, (int) followingCount, matchesCount);
-        });
+        return toDtosWithStats(userRepository.findAll(pageable));
     }
 
     /**
@@ -62,14 +105,7 @@ public class UserService {
      * @return liste des utilisateurs sous forme de DTO avec stats.
      */
     public List<UserDto> findAllWithStats() {
-        return userRepository.findAll().stream()
-                .map(user -> {
-                    long matchesCount = userMatchRepository.countByUserId(user.getId());
-                    long followersCount = followRepository.countByFollowedId(user.getId());
-                    long followingCount = followRepository.countByFollowerId(user.getId());
-                    return UserDto.fromEntityWithStats(user, (int) followersCount, (int) followingCount, matchesCount);
-                })
-                .collect(Collectors.toList());
+        return toDtosWithStats(userRepository.findAll());
     }
 
     public Page<User> findAll(Pageable pageable) {
@@ -133,7 +169,8 @@ public class UserService {
      */
     public User save(User user) {
         log.info("Saving user: {} (id: {})", user.getEmail(), user.getId());
-        if (user.getId() == null) {
+        boolean creation = user.getId() == null;
+        if (creation) {
             if (userRepository.existsByEmail(user.getEmail())) {
                 throw new UserAlreadyExistException("Email address already in use");
             }
@@ -141,7 +178,12 @@ public class UserService {
                 throw new UserAlreadyExistException("Callsign already taken by another tactician");
             }
         }
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        if (creation) {
+            outboxService.append(OutboxEventType.USER_REGISTERED, saved.getId(),
+                    new UserEvent(saved.getId(), saved.getCreatedAt().toLocalDate()));
+        }
+        return saved;
     }
 
     public User update(User user) {
@@ -161,6 +203,10 @@ public class UserService {
             throw new UserAlreadyExistException("Email already in use");
         }
 
+        if (!user.getEmail().equals(newEmail)) {
+            // Les access tokens portent l'email : ceux déjà émis deviennent obsolètes.
+            tokenVersionService.revokeAll(user);
+        }
         user.setName(newName);
         user.setEmail(newEmail);
 
@@ -185,6 +231,75 @@ public class UserService {
             }
         }
         userRepository.deleteById(id);
+        outboxService.append(OutboxEventType.USER_DELETED, id, new UserEvent(id, user.getCreatedAt().toLocalDate()));
+        TransactionUtils.afterCommit(() -> tokenVersionService.evict(id));
+    }
+
+    /**
+     * Remplace le hachage du mot de passe d'un utilisateur (changement du facteur
+     * de coût), sauf si le mot de passe a été modifié entre-temps.
+     *
+     * @param id      l'UUID de l'utilisateur
+     * @param oldHash hachage vérifié à la connexion
+     * @param newHash nouveau hachage du même mot de passe
+     */
+    public void rehashPassword(UUID id, String oldHash, String newHash) {
+        if (userRepository.replacePasswordHash(id, oldHash, newHash) > 0) {
+            log.info("Password hash of user {} upgraded to the configured cost factor", id);
+        }
+    }
+
+    /**
+     * Recherche l'utilisateur d'un token de réinitialisation encore valide.
+     *
+     * @param token le token de réinitialisation
+     * @return l'utilisateur du token
+     * @throws RuntimeException si le token est inconnu ou expiré
+     */
+    public User getUserByResetToken(String token) {
+        User user = userRepository.findByResetToken(token)
+                .orElseThrow(() -> new RuntimeException("Invalid or expired reset token"));
+        if (user.getResetTokenExpiry().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Reset token has expired");
+        }
+        return user;
+    }
+
+    /**
+     * Remplace le mot de passe de l'utilisateur d'un token de réinitialisation,
+     * consomme le token et révoque les access tokens et refresh tokens déjà
+     * émis. Le hachage est calculé par l'appelant, avant la transaction.
+     *
+     * @param token   le token de réinitialisation, vérifié à nouveau ici
+     * @param newHash hachage du nouveau mot de passe
+     * @throws RuntimeException si le token est inconnu, expiré ou déjà consommé
+     */
+    public void resetPassword(String token, String newHash) {
+        User user = getUserByResetToken(token);
+        user.setPassword(newHash);
+        user.setResetToken(null);
+        user.setResetTokenExpiry(null);
+        tokenVersionService.revokeAll(user);
+        refreshTokenService.revokeAll(user.getId());
+        userRepository.save(user);
+    }
+
+    /**
+     * Change le rôle d'un utilisateur et révoque ses access tokens, qui portent
+     * l'ancien rôle.
+     *
+     * @param id   l'UUID de l'utilisateur
+     * @param role le nouveau rôle
+     * @return l'utilisateur mis à jour
+     * @throws UserNotFoundException si l'utilisateur n'existe pas.
+     */
+    public User changeRole(UUID id, Role role) {
+        User user = getUserById(id);
+        if (user.getRole() != role) {
+            user.setRole(role);
+            tokenVersionService.revokeAll(user);
+        }
+        return userRepository.save(user);
     }
 
     public User updateAvatar(UUID userId, MultipartFile file) throws IOException {
@@ -0,0 +1,13 @@
+package com.kickr_server.user;
+
+/**
+ * Compteurs agrégés d'un utilisateur (reviews, followers, abonnements).
+ *
+ * @param reviewsCount   nombre d'évaluations publiées
+ * @param followersCount nombre d'utilisateurs qui le suivent
+ * @param followingCount nombre d'utilisateurs qu'il suit
+ */
+public record UserStats(long reviewsCount, long followersCount, long followingCount) {
+
+    public static final UserStats EMPTY = new UserStats(0L, 0L, 0L);
+}
@@ -2,6 +2,7 @@ package com.kickr_server.usermatch;
 
 import com.kickr_server.dto.UserMatch.ReviewCommentCreateDto;
 import com.kickr_server.dto.UserMatch.ReviewCommentDto;
+import com.kickr_server.dto.generic.CursorPageDto;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +25,14 @@ public class ReviewCommentController {
                 .toList();
     }
 
+    @GetMapping("/review/{reviewId}/page")
+    public CursorPageDto<ReviewCommentDto> getCommentsPage(
+            @PathVariable UUID reviewId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return reviewCommentService.getCommentsPage(reviewId, cursor, size);
+    }
+
     @PostMapping("/review/{reviewId}/user/{userId}")
     public ReviewCommentDto addComment(
             @PathVariable UUID reviewId,
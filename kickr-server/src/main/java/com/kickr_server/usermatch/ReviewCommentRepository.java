@@ -1,8 +1,15 @@
 package com.kickr_server.usermatch;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,4 +18,48 @@ public interface ReviewCommentRepository extends JpaRepository<ReviewComment, UU
     List<ReviewComment> findByUserMatchIdOrderByCreatedAtAsc(UUID userMatchId);
 
     long countByUserMatchId(UUID userMatchId);
+
+    /**
+     * Nombre de commentaires de chaque review, en une requête groupée.
+     *
+     * @return lignes {@code [userMatchId, count]} (absentes pour les reviews sans
+     *         commentaire)
+     */
+    @Query("SELECT c.userMatch.id, COUNT(c) FROM ReviewComment c "
+            + "WHERE c.userMatch.id IN :reviewIds GROUP BY c.userMatch.id")
+    List<Object[]> countByUserMatchIds(@Param("reviewIds") Collection<UUID> reviewIds);
+
+    @EntityGraph(attributePaths = { "user", "userMatch" })
+    @Query("SELECT c FROM ReviewComment c WHERE c.userMatch.id = :reviewId ORDER BY c.createdAt ASC, c.id ASC")
+    List<ReviewComment> findFirstPage(@Param("reviewId") UUID reviewId, Pageable pageable);
+
+    /**
+     * Page suivante d'une pagination par curseur {@code (createdAt, id)}, dans
+     * l'ordre chronologique.
+     */
+    @EntityGraph(attributePaths = { "user", "userMatch" })
+    @Query("SELECT c FROM ReviewComment c WHERE c.userMatch.id = :reviewId "
+            + "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) "
+            + "ORDER BY c.createdAt ASC, c.id ASC")
+    List<ReviewComment> findPageAfter(@Param("reviewId") UUID reviewId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    /**
+     * Auteur et texte des commentaires visés par des signalements, en une requête.
+     *
+     * @return lignes {@code [commentId, authorId, authorName, content, isModerated]}
+     */
+    @Query("SELECT c.id, u.id, u.name, c.content, c.isModerated FROM ReviewComment c JOIN c.user u "
+            + "WHERE c.id IN :ids")
+    List<Object[]> findReportTargets(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Modère en une instruction les commentaires qui ne le sont pas encore.
+     *
+     * @return nombre de commentaires modérés
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ReviewComment c SET c.isModerated = true, c.content = :text "
+            + "WHERE c.id IN :ids AND c.isModerated = false")
+    int moderateAll(@Param("ids") Collection<UUID> ids, @Param("text") String text);
 }
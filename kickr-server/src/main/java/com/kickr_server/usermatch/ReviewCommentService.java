@@ -1,32 +1,145 @@
 package com.kickr_server.usermatch;
 
+import com.kickr_server.dto.UserMatch.ReviewCommentDto;
+import com.kickr_server.dto.UserMatch.UserMatchFullDto;
+import com.kickr_server.dto.generic.CursorPageDto;
 import com.kickr_server.exception.user.UserNotFoundException;
 import com.kickr_server.exception.userMatch.UserMatchNotFoundException;
 import com.kickr_server.user.User;
 import com.kickr_server.user.UserRepository;
-import com.kickr_server.notification.NotificationType;
-import com.kickr_server.event.NotificationEvent;
+import com.kickr_server.event.ReviewInteractionEvent;
+import com.kickr_server.outbox.OutboxEventType;
+import com.kickr_server.outbox.OutboxService;
+import com.kickr_server.utils.CursorUtils;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class ReviewCommentService {
 
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int PREVIEW_SIZE = 2;
+
+    /**
+     * Derniers commentaires de chaque review : {@code ROW_NUMBER()} numérote les
+     * commentaires par review pour n'en garder que les plus récents, en une seule
+     * requête. La liste {@code IN} est complétée à l'exécution.
+     */
+    private static final String LATEST_PER_REVIEW_SQL = """
+            SELECT ranked.id, ranked.user_match_id, ranked.user_id, u.name, ranked.content,
+                   ranked.created_at, ranked.is_moderated, u.avatar_url
+            FROM (SELECT c.*,
+                         ROW_NUMBER() OVER (PARTITION BY c.user_match_id
+                                            ORDER BY c.created_at DESC, c.id DESC) AS rn
+                  FROM review_comments c
+                  WHERE c.user_match_id IN (%s)) ranked
+            JOIN users u ON u.id = ranked.user_id
+            WHERE ranked.rn <= ?
+            ORDER BY ranked.user_match_id, ranked.rn""";
+
     private final ReviewCommentRepository reviewCommentRepository;
     private final UserMatchRepository userMatchRepository;
     private final UserRepository userRepository;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final JdbcTemplate jdbcTemplate;
 
     public List<ReviewComment> getCommentsByReviewId(UUID reviewId) {
         return reviewCommentRepository.findByUserMatchIdOrderByCreatedAtAsc(reviewId);
     }
 
+    /**
+     * Récupère une page de commentaires d'une review, dans l'ordre chronologique.
+     *
+     * @param reviewId l'UUID de la review
+     * @param cursor   curseur renvoyé par la page précédente, ou null pour la
+     *                 première page
+     * @param size     taille de page (bornée à {@value #MAX_PAGE_SIZE})
+     * @return la page et le curseur de la suivante
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReviewCommentDto> getCommentsPage(UUID reviewId, String cursor, int size) {
+        if (!userMatchRepository.existsById(reviewId)) {
+            throw new UserMatchNotFoundException("Review not found");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        CursorUtils.Cursor position = CursorUtils.decode(cursor);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<ReviewComment> rows = position == null
+                ? reviewCommentRepository.findFirstPage(reviewId, limit)
+                : reviewCommentRepository.findPageAfter(reviewId, position.createdAt(), position.id(), limit);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ReviewComment> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            ReviewComment last = page.get(page.size() - 1);
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPageDto<>(page.stream().map(ReviewCommentDto::fromEntity).toList(), nextCursor, hasMore);
+    }
+
+    /**
+     * Renseigne le nombre de commentaires de chaque review d'une page, et
+     * éventuellement l'aperçu de ses {@value #PREVIEW_SIZE} derniers
+     * commentaires. Une requête groupée pour les compteurs, une requête fenêtrée
+     * pour l'aperçu, quelle que soit la taille de la page.
+     *
+     * @param reviews     reviews à compléter
+     * @param withPreview charge aussi les derniers commentaires
+     */
+    @Transactional(readOnly = true)
+    public void fillCommentSummaries(List<UserMatchFullDto> reviews, boolean withPreview) {
+        if (reviews.isEmpty()) {
+            return;
+        }
+        List<UUID> reviewIds = reviews.stream().map(UserMatchFullDto::getId).toList();
+
+        Map<UUID, Long> counts = new HashMap<>();
+        for (Object[] row : reviewCommentRepository.countByUserMatchIds(reviewIds)) {
+            counts.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+
+        Map<UUID, List<ReviewCommentDto>> previews = new HashMap<>();
+        if (withPreview) {
+            String sql = LATEST_PER_REVIEW_SQL.formatted(String.join(",", Collections.nCopies(reviewIds.size(), "?")));
+            List<Object> args = new ArrayList<>(reviewIds);
+            args.add(PREVIEW_SIZE);
+            jdbcTemplate.query(sql, rs -> {
+                Timestamp createdAt = rs.getTimestamp(6);
+                ReviewCommentDto comment = new ReviewCommentDto(
+                        rs.getObject(1, UUID.class),
+                        rs.getObject(2, UUID.class),
+                        rs.getObject(3, UUID.class),
+                        rs.getString(4),
+                        rs.getString(5),
+                        createdAt == null ? null : createdAt.toLocalDateTime(),
+                        rs.getBoolean(7),
+                        rs.getString(8));
+                previews.computeIfAbsent(comment.userMatchId(), id -> new ArrayList<>()).add(comment);
+            }, args.toArray());
+        }
+
+        for (UserMatchFullDto review : reviews) {
+            review.setCommentsCount(counts.getOrDefault(review.getId(), 0L));
+            if (withPreview) {
+                review.setLatestComments(previews.getOrDefault(review.getId(), List.of()));
+            }
+        }
+    }
+
     @Transactional
     public ReviewComment addComment(UUID reviewId, UUID userId, String content) {
         UserMatch userMatch = userMatchRepository.findById(reviewId)
@@ -44,13 +157,11 @@ public class ReviewCommentService {
 
         // Notify the review author
         if (!userMatch.getUser().getId().equals(userId)) {
-            eventPublisher.publishEvent(new NotificationEvent(
-                    this,
-                    userMatch.getUser(),
-                    user,
-                    NotificationType.COMMENT,
-                    user.getName() + " commented on your review",
-                    reviewId.toString()));
+            outboxService.append(OutboxEventType.REVIEW_COMMENTED, reviewId, new ReviewInteractionEvent(
+                    reviewId,
+                    userMatch.getUser().getId(),
+                    userId,
+                    user.getName() + " commented on your review"));
         }
 
         return saved;
@@ -66,7 +177,7 @@ public class ReviewCommentService {
         ReviewComment comment = reviewCommentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
         comment.setModerated(true);
-        comment.setContent("[Comment excluded by an administrator]");
+        comment.setContent(UserMatchService.MODERATED_COMMENT);
         return reviewCommentRepository.save(comment);
     }
 }
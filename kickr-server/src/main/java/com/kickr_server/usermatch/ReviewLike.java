@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "review_likes")
+@Table(name = "review_likes", uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "user_match_id" }))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,8 +1,13 @@
 package com.kickr_server.usermatch;
 
+import com.kickr_server.dto.UserMatch.LikedReviewsRequestDto;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -17,8 +22,31 @@ public class ReviewLikeController {
         reviewLikeService.toggleLike(reviewId, userId);
     }
 
+    /**
+     * Like idempotent, à préférer au basculement : un double clic n'annule pas le
+     * like.
+     */
+    @PutMapping("/review/{reviewId}/user/{userId}")
+    public void like(@PathVariable UUID reviewId, @PathVariable UUID userId) {
+        reviewLikeService.like(reviewId, userId);
+    }
+
+    @DeleteMapping("/review/{reviewId}/user/{userId}")
+    public void unlike(@PathVariable UUID reviewId, @PathVariable UUID userId) {
+        reviewLikeService.unlike(reviewId, userId);
+    }
+
     @GetMapping("/review/{reviewId}/user/{userId}/check")
     public boolean checkLike(@PathVariable UUID reviewId, @PathVariable UUID userId) {
         return reviewLikeService.isLikedByUser(reviewId, userId);
     }
+
+    /**
+     * Renvoie, parmi une page de reviews, celles likées par l'utilisateur connecté.
+     */
+    @PostMapping("/liked")
+    public Set<UUID> getLikedReviews(@Valid @RequestBody LikedReviewsRequestDto request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return reviewLikeService.getLikedReviewIds(userDetails.getUsername(), request.getReviewIds());
+    }
 }
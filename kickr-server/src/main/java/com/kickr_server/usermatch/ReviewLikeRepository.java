@@ -2,6 +2,12 @@ package com.kickr_server.usermatch;
 
 import com.kickr_server.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +17,17 @@ public interface ReviewLikeRepository extends JpaRepository<ReviewLike, UUID> {
     Optional<ReviewLike> findByUserAndUserMatch(User user, UserMatch userMatch);
 
     long countByUserMatchId(UUID userMatchId);
+
+    boolean existsByUserIdAndUserMatchId(UUID userId, UUID userMatchId);
+
+    /**
+     * Parmi les reviews données, celles likées par l'utilisateur. Servi par
+     * l'index unique (user_id, user_match_id).
+     */
+    @Query("SELECT rl.userMatch.id FROM ReviewLike rl WHERE rl.user.id = :userId AND rl.userMatch.id IN :reviewIds")
+    List<UUID> findLikedReviewIds(@Param("userId") UUID userId, @Param("reviewIds") Collection<UUID> reviewIds);
+
+    @Modifying
+    @Query("DELETE FROM ReviewLike rl WHERE rl.user.id = :userId AND rl.userMatch.id = :reviewId")
+    int deleteByUserIdAndReviewId(@Param("userId") UUID userId, @Param("reviewId") UUID reviewId);
 }
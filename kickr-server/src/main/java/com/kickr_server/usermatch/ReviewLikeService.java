@@ -1,64 +1,146 @@
 package com.kickr_server.usermatch;
 
-import com.kickr_server.user.User;
-import com.kickr_server.user.UserRepository;
+import com.kickr_server.dto.UserMatch.UserMatchFullDto;
+import com.kickr_server.event.ReviewInteractionEvent;
 import com.kickr_server.exception.user.UserNotFoundException;
 import com.kickr_server.exception.userMatch.UserMatchNotFoundException;
-import com.kickr_server.notification.NotificationType;
-import com.kickr_server.event.NotificationEvent;
+import com.kickr_server.outbox.OutboxEventType;
+import com.kickr_server.outbox.OutboxService;
+import com.kickr_server.user.User;
+import com.kickr_server.user.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Gestion des likes sur les reviews.
+ * <p>
+ * Le compteur {@code likes_count} n'est jamais lu puis réécrit depuis Java : il
+ * est modifié par une mise à jour atomique, uniquement quand la ligne de
+ * {@code review_likes} a réellement été insérée ou supprimée. La contrainte
+ * d'unicité (utilisateur, review) garantit qu'un like concurrent du même
+ * utilisateur n'est compté qu'une fois.
+ */
 @Service
 @RequiredArgsConstructor
 public class ReviewLikeService {
 
+    private static final String INSERT_LIKE_SQL = """
+            INSERT INTO review_likes (id, user_id, user_match_id, created_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (user_id, user_match_id) DO NOTHING""";
+
     private final ReviewLikeRepository reviewLikeRepository;
     private final UserMatchRepository userMatchRepository;
     private final UserRepository userRepository;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final JdbcTemplate jdbcTemplate;
 
+    /**
+     * Ajoute le like de l'utilisateur s'il n'existe pas, le retire sinon.
+     */
     @Transactional
     public void toggleLike(UUID reviewId, UUID userId) {
+        if (!unlike(reviewId, userId)) {
+            like(reviewId, userId);
+        }
+    }
+
+    /**
+     * Ajoute le like de l'utilisateur. Idempotent : un double clic, même
+     * simultané, n'est compté qu'une fois.
+     *
+     * @return true si le like a été ajouté, false s'il existait déjà
+     */
+    @Transactional
+    public boolean like(UUID reviewId, UUID userId) {
         UserMatch review = userMatchRepository.findById(reviewId)
                 .orElseThrow(() -> new UserMatchNotFoundException("Review not found"));
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-        reviewLikeRepository.findByUserAndUserMatch(user, review).ifPresentOrElse(
-                like -> {
-                    reviewLikeRepository.delete(like);
-                    review.setLikesCount(Math.max(0, review.getLikesCount() - 1));
-                },
-                () -> {
-                    ReviewLike like = ReviewLike.builder()
-                            .user(user)
-                            .userMatch(review)
-                            .build();
-                    reviewLikeRepository.save(like);
-                    review.setLikesCount(review.getLikesCount() + 1);
+        if (!insertLike(reviewId, userId)) {
+            return false;
+        }
+        userMatchRepository.addToLikesCount(reviewId, 1);
 
-                    // Notify review owner
-                    eventPublisher.publishEvent(new NotificationEvent(
-                            this,
-                            review.getUser(),
-                            user,
-                            NotificationType.LIKE,
-                            user.getName() + " liked your review",
-                            reviewId.toString()));
-                });
-        userMatchRepository.save(review);
+        // Notify review owner
+        outboxService.append(OutboxEventType.REVIEW_LIKED, reviewId, new ReviewInteractionEvent(
+                reviewId,
+                review.getUser().getId(),
+                userId,
+                user.getName() + " liked your review"));
+        return true;
     }
 
-    public boolean isLikedByUser(UUID reviewId, UUID userId) {
-        UserMatch review = userMatchRepository.findById(reviewId).orElse(null);
-        User user = userRepository.findById(userId).orElse(null);
-        if (review == null || user == null)
+    /**
+     * Retire le like de l'utilisateur. Idempotent.
+     *
+     * @return true si le like a été retiré, false s'il n'existait pas
+     */
+    @Transactional
+    public boolean unlike(UUID reviewId, UUID userId) {
+        if (reviewLikeRepository.deleteByUserIdAndReviewId(userId, reviewId) == 0) {
             return false;
-        return reviewLikeRepository.existsByUserAndUserMatch(user, review);
+        }
+        userMatchRepository.addToLikesCount(reviewId, -1);
+        return true;
+    }
+
+    public boolean isLikedByUser(UUID reviewId, UUID userId) {
+        return reviewLikeRepository.existsByUserIdAndUserMatchId(userId, reviewId);
+    }
+
+    /**
+     * Récupère, en une requête, les reviews likées par un utilisateur parmi une
+     * page de reviews.
+     *
+     * @param email     email de l'utilisateur connecté
+     * @param reviewIds identifiants des reviews affichées
+     * @return identifiants des reviews likées
+     */
+    @Transactional(readOnly = true)
+    public Set<UUID> getLikedReviewIds(String email, Collection<UUID> reviewIds) {
+        if (reviewIds.isEmpty()) {
+            return Set.of();
+        }
+        return userRepository.findByEmail(email)
+                .map(user -> Set.copyOf(reviewLikeRepository.findLikedReviewIds(user.getId(), new HashSet<>(reviewIds))))
+                .orElse(Set.of());
+    }
+
+    /**
+     * Renseigne {@code likedByMe} sur une page de reviews, en une requête. Sans
+     * utilisateur connecté, les DTO sont laissés tels quels.
+     *
+     * @param reviews reviews de la page
+     * @param email   email de l'utilisateur connecté, ou null
+     */
+    public void fillLikedByMe(List<UserMatchFullDto> reviews, String email) {
+        if (email == null || reviews.isEmpty()) {
+            return;
+        }
+        Set<UUID> liked = getLikedReviewIds(email, reviews.stream().map(UserMatchFullDto::getId).toList());
+        reviews.forEach(review -> review.setLikedByMe(liked.contains(review.getId())));
+    }
+
+    /**
+     * Insère le like s'il n'existe pas déjà.
+     *
+     * @return true si la ligne a été insérée, false si un like concurrent du même
+     *         utilisateur l'a devancé
+     */
+    private boolean insertLike(UUID reviewId, UUID userId) {
+        Object[] args = { UUID.randomUUID(), userId, reviewId, Timestamp.valueOf(LocalDateTime.now()) };
+        return jdbcTemplate.update(INSERT_LIKE_SQL, args) > 0;
     }
 }
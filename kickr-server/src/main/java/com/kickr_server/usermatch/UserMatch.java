@@ -105,15 +105,32 @@ public class UserMatch {
     @Column(nullable = false)
     private boolean isModerated = false;
 
+    /**
+     * Date et heure de la dernière écriture de la review (création ou
+     * modification), tenue à jour par les callbacks JPA.
+     */
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
     /**
      * Callback exécuté automatiquement avant l’insertion en base.
      * Définit {@code watchedAt} à la date et l’heure actuelles si elle est absente.
      */
     @PrePersist
     public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
         if (watchedAt == null) {
-            watchedAt = LocalDateTime.now();
+            watchedAt = now;
         }
+        updatedAt = now;
+    }
+
+    /**
+     * Callback exécuté automatiquement avant chaque mise à jour en base.
+     */
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 
     public void setNote(double note) {
@@ -4,7 +4,7 @@ import com.kickr_server.dto.UserMatch.UserMatchDto;
 import com.kickr_server.dto.UserMatch.UserMatchFullDto;
 import com.kickr_server.dto.UserMatch.UserMatchUpdateDto;
 import com.kickr_server.dto.generic.ApiResponseDto;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import com.kickr_server.ratelimit.RateLimited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,6 +15,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.domain.Sort;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,17 +28,22 @@ import java.util.UUID;
 public class UserMatchController {
 
         private final UserMatchService userMatchService;
+        private final ReviewLikeService reviewLikeService;
+        private final ReviewCommentService reviewCommentService;
 
         @Operation(summary = "Récupère toutes les évaluations avec informations complètes")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Liste de toutes les évaluations")
         })
-        @RateLimiter(name = "userMatchRateLimiter")
+        @RateLimited("user-match")
         @GetMapping
         public Page<UserMatchFullDto> getAllUserMatch(
-                        @PageableDefault(size = 20, sort = "watchedAt", direction = Sort.Direction.DESC) Pageable pageable) {
-                return userMatchService.findAll(pageable)
-                                .map(UserMatchFullDto::fromEntity);
+                        @PageableDefault(size = 20, sort = "watchedAt", direction = Sort.Direction.DESC) Pageable pageable,
+                        @Parameter(description = "Renseigne likedByMe pour l'utilisateur connecté") @RequestParam(defaultValue = "false") boolean includeLikedByMe,
+                        @Parameter(description = "Ajoute les deux derniers commentaires de chaque review") @RequestParam(defaultValue = "false") boolean includeCommentPreview,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+                return enrich(userMatchService.findAll(pageable)
+                                .map(UserMatchFullDto::fromEntity), includeLikedByMe, includeCommentPreview, userDetails);
         }
 
         @Operation(summary = "Récupère une évaluation par son ID")
@@ -44,7 +51,7 @@ public class UserMatchController {
                         @ApiResponse(responseCode = "200", description = "Évaluation trouvée"),
                         @ApiResponse(responseCode = "404", description = "Évaluation non trouvée")
         })
-        @RateLimiter(name = "userMatchRateLimiter")
+        @RateLimited("user-match")
         @GetMapping("/{id}")
         public UserMatchFullDto getById(@PathVariable UUID id) {
                 return UserMatchFullDto.fromEntity(userMatchService.findById(id));
@@ -54,26 +61,32 @@ public class UserMatchController {
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Liste des dernières évaluations")
         })
-        @RateLimiter(name = "userMatchRateLimiter")
+        @RateLimited("user-match")
         @GetMapping("/latest")
         public List<UserMatchFullDto> getLatestReviews(
-                        @Parameter(description = "Nombre maximum d'évaluations", example = "10") @RequestParam(defaultValue = "10") int limit) {
-                return userMatchService.getLatestReviews(limit).stream()
+                        @Parameter(description = "Nombre maximum d'évaluations", example = "10") @RequestParam(defaultValue = "10") int limit,
+                        @Parameter(description = "Renseigne likedByMe pour l'utilisateur connecté") @RequestParam(defaultValue = "false") boolean includeLikedByMe,
+                        @Parameter(description = "Ajoute les deux derniers commentaires de chaque review") @RequestParam(defaultValue = "false") boolean includeCommentPreview,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+                return enrich(userMatchService.getLatestReviews(limit).stream()
                                 .map(UserMatchFullDto::fromEntity)
-                                .toList();
+                                .toList(), includeLikedByMe, includeCommentPreview, userDetails);
         }
 
         @Operation(summary = "Récupère les évaluations les plus populaires")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Liste des évaluations populaires")
         })
-        @RateLimiter(name = "userMatchRateLimiter")
+        @RateLimited("user-match")
         @GetMapping("/popular")
         public List<UserMatchFullDto> getPopularReviews(
-                        @Parameter(description = "Nombre maximum d'évaluations", example = "10") @RequestParam(defaultValue = "10") int limit) {
-                return userMatchService.getPopularReviews(limit).stream()
+                        @Parameter(description = "Nombre maximum d'évaluations", example = "10") @RequestParam(defaultValue = "10") int limit,
+                        @Parameter(description = "Renseigne likedByMe pour l'utilisateur connecté") @RequestParam(defaultValue = "false") boolean includeLikedByMe,
+                        @Parameter(description = "Ajoute les deux derniers commentaires de chaque review") @RequestParam(defaultValue = "false") boolean includeCommentPreview,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+                return enrich(userMatchService.getPopularReviews(limit).stream()
                                 .map(UserMatchFullDto::fromEntity)
-                                .toList();
+                                .toList(), includeLikedByMe, includeCommentPreview, userDetails);
         }
 
         @Operation(summary = "Récupère toutes les évaluations faites par un utilisateur donné")
@@ -81,13 +94,16 @@ public class UserMatchController {
                         @ApiResponse(responseCode = "200", description = "Liste des évaluations de l'utilisateur"),
                         @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
         })
-        @RateLimiter(name = "userMatchRateLimiter")
+        @RateLimited("user-match")
         @GetMapping("/user/{id}")
         public Page<UserMatchFullDto> getUserMatchByUser(
                         @Parameter(description = "UUID de l'utilisateur", required = true) @PathVariable UUID id,
-                        @PageableDefault(size = 20, sort = "watchedAt", direction = Sort.Direction.DESC) Pageable pageable) {
-                return userMatchService.getByUserId(id, pageable)
-                                .map(UserMatchFullDto::fromEntity);
+                        @PageableDefault(size = 20, sort = "watchedAt", direction = Sort.Direction.DESC) Pageable pageable,
+                        @Parameter(description = "Renseigne likedByMe pour l'utilisateur connecté") @RequestParam(defaultValue = "false") boolean includeLikedByMe,
+                        @Parameter(description = "Ajoute les deux derniers commentaires de chaque review") @RequestParam(defaultValue = "false") boolean includeCommentPreview,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+                return enrich(userMatchService.getByUserId(id, pageable)
+                                .map(UserMatchFullDto::fromEntity), includeLikedByMe, includeCommentPreview, userDetails);
         }
 
         @Operation(summary = "Récupère toutes les évaluations d’un match donné")
@@ -95,15 +111,18 @@ public class UserMatchController {
                         @ApiResponse(responseCode = "200", description = "Liste des évaluations du match"),
                         @ApiResponse(responseCode = "404", description = "Match non trouvé")
         })
-        @RateLimiter(name = "userMatchRateLimiter")
+        @RateLimited("user-match")
         @GetMapping("/match/{id}")
         public List<UserMatchFullDto> getUserMatchByMatch(
                         @Parameter(description = "UUID du match", required = true) @PathVariable UUID id,
                         @RequestParam(defaultValue = "watchedAt") String sortBy,
-                        @RequestParam(defaultValue = "desc") String direction) {
-                return userMatchService.getByMatchId(id, sortBy, direction).stream()
+                        @RequestParam(defaultValue = "desc") String direction,
+                        @Parameter(description = "Renseigne likedByMe pour l'utilisateur connecté") @RequestParam(defaultValue = "false") boolean includeLikedByMe,
+                        @Parameter(description = "Ajoute les deux derniers commentaires de chaque review") @RequestParam(defaultValue = "false") boolean includeCommentPreview,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+                return enrich(userMatchService.getByMatchId(id, sortBy, direction).stream()
                                 .map(UserMatchFullDto::fromEntity)
-                                .toList();
+                                .toList(), includeLikedByMe, includeCommentPreview, userDetails);
         }
 
         @Operation(summary = "Crée une nouvelle évaluation")
@@ -111,7 +130,7 @@ public class UserMatchController {
                         @ApiResponse(responseCode = "200", description = "Évaluation créée avec succès"),
                         @ApiResponse(responseCode = "400", description = "Données invalides")
         })
-        @RateLimiter(name = "userMatchRateLimiter")
+        @RateLimited("user-match")
         @PostMapping
         public ApiResponseDto<UserMatchFullDto> saveUserMatch(
                         @Parameter(description = "DTO de l'évaluation à créer", required = true) @Valid @RequestBody UserMatchDto dto,
@@ -128,7 +147,7 @@ public class UserMatchController {
                         @ApiResponse(responseCode = "404", description = "Évaluation non trouvée"),
                         @ApiResponse(responseCode = "400", description = "Données invalides")
         })
-        @RateLimiter(name = "userMatchRateLimiter")
+        @RateLimited("user-match")
         @PutMapping("/{id}")
         public ApiResponseDto<UserMatchFullDto> updateUserMatch(
                         @Parameter(description = "UUID de l'évaluation à mettre à jour", required = true) @PathVariable UUID id,
@@ -142,7 +161,7 @@ public class UserMatchController {
                         @ApiResponse(responseCode = "200", description = "Évaluation supprimée"),
                         @ApiResponse(responseCode = "404", description = "Évaluation non trouvée")
         })
-        @RateLimiter(name = "userMatchRateLimiter")
+        @RateLimited("user-match")
         @DeleteMapping("/{id}")
         public ApiResponseDto<Void> deleteUserMatch(
                         @Parameter(description = "UUID de l'évaluation à supprimer", required = true) @PathVariable UUID id,
@@ -157,12 +176,34 @@ public class UserMatchController {
                         @ApiResponse(responseCode = "200", description = "Liste des évaluations des utilisateurs suivis"),
                         @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
         })
-        @RateLimiter(name = "userMatchRateLimiter")
+        @RateLimited("user-match")
         @GetMapping("/following/{userId}")
         public Page<UserMatchFullDto> getFollowingReviews(
                         @Parameter(description = "UUID de l'utilisateur", required = true) @PathVariable UUID userId,
-                        @PageableDefault(size = 20, sort = "watchedAt", direction = Sort.Direction.DESC) Pageable pageable) {
-                return userMatchService.getFollowingReviews(userId, pageable)
-                                .map(UserMatchFullDto::fromEntity);
+                        @PageableDefault(size = 20, sort = "watchedAt", direction = Sort.Direction.DESC) Pageable pageable,
+                        @Parameter(description = "Renseigne likedByMe pour l'utilisateur connecté") @RequestParam(defaultValue = "false") boolean includeLikedByMe,
+                        @Parameter(description = "Ajoute les deux derniers commentaires de chaque review") @RequestParam(defaultValue = "false") boolean includeCommentPreview,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+                return enrich(userMatchService.getFollowingReviews(userId, pageable)
+                                .map(UserMatchFullDto::fromEntity), includeLikedByMe, includeCommentPreview, userDetails);
+        }
+
+        /**
+         * Complète une page de reviews : compteurs de commentaires, et sur demande
+         * aperçu des commentaires et état du like de l'utilisateur connecté.
+         */
+        private List<UserMatchFullDto> enrich(List<UserMatchFullDto> reviews, boolean includeLikedByMe,
+                        boolean includeCommentPreview, UserDetails userDetails) {
+                reviewCommentService.fillCommentSummaries(reviews, includeCommentPreview);
+                if (includeLikedByMe && userDetails != null) {
+                        reviewLikeService.fillLikedByMe(reviews, userDetails.getUsername());
+                }
+                return reviews;
+        }
+
+        private Page<UserMatchFullDto> enrich(Page<UserMatchFullDto> reviews, boolean includeLikedByMe,
+                        boolean includeCommentPreview, UserDetails userDetails) {
+                enrich(reviews.getContent(), includeLikedByMe, includeCommentPreview, userDetails);
+                return reviews;
         }
 }
@@ -5,10 +5,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,6 +18,34 @@ import java.util.UUID;
 public interface UserMatchRepository extends JpaRepository<UserMatch, UUID> {
     boolean existsByUserAndMatch(User user, com.kickr_server.match.Match match);
 
+    /**
+     * Incrémente ou décrémente le compteur de likes en une seule instruction, sans
+     * jamais descendre sous zéro.
+     */
+    @Modifying
+    @Query("UPDATE UserMatch um SET um.likesCount = um.likesCount + :delta "
+            + "WHERE um.id = :id AND um.likesCount + :delta >= 0")
+    int addToLikesCount(@Param("id") UUID id, @Param("delta") int delta);
+
+    /**
+     * Auteur et texte des reviews visées par des signalements, en une requête.
+     *
+     * @return lignes {@code [reviewId, authorId, authorName, comment, isModerated]}
+     */
+    @Query("SELECT um.id, u.id, u.name, um.comment, um.isModerated FROM UserMatch um JOIN um.user u "
+            + "WHERE um.id IN :ids")
+    List<Object[]> findReportTargets(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Modère en une instruction les reviews qui ne le sont pas encore.
+     *
+     * @return nombre de reviews modérées
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserMatch um SET um.isModerated = true, um.comment = :text "
+            + "WHERE um.id IN :ids AND um.isModerated = false")
+    int moderateAll(@Param("ids") Collection<UUID> ids, @Param("text") String text);
+
     List<UserMatch> findByUserId(UUID userId);
 
     Page<UserMatch> findByUserId(UUID userId, Pageable pageable);
@@ -49,8 +79,4 @@ public interface UserMatchRepository extends JpaRepository<UserMatch, UUID> {
     @Query("SELECT um FROM UserMatch um ORDER BY um.likesCount DESC, um.watchedAt DESC")
     List<UserMatch> findPopularReviews(Pageable pageable);
 
-    @Query(value = "SELECT CAST(watched_at AS DATE) as date, COUNT(*) as count FROM user_matches WHERE watched_at >= :startDate GROUP BY CAST(watched_at AS DATE) ORDER BY date", nativeQuery = true)
-    List<Object[]> countReviewsByDay(@Param("startDate") java.time.LocalDateTime startDate);
-
-    long countByWatchedAtBetween(java.time.LocalDateTime start, java.time.LocalDateTime end);
 }
@@ -9,12 +9,13 @@ import com.kickr_server.match.Match;
 import com.kickr_server.match.MatchRepository;
 import com.kickr_server.user.User;
 import com.kickr_server.user.UserRepository;
-import com.kickr_server.notification.NotificationType;
-import com.kickr_server.event.NotificationEvent;
+import com.kickr_server.event.ReviewEvent;
+import com.kickr_server.outbox.OutboxEventType;
+import com.kickr_server.outbox.OutboxService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -41,11 +42,16 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UserMatchService {
 
+    /**
+     * Texte substitué au contenu d'une review ou d'un commentaire modéré.
+     */
+    public static final String MODERATED_COMMENT = "[Comment excluded by an administrator]";
+
     private final UserMatchRepository userMatchRepository;
     private final MatchRepository matchRepository;
     private final UserRepository userRepository;
     private final FollowService followService;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
 
     public User getUserEntityByEmail(String email) {
         return userRepository.findByEmail(email)
@@ -153,6 +159,7 @@ public class UserMatchService {
      * @throws IllegalCommentLengthException si le commentaire dépasse 1000
      *                                       caractères
      */
+    @Transactional
     public UserMatch save(UserMatchDto dto) {
         Match match = matchRepository.findById(dto.matchId)
                 .orElseThrow(() -> new IllegalArgumentException("Match not found"));
@@ -175,18 +182,12 @@ public class UserMatchService {
         userMatch.setNote(dto.note);
 
         UserMatch savedMatch = userMatchRepository.save(userMatch);
-
-        List<User> followers = followService.getFollowers(user.getId());
-        for (User follower : followers) {
-            eventPublisher.publishEvent(new NotificationEvent(
-                    this,
-                    follower,
-                    user,
-                    NotificationType.NEW_REVIEW,
-                    user.getName() + " logged a match: " + match.getHomeTeam().getName() + " vs "
-                            + match.getAwayTeam().getName(),
-                    savedMatch.getId().toString()));
-        }
+        outboxService.append(OutboxEventType.REVIEW_CREATED, savedMatch.getId(), new ReviewEvent(
+                savedMatch.getId(),
+                user.getId(),
+                user.getName() + " logged a match: " + match.getHomeTeam().getName() + " vs "
+                        + match.getAwayTeam().getName(),
+                savedMatch.getWatchedAt().toLocalDate()));
 
         return savedMatch;
     }
@@ -257,6 +258,7 @@ public class UserMatchService {
      *                                                                   n'a pas le
      *                                                                   droit
      */
+    @Transactional
     public void delete(UUID id, User currentUser) {
         UserMatch existing = userMatchRepository.findById(id)
                 .orElseThrow(() -> new UserMatchNotFoundException("Evaluation not found"));
@@ -270,6 +272,8 @@ public class UserMatchService {
         }
 
         userMatchRepository.delete(existing);
+        outboxService.append(OutboxEventType.REVIEW_DELETED, id,
+                new ReviewEvent(id, existing.getUser().getId(), null, existing.getWatchedAt().toLocalDate()));
     }
 
     /**
@@ -283,7 +287,7 @@ public class UserMatchService {
                 .orElseThrow(() -> new UserMatchNotFoundException("Evaluation not found"));
 
         existing.setModerated(true);
-        existing.setComment("[Comment excluded by an administrator]");
+        existing.setComment(MODERATED_COMMENT);
 
         return userMatchRepository.save(existing);
     }
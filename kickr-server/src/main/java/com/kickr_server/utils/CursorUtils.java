@@ -0,0 +1,68 @@
+package com.kickr_server.utils;
+
+import com.kickr_server.exception.generic.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Utilitaire d'encodage des curseurs de pagination par clé.
+ * <p>
+ * Un curseur désigne le dernier élément d'une page par le couple
+ * {@code (createdAt, id)}, l'identifiant départageant les éléments de même date.
+ * Il est transmis au client sous forme opaque (Base64 URL-safe).
+ */
+public class CursorUtils {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Position décodée d'un curseur.
+     *
+     * @param createdAt date de création du dernier élément de la page
+     * @param id        identifiant du dernier élément de la page
+     */
+    public record Cursor(LocalDateTime createdAt, UUID id) {
+    }
+
+    /**
+     * Constructeur privé pour empêcher l'instanciation de cette classe utilitaire.
+     */
+    private CursorUtils() {
+    }
+
+    /**
+     * Encode la position d'un élément en curseur opaque.
+     */
+    public static String encode(LocalDateTime createdAt, UUID id) {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur produit par {@link #encode(LocalDateTime, UUID)}.
+     *
+     * @param cursor curseur opaque, ou null pour la première page
+     * @return la position décodée, ou null si {@code cursor} est vide
+     * @throws InvalidCursorException si le curseur est mal formé
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
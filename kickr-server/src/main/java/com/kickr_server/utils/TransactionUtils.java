@@ -0,0 +1,34 @@
+package com.kickr_server.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilitaires liés aux transactions Spring.
+ */
+public class TransactionUtils {
+
+    /**
+     * Constructeur privé pour empêcher l'instanciation de cette classe utilitaire.
+     */
+    private TransactionUtils() {
+    }
+
+    /**
+     * Exécute une action après la validation de la transaction courante, ou
+     * immédiatement s'il n'y en a pas. L'action n'est jamais exécutée si la
+     * transaction est annulée.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
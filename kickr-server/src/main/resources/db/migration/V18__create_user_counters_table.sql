@@ -0,0 +1,19 @@
+-- Migration: Create user_counters table
+-- Description: Denormalized review/follower/following counts per user, maintained asynchronously by the application
+
+CREATE TABLE user_counters (
+    user_id UUID PRIMARY KEY,
+    reviews_count BIGINT NOT NULL DEFAULT 0,
+    followers_count BIGINT NOT NULL DEFAULT 0,
+    following_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_user_counters_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Initial backfill from the source tables
+INSERT INTO user_counters (user_id, reviews_count, followers_count, following_count)
+SELECT u.id,
+       (SELECT COUNT(*) FROM user_matches um WHERE um.user_id = u.id),
+       (SELECT COUNT(*) FROM follows f WHERE f.followed_id = u.id),
+       (SELECT COUNT(*) FROM follows f WHERE f.follower_id = u.id)
+FROM users u;
@@ -0,0 +1,18 @@
+-- Migration: Create follow_suggestions table
+-- Description: Precomputed "who to follow" suggestions (top-K per user), refreshed by a scheduled job
+
+CREATE TABLE follow_suggestions (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    suggested_user_id UUID NOT NULL,
+    suggestion_rank INTEGER NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    mutual_follows INTEGER NOT NULL,
+    shared_matches INTEGER NOT NULL,
+    computed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT fk_follow_suggestions_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_follow_suggestions_suggested FOREIGN KEY (suggested_user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT uk_follow_suggestions_pair UNIQUE (user_id, suggested_user_id)
+);
+
+CREATE INDEX idx_follow_suggestions_user_rank ON follow_suggestions(user_id, suggestion_rank);
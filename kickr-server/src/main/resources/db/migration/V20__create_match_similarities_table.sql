@@ -0,0 +1,26 @@
+-- Migration: Create match_similarities and job_watermarks tables
+-- Description: Precomputed item-to-item neighbors ("fans who rated this match also rated") and incremental job state
+
+CREATE TABLE match_similarities (
+    id UUID PRIMARY KEY,
+    match_id UUID NOT NULL,
+    similar_match_id UUID NOT NULL,
+    similarity_rank INTEGER NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    co_ratings INTEGER NOT NULL,
+    computed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT fk_match_similarities_match FOREIGN KEY (match_id) REFERENCES matches(id) ON DELETE CASCADE,
+    CONSTRAINT fk_match_similarities_similar FOREIGN KEY (similar_match_id) REFERENCES matches(id) ON DELETE CASCADE,
+    CONSTRAINT uk_match_similarities_pair UNIQUE (match_id, similar_match_id)
+);
+
+CREATE INDEX idx_match_similarities_match_rank ON match_similarities(match_id, similarity_rank);
+
+CREATE TABLE job_watermarks (
+    job_name VARCHAR(100) PRIMARY KEY,
+    watermark TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+-- Supports the incremental scan of reviews added since the last run
+CREATE INDEX IF NOT EXISTS idx_user_matches_watched_at ON user_matches(watched_at);
@@ -0,0 +1,12 @@
+-- Migration: Notification aggregation
+-- Description: Likes, comments and follows of the same kind are folded into a single grouped notification
+
+ALTER TABLE notifications ADD COLUMN actor_count INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE notifications ADD COLUMN recent_actor_ids VARCHAR(512);
+
+UPDATE notifications SET recent_actor_ids = CAST(actor_id AS VARCHAR);
+
+-- Supports the lookup of the open (unread) group for a recipient
+CREATE INDEX IF NOT EXISTS idx_notifications_group
+    ON notifications(recipient_id, type, target_id, created_at DESC)
+    WHERE is_read = FALSE;
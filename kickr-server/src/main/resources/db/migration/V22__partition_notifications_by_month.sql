@@ -0,0 +1,54 @@
+-- Migration: Partition notifications by month
+-- Description: Recreates notifications as a table range-partitioned on created_at (one partition per month,
+-- plus a default partition). Upcoming partitions are created and old ones dropped by NotificationRetentionService.
+
+ALTER TABLE notifications RENAME TO notifications_legacy;
+
+CREATE TABLE notifications (
+    id UUID NOT NULL,
+    recipient_id UUID NOT NULL REFERENCES users(id),
+    actor_id UUID NOT NULL REFERENCES users(id),
+    type VARCHAR(255) NOT NULL,
+    message VARCHAR(255),
+    target_id VARCHAR(255),
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    actor_count INTEGER NOT NULL DEFAULT 1,
+    recent_actor_ids VARCHAR(512),
+    CONSTRAINT notifications_pk PRIMARY KEY (id, created_at),
+    CONSTRAINT notifications_type_check CHECK (type IN ('FOLLOW', 'NEW_REVIEW', 'COMMENT', 'LIKE'))
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+-- One partition per month from the oldest existing notification up to three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(created_at), now()))::date INTO month_start FROM notifications_legacy;
+    last_month := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       'notifications_' || to_char(month_start, 'YYYY_MM'),
+                       month_start,
+                       (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO notifications (id, recipient_id, actor_id, type, message, target_id, is_read, created_at,
+                           actor_count, recent_actor_ids)
+SELECT id, recipient_id, actor_id, type, message, target_id, is_read, COALESCE(created_at, now()),
+       actor_count, recent_actor_ids
+FROM notifications_legacy;
+
+DROP TABLE notifications_legacy;
+
+-- Indexes are created on the parent and propagated to every partition
+CREATE INDEX idx_notifications_recipient_created ON notifications(recipient_id, created_at DESC, id DESC);
+
+CREATE INDEX idx_notifications_group
+    ON notifications(recipient_id, type, target_id, created_at DESC)
+    WHERE is_read = FALSE;
@@ -0,0 +1,22 @@
+-- Migration: Create outbox_events table
+-- Description: Domain events written in the same transaction as reviews, follows, likes and comments, relayed to consumers in batches
+
+CREATE TABLE outbox_events (
+    id UUID PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    available_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    processed_at TIMESTAMP WITHOUT TIME ZONE,
+    last_error VARCHAR(1000),
+    CONSTRAINT chk_outbox_events_status CHECK (status IN ('PENDING', 'DONE', 'FAILED'))
+);
+
+-- Relay polling: only pending rows are indexed, so the index stays small
+CREATE INDEX idx_outbox_events_pending ON outbox_events(available_at) WHERE status = 'PENDING';
+
+-- Purge of processed events
+CREATE INDEX idx_outbox_events_processed_at ON outbox_events(processed_at) WHERE status = 'DONE';
@@ -0,0 +1,19 @@
+-- Migration: Create outbound_emails table
+-- Description: Persisted outgoing mail queue, drained by a background worker with retries
+
+CREATE TABLE outbound_emails (
+    id UUID PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    html_body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    available_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    sent_at TIMESTAMP WITHOUT TIME ZONE,
+    last_error VARCHAR(1000),
+    CONSTRAINT chk_outbound_emails_status CHECK (status IN ('PENDING', 'SENT', 'FAILED'))
+);
+
+-- Worker polling: only pending rows are indexed
+CREATE INDEX idx_outbound_emails_pending ON outbound_emails(available_at) WHERE status = 'PENDING';
@@ -0,0 +1,4 @@
+-- Sert le comptage groupé, la pagination par curseur et l'aperçu des derniers
+-- commentaires d'une review.
+CREATE INDEX IF NOT EXISTS idx_review_comments_review_created
+    ON review_comments(user_match_id, created_at, id);
@@ -0,0 +1,3 @@
+-- Version des jetons d'accès d'un utilisateur : l'incrémenter invalide tous
+-- les access tokens déjà émis (changement de mot de passe, de rôle, d'email).
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
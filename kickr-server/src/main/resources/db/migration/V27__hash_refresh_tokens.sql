@@ -0,0 +1,9 @@
+-- Les refresh tokens ne sont plus stockés en clair mais sous forme d'empreinte
+-- SHA-256 (hexadécimal). Les jetons existants sont convertis en place : les
+-- sessions en cours restent valides.
+ALTER TABLE refresh_tokens RENAME COLUMN token TO token_hash;
+UPDATE refresh_tokens SET token_hash = encode(sha256(convert_to(token_hash, 'UTF8')), 'hex');
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash TYPE VARCHAR(64);
+
+-- Purge périodique des jetons expirés.
+CREATE INDEX idx_refresh_tokens_expiry_date ON refresh_tokens(expiry_date);
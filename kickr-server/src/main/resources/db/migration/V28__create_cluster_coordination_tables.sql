@@ -0,0 +1,22 @@
+-- Coordination entre instances de kickr-server (voir le package cluster).
+
+-- Battement de coeur de chaque instance : le nombre d'instances vivantes sert à
+-- répartir les limites de débit locales.
+CREATE TABLE cluster_nodes (
+    node_id VARCHAR(64) PRIMARY KEY,
+    started_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    heartbeat_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+-- Compteurs partagés par fenêtre fixe (quotas d'API externes, limites de débit
+-- globales). Table non journalisée : les écritures sont fréquentes et perdre les
+-- compteurs après un crash de PostgreSQL ne fait que rouvrir la fenêtre en cours.
+CREATE UNLOGGED TABLE cluster_counters (
+    counter_key VARCHAR(255) NOT NULL,
+    window_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    counter_value BIGINT NOT NULL,
+    expires_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    PRIMARY KEY (counter_key, window_start)
+);
+
+CREATE INDEX idx_cluster_counters_expires_at ON cluster_counters(expires_at);
@@ -0,0 +1,31 @@
+-- Migration: Create daily_stats table
+-- Description: Daily rollup of the admin dashboard series (users, reviews, reports, pending reports per day),
+-- maintained incrementally from outbox events and rebuilt nightly from the source tables
+
+CREATE TABLE daily_stats (
+    stat_date DATE NOT NULL,
+    metric VARCHAR(32) NOT NULL,
+    stat_value BIGINT NOT NULL,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (stat_date, metric)
+);
+
+-- Initial backfill from the source tables
+INSERT INTO daily_stats (stat_date, metric, stat_value)
+SELECT CAST(created_at AS DATE), 'USERS', COUNT(*) FROM users
+GROUP BY CAST(created_at AS DATE);
+
+INSERT INTO daily_stats (stat_date, metric, stat_value)
+SELECT CAST(watched_at AS DATE), 'REVIEWS', COUNT(*) FROM user_matches
+WHERE watched_at IS NOT NULL
+GROUP BY CAST(watched_at AS DATE);
+
+INSERT INTO daily_stats (stat_date, metric, stat_value)
+SELECT CAST(created_at AS DATE), 'REPORTS', COUNT(*) FROM reports
+WHERE created_at IS NOT NULL
+GROUP BY CAST(created_at AS DATE);
+
+INSERT INTO daily_stats (stat_date, metric, stat_value)
+SELECT CAST(created_at AS DATE), 'PENDING_REPORTS', COUNT(*) FROM reports
+WHERE created_at IS NOT NULL AND status = 'PENDING'
+GROUP BY CAST(created_at AS DATE);
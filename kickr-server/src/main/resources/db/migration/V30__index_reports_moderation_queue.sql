@@ -0,0 +1,7 @@
+-- Migration: Index the moderation queue
+-- Description: Keyset pagination of reports by status, newest first. Replaces the status-only index,
+-- which is a prefix of the new one.
+
+DROP INDEX IF EXISTS idx_reports_status;
+
+CREATE INDEX idx_reports_status_created ON reports(status, created_at DESC, id DESC);
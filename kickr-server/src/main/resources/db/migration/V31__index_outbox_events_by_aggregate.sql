@@ -0,0 +1,7 @@
+-- Migration: Index pending outbox events by aggregate
+-- Description: The relay only claims an event when no older event of the same aggregate is leased or
+-- waiting for a retry, and processes claimed events in creation order.
+
+CREATE INDEX idx_outbox_events_pending_aggregate ON outbox_events(aggregate_id, created_at, id) WHERE status = 'PENDING';
+
+CREATE INDEX idx_outbox_events_pending_created ON outbox_events(created_at, id) WHERE status = 'PENDING';
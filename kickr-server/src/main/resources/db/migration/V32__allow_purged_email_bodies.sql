@@ -0,0 +1,7 @@
+-- Migration: Drop the body of sent emails
+-- Description: The worker clears html_body once an email is accepted by the SMTP server,
+-- so sent rows no longer keep reset links or other message content until they are purged
+
+ALTER TABLE outbound_emails ALTER COLUMN html_body DROP NOT NULL;
+
+UPDATE outbound_emails SET html_body = NULL WHERE status = 'SENT';
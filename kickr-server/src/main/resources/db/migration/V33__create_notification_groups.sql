@@ -0,0 +1,33 @@
+-- Migration: Open notification groups
+-- Description: At most one open (unread, within the aggregation window) grouped notification per
+-- recipient, type and target. notifications is partitioned on created_at, so a unique index on it would
+-- have to include created_at; the open group is registered in its own table instead, keyed on the group,
+-- and claimed with an upsert. The distinct actors of each open group are kept next to it.
+-- created_at of a notification no longer changes once inserted; updated_at records the last grouped event.
+
+ALTER TABLE notifications ADD COLUMN updated_at TIMESTAMP WITHOUT TIME ZONE;
+
+-- The open group is now found through notification_groups
+DROP INDEX IF EXISTS idx_notifications_group;
+
+CREATE TABLE notification_groups (
+    recipient_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    type VARCHAR(255) NOT NULL,
+    group_key VARCHAR(255) NOT NULL,
+    notification_id UUID,
+    opened_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT notification_groups_pk PRIMARY KEY (recipient_id, type, group_key)
+);
+
+-- Purge of groups older than the aggregation window
+CREATE INDEX idx_notification_groups_opened ON notification_groups(opened_at);
+
+CREATE TABLE notification_group_actors (
+    recipient_id UUID NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    group_key VARCHAR(255) NOT NULL,
+    actor_id UUID NOT NULL,
+    CONSTRAINT notification_group_actors_pk PRIMARY KEY (recipient_id, type, group_key, actor_id),
+    CONSTRAINT notification_group_actors_group_fk FOREIGN KEY (recipient_id, type, group_key)
+        REFERENCES notification_groups(recipient_id, type, group_key) ON DELETE CASCADE
+);
@@ -0,0 +1,12 @@
+-- Migration: Last modification date of reviews
+-- Description: updated_at is set on every insert and update of a review (note, comment...). It is the
+-- watermark of the incremental match similarity run: watched_at misses edited and back-dated reviews.
+
+ALTER TABLE user_matches ADD COLUMN updated_at TIMESTAMP WITHOUT TIME ZONE;
+
+UPDATE user_matches SET updated_at = COALESCE(watched_at, CURRENT_TIMESTAMP);
+
+ALTER TABLE user_matches ALTER COLUMN updated_at SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE user_matches ALTER COLUMN updated_at SET NOT NULL;
+
+CREATE INDEX idx_user_matches_updated_at ON user_matches(updated_at);
@@ -0,0 +1,66 @@
+package com.kickr_server.admin.dashboard;
+
+import com.kickr_server.outbox.OutboxRelay;
+import com.kickr_server.support.PostgresIntegrationTest;
+import com.kickr_server.user.Role;
+import com.kickr_server.user.User;
+import com.kickr_server.user.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Vérifie que la reconstruction des séries ne compte pas deux fois une
+ * modification dont l'événement d'outbox est encore en attente.
+ * <p>
+ * Relais planifié désactivé : seuls les appels explicites à
+ * {@link OutboxRelay#relay()} traitent les événements.
+ */
+@SpringBootTest(properties = "kickr.outbox.poll-interval-ms=3600000")
+public class DailyStatsReconcileTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Reconcile while a registration event is pending: the user is counted exactly once")
+    void reconcileWithPendingEvent() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setName("stats_" + suffix);
+        user.setEmail("stats_" + suffix + "@test.com");
+        user.setPassword("Password123!xx");
+        user.setRole(Role.USER);
+        userService.save(user);
+
+        long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        long pending = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE status = 'PENDING' AND event_type = 'USER_REGISTERED'",
+                Long.class);
+        assertEquals(1, pending);
+
+        dailyStatsService.reconcile();
+        assertEquals(users - 1, dailyStatsService.getTotals().get(DailyStatMetric.USERS));
+
+        outboxRelay.relay();
+        assertEquals(users, dailyStatsService.getTotals().get(DailyStatMetric.USERS));
+
+        dailyStatsService.reconcile();
+        assertEquals(users, dailyStatsService.getTotals().get(DailyStatMetric.USERS));
+    }
+}
@@ -0,0 +1,94 @@
+package com.kickr_server.auth;
+
+import com.kickr_server.exception.auth.PasswordHashingUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires du délestage de {@link PasswordHashingService} : file pleine
+ * et attente trop longue.
+ */
+public class PasswordHashingServiceTest {
+
+    private final AtomicInteger encoded = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor executor;
+    private PasswordHashingService service;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        service = new PasswordHashingService(new CountingEncoder(), executor, 10, 200);
+
+        // Occupe l'unique thread du pool jusqu'à la fin du test.
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Une tâche restée en file au-delà du délai n'est jamais calculée")
+    void testQueuedTaskPastDeadlineIsNotHashed() throws Exception {
+        assertThrows(PasswordHashingUnavailableException.class, () -> service.hash("Password123!xx"));
+
+        release.countDown();
+        executor.getThreadPoolExecutor().shutdown();
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, encoded.get());
+    }
+
+    @Test
+    @DisplayName("Une soumission est refusée immédiatement quand la file est pleine")
+    void testFullQueueIsRejectedAtSubmit() throws Exception {
+        // Occupe la place de la file ; son issue est vérifiée sur le thread du test.
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.hash("Password123!xx"));
+        while (executor.getQueueSize() == 0) {
+            Thread.sleep(5);
+        }
+
+        long startedAt = System.nanoTime();
+        assertThrows(PasswordHashingUnavailableException.class, () -> service.hash("Password123!xx"));
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.MILLISECONDS.toNanos(100));
+
+        ExecutionException queuedOutcome = assertThrows(ExecutionException.class,
+                () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(PasswordHashingUnavailableException.class, queuedOutcome.getCause());
+    }
+
+    private class CountingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            encoded.incrementAndGet();
+            return "{noop}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
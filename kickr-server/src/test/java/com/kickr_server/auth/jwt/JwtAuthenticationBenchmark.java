@@ -0,0 +1,65 @@
+package com.kickr_server.auth.jwt;
+
+import com.kickr_server.user.Role;
+import com.kickr_server.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'authentification d'une requête à partir de son access token : vérification
+ * complète à chaque requête, ou passage par {@link VerifiedTokenCache}.
+ * <p>
+ * Lancement (voir {@code loadtest/README.md}) :
+ *
+ * <pre>
+ * mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main JwtAuthenticationBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private JwtService jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService("benchmark_secret_benchmark_secret_benchmark_secret_benchmark_secret", 900);
+        verifiedTokenCache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), 50_000);
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("bench@kickr.test");
+        user.setRole(Role.USER);
+        token = jwtService.generateToken(user);
+        verifiedTokenCache.verify(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyEveryRequest() {
+        return jwtService.parseAccessToken(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyThroughCache() {
+        return verifiedTokenCache.verify(token);
+    }
+}
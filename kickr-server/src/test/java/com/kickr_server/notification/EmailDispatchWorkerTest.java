@@ -0,0 +1,141 @@
+package com.kickr_server.notification;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.kickr_server.auth.AuthService;
+import com.kickr_server.support.PostgresIntegrationTest;
+import com.kickr_server.user.Role;
+import com.kickr_server.user.User;
+import com.kickr_server.user.UserRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration de la file d'envoi d'emails, contre un serveur SMTP
+ * GreenMail local.
+ */
+@SpringBootTest(properties = {
+        "spring.mail.port=3025",
+        "kickr.mail.queue.poll-interval-ms=3600000"
+})
+public class EmailDispatchWorkerTest extends PostgresIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private EmailDispatchWorker emailDispatchWorker;
+
+    @Autowired
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanUp() {
+        outboundEmailRepository.deleteAll();
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(user -> user.getEmail().endsWith("@mail-queue.test"))
+                .toList());
+    }
+
+    @Test
+    @DisplayName("La demande de réinitialisation met l'email en file sans contacter le serveur SMTP")
+    void testPasswordResetIsQueued() {
+        createUser("queued");
+
+        authService.initiatePasswordReset("queued@mail-queue.test");
+
+        List<OutboundEmail> queued = outboundEmailRepository.findAll();
+        assertEquals(1, queued.size());
+        assertEquals(OutboundEmailStatus.PENDING, queued.get(0).getStatus());
+        assertTrue(queued.get(0).getHtmlBody().contains("/reset-password?token="));
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    @DisplayName("Le worker envoie le lot en file et marque chaque email comme envoyé")
+    void testQueuedEmailsAreDispatched() throws Exception {
+        createUser("first");
+        createUser("second");
+        authService.initiatePasswordReset("first@mail-queue.test");
+        authService.initiatePasswordReset("second@mail-queue.test");
+
+        emailDispatchWorker.dispatch();
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 2));
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Kickr Security: Restore Your Access", received[0].getSubject());
+        assertTrue(GreenMailUtil.getBody(received[0]).contains("Restore Access"));
+
+        List<OutboundEmail> emails = outboundEmailRepository.findAll();
+        assertTrue(emails.stream().allMatch(email -> email.getStatus() == OutboundEmailStatus.SENT));
+        assertTrue(emails.stream().allMatch(email -> email.getAttempts() == 1));
+        assertTrue(emails.stream().allMatch(email -> email.getHtmlBody() == null));
+    }
+
+    @Test
+    @DisplayName("La purge supprime les emails envoyés depuis plus longtemps que la rétention")
+    void testOldSentEmailsArePurged() {
+        createUser("purged");
+        createUser("kept");
+        authService.initiatePasswordReset("purged@mail-queue.test");
+        authService.initiatePasswordReset("kept@mail-queue.test");
+        emailDispatchWorker.dispatch();
+
+        OutboundEmail old = outboundEmailRepository.findAll().stream()
+                .filter(email -> email.getRecipient().startsWith("purged"))
+                .findFirst().orElseThrow();
+        old.setSentAt(LocalDateTime.now().minusDays(30));
+        outboundEmailRepository.save(old);
+
+        emailDispatchWorker.purge();
+
+        List<OutboundEmail> remaining = outboundEmailRepository.findAll();
+        assertEquals(1, remaining.size());
+        assertEquals("kept@mail-queue.test", remaining.get(0).getRecipient());
+    }
+
+    @Test
+    @DisplayName("Un email refusé par le serveur SMTP est replanifié")
+    void testUnreachableServerSchedulesRetry() {
+        createUser("retry");
+        authService.initiatePasswordReset("retry@mail-queue.test");
+        greenMail.stop();
+
+        emailDispatchWorker.dispatch();
+
+        OutboundEmail email = outboundEmailRepository.findAll().get(0);
+        assertEquals(OutboundEmailStatus.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertNotNull(email.getLastError());
+        assertTrue(email.getAvailableAt().isAfter(email.getCreatedAt()));
+    }
+
+    private void createUser(String name) {
+        User user = new User();
+        user.setName(name + "_mail");
+        user.setEmail(name + "@mail-queue.test");
+        user.setPassword("Password123!xx");
+        user.setRole(Role.USER);
+        userRepository.save(user);
+    }
+}
@@ -0,0 +1,92 @@
+package com.kickr_server.notification;
+
+import com.kickr_server.support.PostgresIntegrationTest;
+import com.kickr_server.user.Role;
+import com.kickr_server.user.User;
+import com.kickr_server.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du regroupement des notifications : acteurs distincts, date de création
+ * stable et fermeture du groupe à la lecture.
+ */
+public class NotificationGroupingTest extends PostgresIntegrationTest {
+
+    private static final int ACTORS = 5;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Un acteur qui revient après plus de trois autres n'est compté qu'une fois")
+    void testActorsAreCountedOnce() {
+        User recipient = createUser("recipient");
+        List<User> actors = new ArrayList<>();
+        for (int i = 0; i < ACTORS; i++) {
+            actors.add(createUser("actor" + i));
+        }
+        String reviewId = UUID.randomUUID().toString();
+
+        for (User actor : actors) {
+            notificationService.createNotification(recipient, actor, NotificationType.LIKE, "liked", reviewId);
+        }
+        Notification group = notifications(recipient).get(0);
+        notificationService.createNotification(recipient, actors.get(0), NotificationType.LIKE, "liked", reviewId);
+
+        List<Notification> notifications = notifications(recipient);
+        assertEquals(1, notifications.size());
+        Notification folded = notifications.get(0);
+        assertEquals(ACTORS, folded.getActorCount());
+        assertEquals(actors.get(0).getId(), folded.getActor().getId());
+        assertEquals(group.getCreatedAt(), folded.getCreatedAt());
+        assertNotNull(folded.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("Une notification lue ferme son groupe : l'événement suivant en ouvre un nouveau")
+    void testReadGroupIsClosed() {
+        User recipient = createUser("reader");
+        User first = createUser("first");
+        User second = createUser("second");
+        String reviewId = UUID.randomUUID().toString();
+
+        notificationService.createNotification(recipient, first, NotificationType.LIKE, "liked", reviewId);
+        notificationService.markAsRead(notifications(recipient).get(0).getId());
+        notificationService.createNotification(recipient, second, NotificationType.LIKE, "liked", reviewId);
+        notificationService.createNotification(recipient, first, NotificationType.LIKE, "liked", reviewId);
+
+        List<Notification> notifications = notifications(recipient);
+        assertEquals(2, notifications.size());
+        Notification open = notifications.stream().filter(n -> !n.isRead()).findFirst().orElseThrow();
+        assertEquals(2, open.getActorCount());
+    }
+
+    private List<Notification> notifications(User recipient) {
+        return notificationRepository.findFirstPage(recipient.getId(), PageRequest.of(0, 10));
+    }
+
+    private User createUser(String prefix) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setName(prefix + "_" + suffix);
+        user.setEmail(prefix + "_" + suffix + "@grouping.test");
+        user.setPassword("Password123!xx");
+        user.setRole(Role.USER);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,61 @@
+package com.kickr_server.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires du compteur de notifications non lues.
+ */
+public class UnreadNotificationCounterTest {
+
+    @Test
+    @DisplayName("Un incrément reçu pendant le chargement n'attend pas et invalide la valeur chargée")
+    void testIncrementDuringLoadIsNotLost() throws Exception {
+        UnreadNotificationCounter counter = new UnreadNotificationCounter();
+        ReflectionTestUtils.setField(counter, "ttlSeconds", 300L);
+        UUID userId = UUID.randomUUID();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch loaded = new CountDownLatch(1);
+
+        CompletableFuture<Long> read = CompletableFuture.supplyAsync(() -> counter.get(userId, () -> {
+            loading.countDown();
+            try {
+                loaded.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 4;
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // Le chargement est bloqué : l'incrément ne doit pas l'attendre
+        counter.increment(userId);
+
+        loaded.countDown();
+        assertEquals(4, read.get(5, TimeUnit.SECONDS));
+        assertEquals(5, counter.get(userId, () -> 5), "the stale load must not be cached");
+    }
+
+    @Test
+    @DisplayName("Sans mise à jour concurrente, la valeur chargée est conservée jusqu'au TTL")
+    void testLoadedValueIsCached() {
+        UnreadNotificationCounter counter = new UnreadNotificationCounter();
+        ReflectionTestUtils.setField(counter, "ttlSeconds", 300L);
+        UUID userId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(3, counter.get(userId, () -> { loads.incrementAndGet(); return 3; }));
+        counter.increment(userId);
+        assertEquals(4, counter.get(userId, () -> { loads.incrementAndGet(); return 0; }));
+        assertEquals(1, loads.get());
+    }
+}
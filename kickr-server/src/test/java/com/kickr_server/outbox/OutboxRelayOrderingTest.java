@@ -0,0 +1,111 @@
+package com.kickr_server.outbox;
+
+import com.kickr_server.event.UserEvent;
+import com.kickr_server.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Vérifie que les événements d'un même agrégat sont traités dans l'ordre de
+ * création, y compris quand l'un d'eux échoue puis est rejoué.
+ * <p>
+ * Relais planifié désactivé : seuls les appels explicites à
+ * {@link OutboxRelay#relay()} traitent les événements.
+ */
+@SpringBootTest(properties = "kickr.outbox.poll-interval-ms=3600000")
+public class OutboxRelayOrderingTest extends PostgresIntegrationTest {
+
+    /**
+     * Événements reçus par le handler de test : {@code "<userId>:ok"} ou
+     * {@code "<userId>:failed"}.
+     */
+    static final List<String> received = new CopyOnWriteArrayList<>();
+    static final Set<UUID> failOnce = java.util.concurrent.ConcurrentHashMap.newKeySet();
+
+    @TestConfiguration
+    static class RecordingHandlerConfig {
+        @Bean
+        OutboxEventHandler recordingHandler() {
+            return new OutboxEventHandler() {
+                @Override
+                public Set<OutboxEventType> handledTypes() {
+                    return Set.of(OutboxEventType.USER_REGISTERED);
+                }
+
+                @Override
+                public void handle(OutboxEventType type, Object payload) {
+                    UUID userId = ((UserEvent) payload).userId();
+                    if (failOnce.remove(userId)) {
+                        received.add(userId + ":failed");
+                        throw new IllegalStateException("Simulated handler failure");
+                    }
+                    received.add(userId + ":ok");
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Un échec bloque la suite de l'agrégat jusqu'au rejeu, qui reprend dans l'ordre")
+    void testFailedEventIsRetriedBeforeLaterEvents() {
+        UUID aggregateId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        failOnce.add(second);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (UUID userId : List.of(first, second, third)) {
+                outboxService.append(OutboxEventType.USER_REGISTERED, aggregateId,
+                        new UserEvent(userId, LocalDate.now()));
+            }
+        });
+
+        outboxRelay.relay();
+
+        assertEquals(List.of(first + ":ok", second + ":failed"), received);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT attempts FROM outbox_events WHERE status = 'PENDING' AND payload LIKE ?",
+                Integer.class, "%" + third + "%"));
+
+        // Le délai avant le nouvel essai n'est pas écoulé : rien ne part.
+        outboxRelay.relay();
+        assertEquals(2, received.size());
+
+        jdbcTemplate.update("UPDATE outbox_events SET available_at = ? WHERE status = 'PENDING' AND attempts > 0",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)));
+        outboxRelay.relay();
+
+        assertEquals(List.of(first + ":ok", second + ":failed", second + ":ok", third + ":ok"), received);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE status = 'PENDING'", Integer.class));
+    }
+}
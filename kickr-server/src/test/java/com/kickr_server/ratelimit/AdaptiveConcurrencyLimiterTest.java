@@ -0,0 +1,82 @@
+package com.kickr_server.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de la limite de concurrence AIMD : admission, augmentation
+ * additive et diminution multiplicative.
+ */
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+
+    @Test
+    @DisplayName("Seule la part de la limite accordée à la priorité est admise")
+    void testAdmissionUpToShare() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 6; i++) {
+            assertTrue(limiter.tryAcquire(0.6));
+        }
+        assertFalse(limiter.tryAcquire(0.6));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(1.0));
+        }
+        assertFalse(limiter.tryAcquire(1.0));
+        assertEquals(10, limiter.inflight());
+    }
+
+    @Test
+    @DisplayName("La limite augmente avec des réponses rapides quand elle est utilisée, jusqu'au maximum")
+    void testAdditiveIncrease() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire(1.0));
+            limiter.release(FAST, false);
+        }
+        assertEquals(10, limiter.limit(), "an underused limit must not grow");
+
+        for (int round = 0; round < 200; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire(1.0)) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(FAST, false);
+            }
+        }
+        assertEquals(20, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Une réponse lente ou en erreur réduit la limite, au plus une fois par durée de seuil")
+    void testMultiplicativeDecrease() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        assertTrue(limiter.tryAcquire(1.0));
+        limiter.release(SLOW, false);
+        assertEquals(9, limiter.limit());
+
+        assertTrue(limiter.tryAcquire(1.0));
+        limiter.release(FAST, true);
+        assertEquals(9, limiter.limit(), "a second backoff within the threshold is ignored");
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        ConcurrencyLimitProperties.Group config = new ConcurrencyLimitProperties.Group();
+        config.setInitialLimit(initialLimit);
+        config.setMinLimit(2);
+        config.setMaxLimit(20);
+        config.setLatencyThreshold(Duration.ofSeconds(1));
+        config.setBackoffRatio(0.9);
+        return new AdaptiveConcurrencyLimiter(config);
+    }
+}
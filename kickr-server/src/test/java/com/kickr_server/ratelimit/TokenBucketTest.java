@@ -0,0 +1,67 @@
+package com.kickr_server.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires du seau à jetons : rafale, remplissage et part de
+ * l'instance.
+ */
+public class TokenBucketTest {
+
+    /**
+     * 10 jetons par seconde.
+     */
+    private static final double TOKENS_PER_NANO = 10.0 / TimeUnit.SECONDS.toNanos(1);
+
+    private static final long START = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Une rafale est acceptée jusqu'à la capacité, puis refusée avec le délai avant le prochain jeton")
+    void testBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(5, TOKENS_PER_NANO, START);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume(START, 1));
+        }
+        long wait = bucket.tryConsume(START, 1);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+    }
+
+    @Test
+    @DisplayName("Le seau se remplit au débit configuré, sans dépasser la capacité")
+    void testRefill() {
+        TokenBucket bucket = new TokenBucket(5, TOKENS_PER_NANO, START);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryConsume(START, 1);
+        }
+
+        long later = START + TimeUnit.MILLISECONDS.toNanos(300);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryConsume(later, 1));
+        }
+        assertTrue(bucket.tryConsume(later, 1) > 0);
+
+        long muchLater = later + TimeUnit.MINUTES.toNanos(1);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume(muchLater, 1));
+        }
+        assertTrue(bucket.tryConsume(muchLater, 1) > 0);
+    }
+
+    @Test
+    @DisplayName("Capacité et débit sont réduits à la part de l'instance")
+    void testShare() {
+        TokenBucket bucket = new TokenBucket(10, TOKENS_PER_NANO, START);
+        long later = START + TimeUnit.MINUTES.toNanos(1);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume(later, 0.5));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.tryConsume(later, 0.5));
+    }
+}
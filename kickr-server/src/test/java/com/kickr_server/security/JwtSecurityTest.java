@@ -1,62 +1,151 @@
 package com.kickr_server.security;
 
+import com.kickr_server.auth.AuthService;
+import com.kickr_server.auth.jwt.AuthenticatedUser;
 import com.kickr_server.auth.jwt.JwtService;
+import com.kickr_server.auth.refreshToken.RefreshTokenService;
+import com.kickr_server.dto.Auth.AuthRequest;
+import com.kickr_server.exception.auth.JwtTokenException;
+import com.kickr_server.user.Role;
+import com.kickr_server.user.User;
+import com.kickr_server.user.UserRepository;
+import com.kickr_server.user.UserService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
- * Tests de sécurité pour le service JWT.
+ * Tests de sécurité pour le service JWT et le filtre d'authentification.
+ * <p>
+ * Non transactionnel : la révocation n'invalide le cache des versions qu'après
+ * commit.
  */
 @SpringBootTest
+@AutoConfigureMockMvc
 @ActiveProfiles("test")
 public class JwtSecurityTest {
 
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @AfterEach
+    void cleanUp() {
+        List<User> users = userRepository.findAll().stream()
+                .filter(user -> user.getEmail().endsWith("@jwt.test"))
+                .toList();
+        users.forEach(user -> refreshTokenService.revokeAll(user.getId()));
+        userRepository.deleteAll(users);
+    }
+
     @Test
-    @DisplayName("Token JWT valide peut être généré et validé")
-    void testValidTokenGeneration() {
-        String email = "test@example.com";
-        String token = jwtService.generateToken(email);
-
-        assertNotNull(token);
-        assertDoesNotThrow(() -> jwtService.validateToken(token));
-        assertEquals(email, jwtService.extractUsername(token));
+    @DisplayName("Un access token porte l'identifiant, l'email, le rôle et la version de l'utilisateur")
+    void testAccessTokenCarriesClaims() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("claims@jwt.test");
+        user.setRole(Role.ADMIN);
+        user.setTokenVersion(3);
+
+        AuthenticatedUser parsed = jwtService.parseAccessToken(jwtService.generateToken(user));
+
+        assertEquals(user.getId(), parsed.getId());
+        assertEquals("claims@jwt.test", parsed.getEmail());
+        assertEquals(Role.ADMIN, parsed.getRole());
+        assertEquals(3, parsed.getTokenVersion());
     }
 
     @Test
     @DisplayName("Token JWT invalide est rejeté")
     void testInvalidTokenIsRejected() {
-        String invalidToken = "invalid.token.here";
-
-        assertThrows(Exception.class, () -> jwtService.validateToken(invalidToken));
+        assertThrows(JwtTokenException.class, () -> jwtService.parseAccessToken("invalid.token.here"));
     }
 
     @Test
     @DisplayName("Token JWT vide est rejeté")
     void testEmptyTokenIsRejected() {
-        assertThrows(Exception.class, () -> jwtService.validateToken(""));
+        assertThrows(JwtTokenException.class, () -> jwtService.parseAccessToken(""));
     }
 
     @Test
     @DisplayName("Token JWT null est rejeté")
     void testNullTokenIsRejected() {
-        assertThrows(Exception.class, () -> jwtService.validateToken(null));
+        assertThrows(JwtTokenException.class, () -> jwtService.parseAccessToken(null));
     }
 
     @Test
-    @DisplayName("Email peut être extrait du token")
-    void testEmailExtractionFromToken() {
-        String email = "user@test.com";
-        String token = jwtService.generateToken(email);
+    @DisplayName("Un token signé mais sans claims d'autorisation est refusé")
+    void testTokenWithoutClaimsIsRejected() throws Exception {
+        String token = Jwts.builder()
+                .setSubject("legacy@jwt.test")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertThrows(JwtTokenException.class, () -> jwtService.parseAccessToken(token));
+        mockMvc.perform(get("/api/admin/users")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Un access token est refusé dès que la version de l'utilisateur change")
+    void testTokenIsRevokedAfterVersionBump() throws Exception {
+        User admin = new User();
+        admin.setName("jwtadmin");
+        admin.setEmail("admin@jwt.test");
+        admin.setPassword(passwordEncoder.encode("AdminPass123"));
+        admin.setRole(Role.ADMIN);
+        admin = userService.save(admin);
+        String token = authService.authenticate(new AuthRequest("jwtadmin", "AdminPass123")).token();
+
+        mockMvc.perform(get("/api/admin/users")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        userService.changeRole(admin.getId(), Role.USER);
 
-        String extractedEmail = jwtService.extractUsername(token);
-        assertEquals(email, extractedEmail);
+        mockMvc.perform(get("/api/admin/users")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
     }
 }
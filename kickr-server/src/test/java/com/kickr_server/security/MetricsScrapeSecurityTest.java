@@ -0,0 +1,54 @@
+package com.kickr_server.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de sécurité de l'endpoint de scrape Prometheus, protégé par un
+ * identifiant dédié.
+ */
+@SpringBootTest(properties = {
+        "kickr.metrics.scrape.username=scraper",
+        "kickr.metrics.scrape.password=scrape-secret"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class MetricsScrapeSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Le collecteur accède au scrape avec son identifiant")
+    void testScraperCanScrape() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Le scrape est refusé sans identifiant ou avec un mauvais mot de passe")
+    void testScrapeRequiresCredential() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("L'identifiant du collecteur n'ouvre pas les autres endpoints actuator")
+    void testScrapeCredentialIsLimitedToPrometheus() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("scraper", "scrape-secret")))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,64 @@
+package com.kickr_server.security;
+
+import com.kickr_server.auth.AuthService;
+import com.kickr_server.auth.refreshToken.RefreshTokenService;
+import com.kickr_server.exception.auth.RefreshTokenExpiredException;
+import com.kickr_server.user.Role;
+import com.kickr_server.user.User;
+import com.kickr_server.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de sécurité de la réinitialisation du mot de passe.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class PasswordResetSecurityTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("La réinitialisation du mot de passe révoque les refresh tokens de l'utilisateur")
+    void testResetPasswordRevokesRefreshTokens() {
+        User victim = createUser("victim");
+        User other = createUser("other");
+        String stolenToken = refreshTokenService.createRefreshToken(victim);
+        String otherToken = refreshTokenService.createRefreshToken(other);
+
+        String resetToken = UUID.randomUUID().toString();
+        victim.setResetToken(resetToken);
+        victim.setResetTokenExpiry(LocalDateTime.now().plusHours(1));
+        userRepository.save(victim);
+
+        authService.resetPassword(resetToken, "NewPassword123!xx");
+
+        assertThrows(RefreshTokenExpiredException.class, () -> refreshTokenService.rotate(stolenToken));
+        assertEquals(other.getId(), refreshTokenService.rotate(otherToken).userId());
+    }
+
+    private User createUser(String prefix) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setName(prefix + "_" + suffix);
+        user.setEmail(prefix + "_" + suffix + "@test.com");
+        user.setPassword("Password123!xx");
+        user.setRole(Role.USER);
+        return userRepository.save(user);
+    }
+}
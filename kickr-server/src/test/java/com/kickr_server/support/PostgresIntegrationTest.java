@@ -0,0 +1,93 @@
+package com.kickr_server.support;
+
+import com.kickr_server.cluster.ClusterCoordinator;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Base des tests d'intégration qui exercent le SQL propre à PostgreSQL
+ * ({@code SKIP LOCKED}, verrous consultatifs, {@code ON CONFLICT}...).
+ * <p>
+ * Un conteneur PostgreSQL est démarré une fois pour toute la JVM ; chaque
+ * contexte Spring reçoit sa propre base, migrée par Flyway, comme le faisaient
+ * les bases H2 nommées : les jobs planifiés d'un contexte resté en cache ne
+ * voient pas les données des autres, et le verrou de leader (consultatif, donc
+ * propre à la base) est pris par chaque contexte. Les tests sont ignorés si
+ * Docker n'est pas disponible.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    @Autowired
+    private ClusterCoordinator clusterCoordinator;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        PostgreSQLContainer<?> postgres = Container.INSTANCE;
+        String database = createDatabase(postgres);
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://" + postgres.getHost() + ":"
+                + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + database);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    /**
+     * Les jobs réservés au leader sont appelés directement par les tests : le
+     * premier battement de coeur peut ne pas avoir encore eu lieu.
+     */
+    @BeforeEach
+    void takeLeadership() {
+        if (!clusterCoordinator.isLeader()) {
+            clusterCoordinator.heartbeat();
+        }
+        assertTrue(clusterCoordinator.isLeader(), "the test context must hold the leader lock");
+    }
+
+    private static String createDatabase(PostgreSQLContainer<?> postgres) {
+        String database = "kickr_test_" + DATABASES.incrementAndGet();
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(),
+                postgres.getUsername(), postgres.getPassword());
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + database);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create test database " + database, e);
+        }
+        return database;
+    }
+
+    /**
+     * Conteneur démarré au premier usage, arrêté en fin de JVM par Testcontainers.
+     */
+    private static final class Container {
+
+        static final PostgreSQLContainer<?> INSTANCE = start();
+
+        private static PostgreSQLContainer<?> start() {
+            PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+            return postgres;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.kickr_server.usermatch;
+
+import com.kickr_server.competitions.Competition;
+import com.kickr_server.competitions.CompetitionRepository;
+import com.kickr_server.match.Match;
+import com.kickr_server.match.MatchRepository;
+import com.kickr_server.support.PostgresIntegrationTest;
+import com.kickr_server.team.Team;
+import com.kickr_server.team.TeamRepository;
+import com.kickr_server.user.Role;
+import com.kickr_server.user.User;
+import com.kickr_server.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Vérifie qu'aucun like n'est perdu ni compté deux fois quand de nombreux
+ * utilisateurs likent la même review en parallèle.
+ * <p>
+ * Non transactionnel : chaque like doit être validé dans sa propre transaction.
+ */
+public class ReviewLikeConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int USERS = 40;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ReviewLikeService reviewLikeService;
+
+    @Autowired
+    private ReviewLikeRepository reviewLikeRepository;
+
+    @Autowired
+    private UserMatchRepository userMatchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompetitionRepository competitionRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private UUID reviewId;
+    private final List<UUID> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        int externalId = ThreadLocalRandom.current().nextInt(1_000_000, 2_000_000);
+
+        Competition competition = competitionRepository.save(Competition.builder()
+                .name("Likes League " + suffix)
+                .country("Test Country")
+                .externalId(externalId)
+                .build());
+        Team home = teamRepository.save(Team.builder()
+                .name("Likes Home " + suffix)
+                .competition(competition)
+                .externalId(externalId)
+                .build());
+        Team away = teamRepository.save(Team.builder()
+                .name("Likes Away " + suffix)
+                .competition(competition)
+                .externalId(externalId + 1)
+                .build());
+        Match match = matchRepository.save(Match.builder()
+                .homeTeam(home)
+                .awayTeam(away)
+                .competition(competition)
+                .matchDate(LocalDateTime.now())
+                .location("Test Stadium")
+                .externalFixtureId(externalId)
+                .build());
+
+        userIds.clear();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("liker" + i + "_" + suffix);
+            user.setEmail("liker" + i + "_" + suffix + "@test.com");
+            user.setPassword("Password123!xx");
+            user.setRole(Role.USER);
+            userIds.add(userRepository.save(user).getId());
+        }
+
+        UserMatch review = UserMatch.builder()
+                .user(userRepository.findById(userIds.get(0)).orElseThrow())
+                .match(match)
+                .note(4.0)
+                .comment("Viral review")
+                .build();
+        reviewId = userMatchRepository.save(review).getId();
+    }
+
+    @Test
+    @DisplayName("Des likes simultanés de nombreux utilisateurs sont tous comptés")
+    void testConcurrentLikesAreNotLost() throws Exception {
+        runConcurrently(userIds.stream()
+                .map(userId -> (Callable<Void>) () -> {
+                    reviewLikeService.toggleLike(reviewId, userId);
+                    return null;
+                })
+                .toList());
+
+        assertCountMatchesLikes(USERS);
+
+        runConcurrently(userIds.stream()
+                .map(userId -> (Callable<Void>) () -> {
+                    reviewLikeService.toggleLike(reviewId, userId);
+                    return null;
+                })
+                .toList());
+
+        assertCountMatchesLikes(0);
+    }
+
+    @Test
+    @DisplayName("Un double clic simultané du même utilisateur n'est compté qu'une fois")
+    void testConcurrentDuplicateLikeIsCountedOnce() throws Exception {
+        UUID userId = userIds.get(1);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            tasks.add(() -> {
+                reviewLikeService.like(reviewId, userId);
+                return null;
+            });
+        }
+
+        runConcurrently(tasks);
+
+        assertCountMatchesLikes(1);
+    }
+
+    private void assertCountMatchesLikes(int expected) {
+        assertEquals(expected, reviewLikeRepository.countByUserMatchId(reviewId));
+        assertEquals(expected, userMatchRepository.findById(reviewId).orElseThrow().getLikesCount());
+    }
+
+    private static void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}